@@ -27,6 +27,7 @@ module org.mule.service.http {
   requires jakarta.mail;
   requires java.inject;
   requires java.logging;
+  requires java.management;
 
   requires com.github.benmanes.caffeine;
   requires com.google.common;
@@ -51,6 +52,10 @@ module org.mule.service.http {
       com.mulesoft.mule.service.http.ee;
   exports org.mule.service.http.impl.service.client to
       com.mulesoft.mule.service.http.ee;
+  // Exported to JMX so the metrics MXBeans can be introspected
+  exports org.mule.service.http.impl.service.client.metrics to
+      java.management,
+      com.mulesoft.mule.service.http.ee;
   exports org.mule.service.http.impl.service.server to
       com.mulesoft.mule.service.http.ee;
   exports org.mule.service.http.impl.service.server.grizzly to
@@ -43,6 +43,7 @@ public class ContainerTcpServerSocketProperties implements TcpServerSocketProper
   private Boolean reuseAddress = true;
   private Integer receiveBacklog = 50;
   private Integer serverTimeout = 60000;
+  private Boolean reusePort = false;
 
   private ContainerTcpServerSocketProperties() {
 
@@ -93,6 +94,7 @@ public class ContainerTcpServerSocketProperties implements TcpServerSocketProper
     ifPresent("reuseAddress", properties, p -> socketProperties.setReuseAddress(Boolean.valueOf(p)));
     ifPresent("receiveBacklog", properties, p -> socketProperties.setReceiveBacklog(Integer.valueOf(p)));
     ifPresent("serverTimeout", properties, p -> socketProperties.setServerTimeout(Integer.valueOf(p)));
+    ifPresent("reusePort", properties, p -> socketProperties.setReusePort(Boolean.valueOf(p)));
 
     return socketProperties;
   }
@@ -149,6 +151,21 @@ public class ContainerTcpServerSocketProperties implements TcpServerSocketProper
     return serverTimeout;
   }
 
+  /**
+   * Whether each listener binds one server socket per selector with {@code SO_REUSEPORT}, so the kernel balances the accepted
+   * connections among them instead of a single acceptor taking them all. Only supported on Linux.
+   * <p>
+   * Note that with {@code SO_REUSEPORT} binding a port that is already in use doesn't fail if the other socket also has it and
+   * belongs to the same user. A second process started on the same port by mistake silently takes a share of the connections
+   * of the listener, instead of failing to start.
+   *
+   * @return whether {@code SO_REUSEPORT} has to be used for the listeners.
+   * @since 1.12
+   */
+  public Boolean getReusePort() {
+    return reusePort;
+  }
+
   private void setSendBufferSize(Integer sendBufferSize) {
     this.sendBufferSize = sendBufferSize;
   }
@@ -184,4 +201,8 @@ public class ContainerTcpServerSocketProperties implements TcpServerSocketProper
   private void setServerTimeout(Integer serverTimeout) {
     this.serverTimeout = serverTimeout;
   }
+
+  private void setReusePort(Boolean reusePort) {
+    this.reusePort = reusePort;
+  }
 }
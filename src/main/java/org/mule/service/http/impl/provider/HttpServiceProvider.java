@@ -14,6 +14,7 @@ import org.mule.runtime.api.service.ServiceDefinition;
 import org.mule.runtime.api.service.ServiceProvider;
 import org.mule.runtime.http.api.HttpService;
 import org.mule.service.http.impl.service.HttpServiceImplementation;
+import org.mule.service.http.impl.service.HybridHttpServiceImplementation;
 import org.mule.service.http.netty.impl.service.NettyHttpServiceImplementation;
 
 import javax.inject.Inject;
@@ -23,19 +24,26 @@ public class HttpServiceProvider implements ServiceProvider {
   public static final String IMPLEMENTATION_PROPERTY_NAME = "mule.http.service.implementation";
   public static final String GRIZZLY_IMPLEMENTATION_NAME = "GRIZZLY";
   public static final String NETTY_IMPLEMENTATION_NAME = "NETTY";
+  /**
+   * Creates the listeners with Netty and the clients with Grizzly. See {@link HybridHttpServiceImplementation}.
+   *
+   * @since 1.12
+   */
+  public static final String HYBRID_IMPLEMENTATION_NAME = "HYBRID";
 
   /**
-   * Gets the configured HTTP Service implementation name. It can be "GRIZZLY" or "NETTY".
+   * Gets the configured HTTP Service implementation name. It can be "GRIZZLY", "NETTY" or "HYBRID".
    *
-   * @return the name of the configured implementation. Can be "GRIZZLY" or "NETTY".
+   * @return the name of the configured implementation. Can be "GRIZZLY", "NETTY" or "HYBRID".
    * @throws IllegalArgumentException if an invalid value is configured.
    */
   public static String getImplementationName() {
     String implementationName = getProperty(IMPLEMENTATION_PROPERTY_NAME, GRIZZLY_IMPLEMENTATION_NAME);
-    if (NETTY_IMPLEMENTATION_NAME.equals(implementationName) || GRIZZLY_IMPLEMENTATION_NAME.equals(implementationName)) {
+    if (NETTY_IMPLEMENTATION_NAME.equals(implementationName) || GRIZZLY_IMPLEMENTATION_NAME.equals(implementationName)
+        || HYBRID_IMPLEMENTATION_NAME.equals(implementationName)) {
       return implementationName;
     } else {
-      throw new IllegalArgumentException(format("Unknown HTTP Service implementation '%s'. Choose 'GRIZZLY' or 'NETTY'",
+      throw new IllegalArgumentException(format("Unknown HTTP Service implementation '%s'. Choose 'GRIZZLY', 'NETTY' or 'HYBRID'",
                                                 implementationName));
     }
   }
@@ -52,6 +60,8 @@ public class HttpServiceProvider implements ServiceProvider {
     String implementationName = getImplementationName();
     if (NETTY_IMPLEMENTATION_NAME.equals(implementationName)) {
       return new NettyHttpServiceImplementation(schedulerService);
+    } else if (HYBRID_IMPLEMENTATION_NAME.equals(implementationName)) {
+      return new HybridHttpServiceImplementation(schedulerService);
     } else {
       return new HttpServiceImplementation(schedulerService);
     }
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.service.http.impl.service;
+
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.startIfNeeded;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.stopIfNeeded;
+
+import static java.lang.System.getProperty;
+import static java.util.Arrays.stream;
+import static java.util.Collections.emptySet;
+import static java.util.stream.Collectors.toSet;
+
+import org.mule.runtime.api.artifact.Registry;
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.api.scheduler.SchedulerService;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.http.api.HttpService;
+import org.mule.runtime.http.api.server.HttpServer;
+import org.mule.runtime.http.api.server.HttpServerConfiguration;
+import org.mule.runtime.http.api.server.HttpServerFactory;
+import org.mule.runtime.http.api.server.ServerCreationException;
+import org.mule.runtime.http.api.server.ServerNotFoundException;
+import org.mule.service.http.netty.impl.service.NettyHttpServiceImplementation;
+
+import java.util.Set;
+
+import javax.inject.Inject;
+
+/**
+ * Implementation of {@link HttpService} that creates the {@link HttpServer}s of some or all the listeners with the Netty
+ * implementation, whose transport can use native epoll on Linux, while every client and the rest of the listeners are still
+ * created with Grizzly.
+ * <p>
+ * The listeners to move to Netty are set as a comma separated list of listener config names through the
+ * {@code mule.http.service.hybrid.listeners} system property. When it is not set, every listener is created with Netty.
+ *
+ * @since 1.12
+ */
+public class HybridHttpServiceImplementation extends HttpServiceImplementation {
+
+  public static final String HYBRID_LISTENERS_PROPERTY_NAME = SYSTEM_PROPERTY_PREFIX + "http.service.hybrid.listeners";
+
+  private final NettyHttpServiceImplementation nettyService;
+  private final Set<String> nettyListeners;
+
+  public HybridHttpServiceImplementation(SchedulerService schedulerService) {
+    super(schedulerService);
+    nettyService = new NettyHttpServiceImplementation(schedulerService);
+    nettyListeners = parseListeners(getProperty(HYBRID_LISTENERS_PROPERTY_NAME));
+  }
+
+  private static Set<String> parseListeners(String listeners) {
+    if (listeners == null || listeners.trim().isEmpty()) {
+      return emptySet();
+    }
+    return stream(listeners.split(",")).map(String::trim).filter(name -> !name.isEmpty()).collect(toSet());
+  }
+
+  @Override
+  public HttpServerFactory getServerFactory() {
+    return new HybridHttpServerFactory(super.getServerFactory(), nettyService.getServerFactory(), nettyListeners);
+  }
+
+  @Override
+  @Inject
+  public HttpServerFactory getServerFactory(Registry registry, MuleContext muleContext) {
+    return new HybridHttpServerFactory(super.getServerFactory(registry, muleContext),
+                                       nettyService.getServerFactory(registry, muleContext), nettyListeners);
+  }
+
+  @Override
+  public String getName() {
+    return "HTTP Service (hybrid)";
+  }
+
+  @Override
+  public void start() throws MuleException {
+    super.start();
+    startIfNeeded(nettyService);
+  }
+
+  @Override
+  public void stop() throws MuleException {
+    try {
+      stopIfNeeded(nettyService);
+    } finally {
+      super.stop();
+    }
+  }
+
+  /**
+   * Chooses the factory to create, and look up, each listener's server with, by the name of its config.
+   */
+  static final class HybridHttpServerFactory implements HttpServerFactory {
+
+    private final HttpServerFactory grizzlyFactory;
+    private final HttpServerFactory nettyFactory;
+    private final Set<String> nettyListeners;
+
+    HybridHttpServerFactory(HttpServerFactory grizzlyFactory, HttpServerFactory nettyFactory, Set<String> nettyListeners) {
+      this.grizzlyFactory = grizzlyFactory;
+      this.nettyFactory = nettyFactory;
+      this.nettyListeners = nettyListeners;
+    }
+
+    private HttpServerFactory factoryFor(String listenerName) {
+      return nettyListeners.isEmpty() || nettyListeners.contains(listenerName) ? nettyFactory : grizzlyFactory;
+    }
+
+    @Override
+    public HttpServer create(HttpServerConfiguration configuration) throws ServerCreationException {
+      return factoryFor(configuration.getName()).create(configuration);
+    }
+
+    @Override
+    public HttpServer lookup(String name) throws ServerNotFoundException {
+      return factoryFor(name).lookup(name);
+    }
+  }
+}
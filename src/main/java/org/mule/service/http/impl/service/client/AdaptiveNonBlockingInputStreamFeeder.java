@@ -0,0 +1,142 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.service.http.impl.service.client;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static org.glassfish.grizzly.memory.Buffers.EMPTY_BUFFER;
+import static org.glassfish.grizzly.memory.Buffers.wrap;
+import static org.glassfish.grizzly.memory.MemoryManager.DEFAULT_MEMORY_MANAGER;
+
+import org.mule.runtime.api.streaming.bytes.CursorStream;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.glassfish.grizzly.Buffer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.ning.http.client.providers.grizzly.FeedableBodyGenerator;
+import com.ning.http.client.providers.grizzly.FeedableBodyGenerator.NonBlockingFeeder;
+
+/**
+ * Inputstream feeder that adapts the size of the chunks it sends to the content being streamed.
+ * <p>
+ * Bodies whose length is known and smaller than the initial buffer size are sent in a single, right-sized chunk. Otherwise, the
+ * buffer starts with the configured request streaming buffer size and doubles after every full chunk, up to the maximum size
+ * (usually the send buffer size of the connection). Each chunk is filled with as many reads as the stream can serve without
+ * blocking, so a fast source ends up producing fewer, larger writes.
+ *
+ * @since 1.12
+ */
+public class AdaptiveNonBlockingInputStreamFeeder extends NonBlockingFeeder {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(AdaptiveNonBlockingInputStreamFeeder.class);
+
+  private final InputStream content;
+  private final int initialBufferSize;
+  private final int maxBufferSize;
+  private final boolean sizedToContent;
+
+  private int bufferSize;
+  private volatile boolean isDone;
+
+  /**
+   * @param feedableBodyGenerator the generator this feeder feeds
+   * @param content               the content to send
+   * @param contentLength         the length of the content, or a negative value if unknown
+   * @param bufferSize            the size of the first chunk to send
+   * @param maxBufferSize         the size chunks can grow up to
+   */
+  AdaptiveNonBlockingInputStreamFeeder(FeedableBodyGenerator feedableBodyGenerator, InputStream content, long contentLength,
+                                       int bufferSize, int maxBufferSize) {
+    super(feedableBodyGenerator);
+    this.content = content;
+    this.initialBufferSize = initialBufferSize(contentLength, bufferSize);
+    this.maxBufferSize = max(this.initialBufferSize, maxBufferSize);
+    this.sizedToContent = contentLength >= 0 && this.initialBufferSize == contentLength + 1;
+    this.bufferSize = this.initialBufferSize;
+  }
+
+  static int initialBufferSize(long contentLength, int bufferSize) {
+    if (contentLength >= 0 && contentLength < bufferSize) {
+      // One extra byte, so the end of the stream is found with the same read.
+      return (int) contentLength + 1;
+    }
+    return bufferSize;
+  }
+
+  @Override
+  public void canFeed() throws IOException {
+    byte[] buffer = new byte[bufferSize];
+    int filled = 0;
+    boolean endOfStream = false;
+
+    // A buffer sized to the content is read until the end of the stream, which the content is about to reach anyway.
+    do {
+      int read = content.read(buffer, filled, buffer.length - filled);
+      if (read == -1) {
+        endOfStream = true;
+        break;
+      }
+      filled += read;
+    } while (filled < buffer.length && (sizedToContent || content.available() > 0));
+
+    if (filled == buffer.length) {
+      bufferSize = min(bufferSize * 2, maxBufferSize);
+    }
+
+    if (endOfStream) {
+      isDone = true;
+    }
+    feedChunk(filled == 0 ? EMPTY_BUFFER : wrap(DEFAULT_MEMORY_MANAGER, buffer, 0, filled), endOfStream);
+  }
+
+  /**
+   * Hands a chunk to the body generator.
+   */
+  void feedChunk(Buffer chunk, boolean last) throws IOException {
+    feed(chunk, last);
+  }
+
+  @Override
+  public boolean isDone() {
+    return isDone;
+  }
+
+  @Override
+  public boolean isReady() {
+    return true;
+  }
+
+  @Override
+  public void notifyReadyToFeed(ReadyToFeedListener listener) {
+    listener.ready();
+  }
+
+  /**
+   * Rewinds the content so it can be sent again if the request is retried. Only {@link CursorStream}s can be rewound, other
+   * streams are not marked since that would keep the whole body buffered in memory.
+   */
+  @Override
+  public void reset() {
+    try {
+      if (content instanceof CursorStream) {
+        ((CursorStream) content).seek(0);
+      }
+    } catch (IOException e) {
+      LOGGER.warn("Unable to rewind request content", e);
+    }
+    bufferSize = initialBufferSize;
+    isDone = false;
+  }
+
+  int getBufferSize() {
+    return bufferSize;
+  }
+}
@@ -0,0 +1,263 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.service.http.impl.service.client;
+
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+import static org.mule.service.http.impl.service.client.GrizzlyResponseConnections.connectionOf;
+
+import static java.lang.Integer.getInteger;
+import static java.lang.Math.min;
+import static java.lang.System.getProperty;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.ning.http.client.AsyncCompletionHandlerBase;
+import com.ning.http.client.AsyncHttpClient;
+import com.ning.http.client.HttpResponseHeaders;
+import com.ning.http.client.Response;
+import org.glassfish.grizzly.CloseListener;
+import org.glassfish.grizzly.Connection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Opens a number of pooled connections to a set of target hosts as soon as a {@link GrizzlyHttpClient} is started, so the first
+ * requests sent through it don't pay for the TCP connect and the TLS handshake. The pool is periodically checked, and the warm
+ * connections closed since, because of their idle timeout or maximum lifetime, are re-opened.
+ * <p>
+ * AHC has no way of opening a connection without sending a request through it, so {@code HEAD} requests are sent concurrently
+ * to each target. Once they complete, the connections are returned to the pool. The connections they went through are tracked
+ * until they are closed, whether they are idle or leased by other requests, so a refill only sends requests for the ones that
+ * are missing. Otherwise, the requests sent while the warm connections are in use would open new ones.
+ * <p>
+ * Targets are configured per client through the {@code mule.http.client.warmup.<clientName>.targets} system property, as a comma
+ * separated list of URIs. The amount of connections to open to each of them is set through
+ * {@code mule.http.client.warmup.<clientName>.connections} (defaults to 1).
+ *
+ * @since 1.12
+ */
+class ConnectionPoolWarmer {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ConnectionPoolWarmer.class);
+
+  static final String WARMUP_PROPERTY_PREFIX = SYSTEM_PROPERTY_PREFIX + "http.client.warmup.";
+  static final String TARGETS_PROPERTY_SUFFIX = ".targets";
+  static final String CONNECTIONS_PROPERTY_SUFFIX = ".connections";
+
+  private static final String TARGET_SEPARATOR = ",";
+  private static final int DEFAULT_WARMUP_CONNECTIONS = 1;
+
+  private final String clientName;
+  private final List<String> targets;
+  private final int connectionsPerTarget;
+  private final int requestTimeout;
+  private final long refillIntervalMillis;
+  private final Map<String, WarmConnections> warmConnections = new ConcurrentHashMap<>();
+
+  private AsyncHttpClient asyncHttpClient;
+  private ScheduledFuture<?> refillTask;
+
+  ConnectionPoolWarmer(String clientName, List<String> targets, int connectionsPerTarget, int requestTimeout,
+                       long refillIntervalMillis) {
+    this.clientName = clientName;
+    this.targets = unmodifiableList(targets);
+    this.connectionsPerTarget = connectionsPerTarget;
+    this.requestTimeout = requestTimeout;
+    this.refillIntervalMillis = refillIntervalMillis;
+    for (String target : targets) {
+      warmConnections.put(target, new WarmConnections());
+    }
+  }
+
+  /**
+   * Creates a warmer based on the system properties set for the client with the given {@code clientName}.
+   *
+   * @param clientName            the name of the client, as defined by its configuration
+   * @param maxConnections        the maximum amount of connections of the client, or a negative value if unbounded
+   * @param connectionIdleTimeout the time in milliseconds a connection can remain idle in the pool
+   * @param connectionLifetime    the maximum time in milliseconds a connection can be kept in the pool
+   * @param requestTimeout        the timeout in milliseconds for the warm up requests
+   * @return the warmer, or {@code null} if no targets were configured for the client
+   */
+  static ConnectionPoolWarmer fromSystemProperties(String clientName, int maxConnections, int connectionIdleTimeout,
+                                                   int connectionLifetime, int requestTimeout) {
+    if (clientName == null) {
+      return null;
+    }
+
+    List<String> targets = parseTargets(getProperty(WARMUP_PROPERTY_PREFIX + clientName + TARGETS_PROPERTY_SUFFIX));
+    if (targets.isEmpty()) {
+      return null;
+    }
+
+    int connections = getInteger(WARMUP_PROPERTY_PREFIX + clientName + CONNECTIONS_PROPERTY_SUFFIX, DEFAULT_WARMUP_CONNECTIONS);
+    if (maxConnections > 0 && connections > maxConnections) {
+      LOGGER.warn("Client '{}' was configured to warm up {} connections per target, but it allows at most {}.",
+                  clientName, connections, maxConnections);
+      connections = maxConnections;
+    }
+
+    // Use the pooled connections again before the pool gets rid of them, so they are kept alive or re-opened.
+    long refillInterval = connectionIdleTimeout > 0 ? min(connectionIdleTimeout, connectionLifetime) : connectionLifetime;
+    return new ConnectionPoolWarmer(clientName, targets, connections, requestTimeout, refillInterval / 2);
+  }
+
+  static List<String> parseTargets(String targetsProperty) {
+    if (targetsProperty == null || targetsProperty.trim().isEmpty()) {
+      return emptyList();
+    }
+
+    List<String> targets = new ArrayList<>();
+    for (String target : targetsProperty.split(TARGET_SEPARATOR)) {
+      String trimmed = target.trim();
+      if (!trimmed.isEmpty()) {
+        targets.add(trimmed);
+      }
+    }
+    return targets;
+  }
+
+  /**
+   * Warms up the connection pool of the given client and schedules its periodic refill.
+   *
+   * @param asyncHttpClient the client whose connection pool will be warmed up
+   * @param scheduler       the executor where the refill task will be scheduled
+   */
+  synchronized void start(AsyncHttpClient asyncHttpClient, ScheduledExecutorService scheduler) {
+    this.asyncHttpClient = asyncHttpClient;
+    warmUp();
+    if (refillIntervalMillis > 0) {
+      refillTask = scheduler.scheduleWithFixedDelay(this::warmUp, refillIntervalMillis, refillIntervalMillis, MILLISECONDS);
+    }
+  }
+
+  /**
+   * Stops refilling the connection pool.
+   */
+  synchronized void stop() {
+    if (refillTask != null) {
+      refillTask.cancel(false);
+      refillTask = null;
+    }
+    asyncHttpClient = null;
+  }
+
+  /**
+   * Sends as many concurrent requests to each target as connections are missing to keep the configured amount open for it. The
+   * requests are not waited for, so connection failures don't prevent the client from starting.
+   */
+  void warmUp() {
+    AsyncHttpClient client = asyncHttpClient;
+    if (client == null || client.isClosed()) {
+      return;
+    }
+
+    for (String target : targets) {
+      WarmConnections connections = warmConnections.get(target);
+      int missing = connectionsPerTarget - connections.open.size() - connections.pending.get();
+      if (missing <= 0) {
+        LOGGER.debug("Connections to '{}' for client '{}' are already warm", target, clientName);
+        continue;
+      }
+
+      for (int i = 0; i < missing; ++i) {
+        connections.pending.incrementAndGet();
+        try {
+          client.prepareHead(target).setRequestTimeout(requestTimeout).execute(new WarmUpCompletionHandler(target, connections));
+        } catch (Exception e) {
+          connections.pending.decrementAndGet();
+          LOGGER.warn("Could not warm up connection to '{}' for client '{}': {}", target, clientName, e.getMessage());
+        }
+      }
+    }
+  }
+
+  /**
+   * @param target one of the targets of this warmer
+   * @return the amount of connections to the target that are open and were warmed up by this warmer.
+   */
+  int getWarmConnections(String target) {
+    WarmConnections connections = warmConnections.get(target);
+    return connections == null ? 0 : connections.open.size();
+  }
+
+  /**
+   * Tracks a connection a warm up request went through until it is closed.
+   *
+   * @param target     the target the request was sent to
+   * @param connection the connection it went through
+   */
+  void onWarmConnection(String target, Connection connection) {
+    Set<Connection> open = warmConnections.get(target).open;
+    if (open.add(connection)) {
+      connection.addCloseListener((CloseListener) (closeable, closeType) -> open.remove(connection));
+    }
+  }
+
+  List<String> getTargets() {
+    return targets;
+  }
+
+  int getConnectionsPerTarget() {
+    return connectionsPerTarget;
+  }
+
+  long getRefillIntervalMillis() {
+    return refillIntervalMillis;
+  }
+
+  private static final class WarmConnections {
+
+    private final Set<Connection> open = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger pending = new AtomicInteger();
+  }
+
+  private class WarmUpCompletionHandler extends AsyncCompletionHandlerBase {
+
+    private final String target;
+    private final WarmConnections connections;
+
+    WarmUpCompletionHandler(String target, WarmConnections connections) {
+      this.target = target;
+      this.connections = connections;
+    }
+
+    @Override
+    public STATE onHeadersReceived(HttpResponseHeaders headers) throws Exception {
+      Connection connection = connectionOf(headers);
+      if (connection != null) {
+        onWarmConnection(target, connection);
+      }
+      return super.onHeadersReceived(headers);
+    }
+
+    @Override
+    public Response onCompleted(Response response) throws Exception {
+      connections.pending.decrementAndGet();
+      if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug("Warmed up connection to '{}' for client '{}' (status {})", target, clientName, response.getStatusCode());
+      }
+      return response;
+    }
+
+    @Override
+    public void onThrowable(Throwable t) {
+      connections.pending.decrementAndGet();
+      LOGGER.warn("Could not warm up connection to '{}' for client '{}': {}", target, clientName, t.getMessage());
+    }
+  }
+}
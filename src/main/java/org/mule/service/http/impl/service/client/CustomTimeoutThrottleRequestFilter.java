@@ -6,8 +6,11 @@
  */
 package org.mule.service.http.impl.service.client;
 
+import static java.lang.System.nanoTime;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
+import org.mule.service.http.impl.service.client.metrics.HttpClientMetricsListener;
+
 import com.ning.http.client.AsyncHandler;
 import com.ning.http.client.HttpResponseBodyPart;
 import com.ning.http.client.HttpResponseHeaders;
@@ -33,9 +36,19 @@ public class CustomTimeoutThrottleRequestFilter implements RequestFilter {
 
   private final static Logger logger = LoggerFactory.getLogger(CustomTimeoutThrottleRequestFilter.class);
   private final Semaphore available;
+  private final HttpClientMetricsListener metricsListener;
 
   public CustomTimeoutThrottleRequestFilter(int maxConnections) {
+    this(maxConnections, null);
+  }
+
+  /**
+   * @param maxConnections  the maximum amount of requests to process concurrently
+   * @param metricsListener listener to notify about the time requests wait for a permit, may be {@code null}
+   */
+  public CustomTimeoutThrottleRequestFilter(int maxConnections, HttpClientMetricsListener metricsListener) {
     available = new Semaphore(maxConnections, true);
+    this.metricsListener = metricsListener;
   }
 
   @Override
@@ -45,7 +58,16 @@ public class CustomTimeoutThrottleRequestFilter implements RequestFilter {
       if (logger.isDebugEnabled()) {
         logger.debug("Current available connections: {}, Maximum wait time: {}", available.availablePermits(), timeout);
       }
-      if (!available.tryAcquire(timeout, MILLISECONDS)) {
+      // Unlike tryAcquire(), this honours the fairness of the semaphore. Only the requests that actually wait are reported.
+      boolean acquired = available.tryAcquire(0, MILLISECONDS);
+      if (!acquired) {
+        long waitStart = metricsListener != null ? nanoTime() : 0;
+        acquired = available.tryAcquire(timeout, MILLISECONDS);
+        if (metricsListener != null) {
+          metricsListener.onPoolWait(nanoTime() - waitStart, acquired);
+        }
+      }
+      if (!acquired) {
         logger.debug("Rejecting request {} in AsyncHandler {}", ctx.getRequest(), ctx.getAsyncHandler());
         throw new FilterException("Connection limit exceeded, cannot process request");
       }
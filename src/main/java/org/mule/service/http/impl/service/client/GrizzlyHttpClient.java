@@ -13,7 +13,9 @@ import static org.mule.runtime.api.util.MuleSystemProperties.ENABLE_MULE_REDIREC
 import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
 import static org.mule.runtime.api.util.Preconditions.checkState;
 import static org.mule.runtime.core.api.util.StringUtils.isEmpty;
+import static org.mule.runtime.http.api.HttpHeaders.Names.SET_COOKIE;
 import static org.mule.runtime.http.api.server.HttpServerProperties.PRESERVE_HEADER_CASE;
+import static org.mule.service.http.impl.util.VirtualThreads.newVirtualThreadPerTaskExecutor;
 
 import static java.lang.Boolean.getBoolean;
 import static java.lang.Boolean.parseBoolean;
@@ -48,10 +50,18 @@ import org.mule.runtime.http.api.client.proxy.ProxyConfig;
 import org.mule.runtime.http.api.domain.message.request.HttpRequest;
 import org.mule.runtime.http.api.domain.message.response.HttpResponse;
 import org.mule.runtime.http.api.tcp.TcpClientSocketProperties;
+import org.mule.service.http.impl.service.client.PermanentRedirectCache.CachedRedirect;
 import org.mule.service.http.impl.service.client.async.PreservingClassLoaderAsyncHandler;
 import org.mule.service.http.impl.service.client.async.ResponseAsyncHandler;
 import org.mule.service.http.impl.service.client.async.ResponseBodyDeferringAsyncHandler;
+import org.mule.service.http.impl.service.client.metrics.HttpClientMetrics;
+import org.mule.service.http.impl.service.client.metrics.MetricsRequestFilter;
+import org.mule.service.http.impl.service.client.metrics.MetricsTransportCustomizer;
 import org.mule.service.http.impl.service.util.RedirectUtils;
+import org.mule.service.http.impl.util.SharedSslContexts;
+import org.mule.service.http.impl.util.TlsEngineProvider;
+import org.mule.service.http.impl.util.TlsEngineProviders;
+import org.mule.service.http.impl.util.VirtualThreads;
 
 import java.io.IOException;
 import java.io.PipedInputStream;
@@ -59,8 +69,10 @@ import java.io.PipedOutputStream;
 import java.net.InetAddress;
 import java.net.URI;
 import java.net.UnknownHostException;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeoutException;
 
 import javax.net.ssl.SSLContext;
@@ -88,6 +100,7 @@ public class GrizzlyHttpClient implements HttpClient {
       getInteger(GrizzlyHttpClient.class.getName() + ".DEFAULT_SELECTOR_THREAD_COUNT",
                  Integer.max(getRuntime().availableProcessors(), 2));
   private static final int MAX_CONNECTION_LIFETIME = 30 * 60 * 1000;
+  private static final int DEFAULT_WARMUP_REQUEST_TIMEOUT = 30 * 1000;
   public static final String HOST_SEPARATOR = ",";
   private static final int DEFAULT_SEND_AND_DEFER_BUFFER_SIZE = KB.toBytes(10);
   private static final String DEFAULT_DECOMPRESS_PROPERTY_NAME = SYSTEM_PROPERTY_PREFIX + "http.client.decompress";
@@ -100,6 +113,20 @@ public class GrizzlyHttpClient implements HttpClient {
       SYSTEM_PROPERTY_PREFIX + "http.requestStreaming.bufferSize";
   private static int requestStreamingBufferSize =
       getInteger(REQUEST_STREAMING_BUFFER_LEN_PROPERTY_NAME, DEFAULT_REQUEST_STREAMING_BUFFER_SIZE);
+
+  private static final String ENABLE_ADAPTIVE_REQUEST_STREAMING_BUFFER_PROPERTY_NAME =
+      SYSTEM_PROPERTY_PREFIX + "http.requestStreaming.adaptiveBuffer.enable";
+  private static boolean adaptiveRequestStreamingBufferEnabled =
+      parseBoolean(getProperty(ENABLE_ADAPTIVE_REQUEST_STREAMING_BUFFER_PROPERTY_NAME, "false"));
+  private static final int DEFAULT_MAX_ADAPTIVE_REQUEST_STREAMING_BUFFER_SIZE = 64 * 1024;
+
+  private static final String ENABLE_REQUEST_TEMPLATE_CACHE_PROPERTY_NAME =
+      SYSTEM_PROPERTY_PREFIX + "http.client.requestTemplateCache.enable";
+
+  private static final String ENABLE_MULTIPART_REQUEST_STREAMING_PROPERTY_NAME =
+      SYSTEM_PROPERTY_PREFIX + "http.requestStreaming.multipart.enable";
+  private static boolean multipartRequestStreamingEnabled =
+      parseBoolean(getProperty(ENABLE_MULTIPART_REQUEST_STREAMING_PROPERTY_NAME, "false"));
   public static int MAX_REDIRECTS = defaultMaxRedirects();
 
   // Stream responses properties
@@ -109,11 +136,18 @@ public class GrizzlyHttpClient implements HttpClient {
       parseBoolean(getProperty(USE_WORKERS_FOR_STREAMING_PROPERTY_NAME, "true"));
   private static final String MAX_STREAMING_WORKERS_PROPERTY_NAME = SYSTEM_PROPERTY_PREFIX + "http.responseStreaming.maxWorkers";
   private static int maxStreamingWorkers = parseInt(getProperty(MAX_STREAMING_WORKERS_PROPERTY_NAME, "-1"));
+  private static final String USE_SHARED_STREAMING_WORKERS_PROPERTY_NAME =
+      SYSTEM_PROPERTY_PREFIX + "http.responseStreaming.sharedWorkers.enable";
+  private static final boolean useSharedStreamingWorkers =
+      parseBoolean(getProperty(USE_SHARED_STREAMING_WORKERS_PROPERTY_NAME, "false"));
   private static final String STREAMING_WORKERS_QUEUE_SIZE_PROPERTY_NAME =
       SYSTEM_PROPERTY_PREFIX + "http.responseStreaming.queueSize";
   private static int streamingWorkersQueueSize = parseInt(getProperty(STREAMING_WORKERS_QUEUE_SIZE_PROPERTY_NAME, "-1"));
   private static final int DEFAULT_STREAMING_WORKERS_QUEUE_SIZE = getDefaultStreamingWorkersQueueSize();
 
+  private static final String USE_VIRTUAL_THREADS_PROPERTY_NAME = SYSTEM_PROPERTY_PREFIX + "http.client.virtualThreads.enable";
+  private static boolean useVirtualThreads = parseBoolean(getProperty(USE_VIRTUAL_THREADS_PROPERTY_NAME, "false"));
+
   public static final String CUSTOM_MAX_HTTP_PACKET_HEADER_SIZE = SYSTEM_PROPERTY_PREFIX + "http.client.headerSectionSize";
 
   private static boolean enableMuleRedirect = parseBoolean(getProperty(ENABLE_MULE_REDIRECT_PROPERTY, "true"));
@@ -138,12 +172,19 @@ public class GrizzlyHttpClient implements HttpClient {
   private final String name;
   private final boolean decompressionEnabled;
   private final NonBlockingStreamWriter nonBlockingStreamWriter;
+  private final ConnectionPoolWarmer connectionPoolWarmer;
+  private final HttpClientMetrics metrics;
+  private final RequestTemplateCache requestTemplateCache;
+  private final PermanentRedirectCache permanentRedirectCache;
   private Scheduler selectorScheduler;
   private Scheduler workerScheduler;
+  private SharedStreamingWorkers sharedStreamingWorkers;
+  private ExecutorService workerExecutor;
   private SchedulerService schedulerService;
   private final SchedulerConfig schedulersConfig;
   protected AsyncHttpClient asyncHttpClient;
   private SSLContext sslContext;
+  private boolean sharedSslContext;
 
   private final HttpResponseCreator httpResponseCreator = new HttpResponseCreator();
 
@@ -174,6 +215,23 @@ public class GrizzlyHttpClient implements HttpClient {
 
     this.nonBlockingStreamWriter = new NonBlockingStreamWriter();
     this.featureFlaggingService = featureFlaggingService;
+    this.connectionPoolWarmer = createConnectionPoolWarmer();
+    this.metrics = HttpClientMetrics.isMetricsEnabled() ? new HttpClientMetrics(name) : null;
+    this.requestTemplateCache =
+        parseBoolean(getProperty(ENABLE_REQUEST_TEMPLATE_CACHE_PROPERTY_NAME, "false")) ? new RequestTemplateCache() : null;
+    this.permanentRedirectCache = PermanentRedirectCache.fromSystemProperties(MAX_REDIRECTS);
+  }
+
+  private ConnectionPoolWarmer createConnectionPoolWarmer() {
+    if (!usePersistentConnections) {
+      // Connections can't be reused, so there is no pool to warm up.
+      return null;
+    }
+    int warmUpRequestTimeout = clientSocketProperties != null && clientSocketProperties.getConnectionTimeout() > 0
+        ? clientSocketProperties.getConnectionTimeout()
+        : DEFAULT_WARMUP_REQUEST_TIMEOUT;
+    return ConnectionPoolWarmer.fromSystemProperties(name, maxConnections, connectionIdleTimeout, MAX_CONNECTION_LIFETIME,
+                                                     warmUpRequestTimeout);
   }
 
   @Override
@@ -182,12 +240,32 @@ public class GrizzlyHttpClient implements HttpClient {
         .withDirectRunCpuLightWhenTargetBusy(true)
         .withMaxConcurrentTasks(DEFAULT_SELECTOR_THREAD_COUNT)
         .withName(name), DEFAULT_SELECTOR_THREAD_COUNT);
-    workerScheduler = getWorkerScheduler(schedulersConfig.withName(name + ".requester.workers"));
+    if (useVirtualThreads && !VirtualThreads.isSupported()) {
+      LOGGER.warn("Virtual threads were enabled for HTTP client '{}' through '{}', but are not supported by this JVM.",
+                  name, USE_VIRTUAL_THREADS_PROPERTY_NAME);
+    }
+    if (useVirtualThreads && VirtualThreads.isSupported()) {
+      // Blocking work (response stream readers and the stream writer) gets a virtual thread per task, with as many running at
+      // the same time as the streaming workers would. The stream writer holds one of them for as long as the client is started.
+      workerExecutor = newVirtualThreadPerTaskExecutor(name + ".requester.virtualWorker.", getMaxStreamingWorkers() + 1);
+      if (connectionPoolWarmer != null) {
+        // The refills of the warmer are periodic, so they still need a scheduler.
+        workerScheduler = schedulerService.ioScheduler(schedulersConfig.withName(name + ".requester.workers"));
+      }
+    } else if (streamingEnabled && useWorkersForStreaming && useSharedStreamingWorkers) {
+      sharedStreamingWorkers = SharedStreamingWorkers.acquire(schedulerService);
+      workerExecutor = sharedStreamingWorkers.newQuota(name + ".requester.workers", getMaxStreamingWorkers(),
+                                                       getStreamingWorkersQueueSize());
+    } else {
+      workerScheduler = getWorkerScheduler(schedulersConfig.withName(name + ".requester.workers"));
+      workerExecutor = workerScheduler;
+    }
 
     if (streamingEnabled && nonBlockingStreamWriter.isEnabled()) {
       // Only use a dedicated thread to the stream writer if streaming is enabled.
       // Also, only use it if the feature is enabled.
-      workerScheduler.submit(nonBlockingStreamWriter);
+      // It runs for as long as the client does, so it must not take a slot of the quota of the shared workers.
+      (sharedStreamingWorkers != null ? sharedStreamingWorkers.getScheduler() : workerExecutor).submit(nonBlockingStreamWriter);
     }
 
     AsyncHttpClientConfig.Builder builder = new AsyncHttpClientConfig.Builder();
@@ -203,6 +281,15 @@ public class GrizzlyHttpClient implements HttpClient {
 
     AsyncHttpClientConfig config = builder.build();
     asyncHttpClient = new AsyncHttpClient(new GrizzlyAsyncHttpProvider(config), config);
+
+    if (metrics != null) {
+      metrics.register();
+    }
+
+    if (connectionPoolWarmer != null) {
+      connectionPoolWarmer.start(asyncHttpClient,
+                                 sharedStreamingWorkers != null ? sharedStreamingWorkers.getScheduler() : workerScheduler);
+    }
   }
 
   private Scheduler getWorkerScheduler(SchedulerConfig config) {
@@ -237,7 +324,13 @@ public class GrizzlyHttpClient implements HttpClient {
     if (tlsContextFactory != null) {
       resolvedTlsContextFactory = tlsContextFactory;
       try {
-        sslContext = tlsContextFactory.createSslContext();
+        TlsEngineProvider engineProvider = TlsEngineProviders.forConfig(name);
+        if (SharedSslContexts.isEnabled()) {
+          sslContext = SharedSslContexts.acquire(tlsContextFactory, engineProvider, "");
+          sharedSslContext = true;
+        } else {
+          sslContext = engineProvider.createSslContext(tlsContextFactory);
+        }
       } catch (Exception e) {
         throw new MuleRuntimeException(createStaticMessage("Cannot initialize SSL context"), e);
       }
@@ -306,9 +399,12 @@ public class GrizzlyHttpClient implements HttpClient {
     boolean tlsEnabled = tlsContextFactory != null;
     CompositeTransportCustomizer compositeTransportCustomizer = new CompositeTransportCustomizer();
     compositeTransportCustomizer
-        .addTransportCustomizer(new IOStrategyTransportCustomizer(selectorScheduler, workerScheduler, streamingEnabled,
+        .addTransportCustomizer(new IOStrategyTransportCustomizer(selectorScheduler, workerExecutor, streamingEnabled,
                                                                   DEFAULT_SELECTOR_THREAD_COUNT, tlsEnabled));
     compositeTransportCustomizer.addTransportCustomizer(new LoggerTransportCustomizer(name));
+    if (metrics != null) {
+      compositeTransportCustomizer.addTransportCustomizer(new MetricsTransportCustomizer(metrics, MAX_CONNECTION_LIFETIME));
+    }
 
     if (clientSocketProperties != null) {
       compositeTransportCustomizer.addTransportCustomizer(new SocketConfigTransportCustomizer(clientSocketProperties));
@@ -323,7 +419,11 @@ public class GrizzlyHttpClient implements HttpClient {
 
   private void configureConnections(AsyncHttpClientConfig.Builder builder) {
     if (maxConnections > 0) {
-      builder.addRequestFilter(new CustomTimeoutThrottleRequestFilter(maxConnections));
+      builder.addRequestFilter(new CustomTimeoutThrottleRequestFilter(maxConnections, metrics));
+    }
+    if (metrics != null) {
+      // Added after the throttling filter so only the requests that will actually use a connection are measured.
+      builder.addRequestFilter(new MetricsRequestFilter(metrics, proxyConfig != null ? buildProxy(proxyConfig) : null));
     }
 
     builder.setMaxConnections(maxConnections);
@@ -341,10 +441,26 @@ public class GrizzlyHttpClient implements HttpClient {
   @Override
   public HttpResponse send(HttpRequest request, HttpRequestOptions options) throws IOException, TimeoutException {
     checkState(asyncHttpClient != null, "The client must be started before use.");
+    CachedRedirect cachedRedirect = resolvePermanentRedirect(request, options);
+    if (cachedRedirect == null) {
+      return send(request, options, 0);
+    }
+
+    HttpRequest redirectRequest = null;
+    try {
+      redirectRequest = redirectUtils.createPermanentRedirectRequest(request, cachedRedirect.getLocation(), options);
+      return send(redirectRequest, options, cachedRedirect.getHops());
+    } finally {
+      onCompleteRedirect(redirectRequest);
+    }
+  }
+
+  private HttpResponse send(HttpRequest request, HttpRequestOptions options, int currentRedirects)
+      throws IOException, TimeoutException {
     if (streamingEnabled) {
-      return sendAndDefer(request, createGrizzlyRequest(request, options), options, 0);
+      return sendAndDefer(request, createGrizzlyRequest(request, options), options, currentRedirects);
     } else {
-      return sendAndWait(request, createGrizzlyRequest(request, options), options, 0);
+      return sendAndWait(request, createGrizzlyRequest(request, options), options, currentRedirects);
     }
   }
 
@@ -373,6 +489,7 @@ public class GrizzlyHttpClient implements HttpClient {
         HttpRequest redirectRequest = null;
         try {
           redirectRequest = redirectUtils.createRedirectRequest(httpResponse, request, options);
+          recordPermanentRedirect(httpResponse, request, redirectRequest);
           httpResponse = sendAndDefer(redirectRequest,
                                       createGrizzlyRedirectRequest(redirectRequest, httpResponse, options), options,
                                       currentRedirects + 1);
@@ -420,6 +537,7 @@ public class GrizzlyHttpClient implements HttpClient {
         HttpRequest redirectRequest = null;
         try {
           redirectRequest = redirectUtils.createRedirectRequest(httpResponse, request, options);
+          recordPermanentRedirect(httpResponse, request, redirectRequest);
           httpResponse = sendAndWait(redirectRequest,
                                      createGrizzlyRedirectRequest(redirectRequest, httpResponse, options), options,
                                      currentRedirects + 1);
@@ -447,7 +565,22 @@ public class GrizzlyHttpClient implements HttpClient {
   public CompletableFuture<HttpResponse> sendAsync(HttpRequest request, HttpRequestOptions options) {
     checkState(asyncHttpClient != null, "The client must be started before use.");
     try {
-      return sendAsync(request, createGrizzlyRequest(request, options), options, 0);
+      CachedRedirect cachedRedirect = resolvePermanentRedirect(request, options);
+      if (cachedRedirect == null) {
+        return sendAsync(request, createGrizzlyRequest(request, options), options, 0);
+      }
+
+      HttpRequest redirectRequest =
+          redirectUtils.createPermanentRedirectRequest(request, cachedRedirect.getLocation(), options);
+      try {
+        CompletableFuture<HttpResponse> future =
+            sendAsync(redirectRequest, createGrizzlyRequest(redirectRequest, options), options, cachedRedirect.getHops());
+        future.whenComplete((response, exception) -> onCompleteRedirect(redirectRequest));
+        return future;
+      } catch (Throwable e) {
+        onCompleteRedirect(redirectRequest);
+        throw e;
+      }
     } catch (Throwable e) {
       CompletableFuture ex = new CompletableFuture();
       ex.completeExceptionally(e);
@@ -465,7 +598,7 @@ public class GrizzlyHttpClient implements HttpClient {
       if (streamingEnabled) {
         asyncHandler =
             new PreservingClassLoaderAsyncHandler<>(new ResponseBodyDeferringAsyncHandler(auxFuture, responseBufferSize,
-                                                                                          workerScheduler,
+                                                                                          workerExecutor,
                                                                                           nonBlockingStreamWriter));
       } else {
         asyncHandler = new PreservingClassLoaderAsyncHandler<>(new ResponseAsyncHandler(auxFuture));
@@ -512,6 +645,7 @@ public class GrizzlyHttpClient implements HttpClient {
     }
 
     HttpRequest redirectRequest = redirectUtils.createRedirectRequest(response, request, options);
+    recordPermanentRedirect(response, request, redirectRequest);
     Request grizzlyRequest = createGrizzlyRedirectRequest(redirectRequest, response, options);
     sendAsync(redirectRequest, grizzlyRequest, options, currentRedirects + 1)
         .whenComplete((redirectResponse, redirectException) -> {
@@ -524,26 +658,53 @@ public class GrizzlyHttpClient implements HttpClient {
         });
   }
 
+  /**
+   * @return the final location the URI of the request was permanently redirected to before, or {@code null} if it has to be sent
+   *         as it is. The skipped redirects count towards the maximum to follow, and are completed through
+   *         {@link #onCompleteRedirect(HttpRequest)} as the ones actually followed are.
+   */
+  private CachedRedirect resolvePermanentRedirect(HttpRequest request, HttpRequestOptions options) {
+    if (permanentRedirectCache == null || !enableMuleRedirect || !options.isFollowsRedirect()
+        || !PermanentRedirectCache.isCacheable(request)) {
+      return null;
+    }
+    return permanentRedirectCache.resolve(request.getUri());
+  }
+
+  private void recordPermanentRedirect(HttpResponse response, HttpRequest request, HttpRequest redirectRequest) {
+    // Skipping a redirect that sets cookies would not send them to the new location.
+    if (permanentRedirectCache != null && redirectUtils.isPermanentRedirect(response.getStatusCode())
+        && response.getHeaderValues(SET_COOKIE).isEmpty()) {
+      permanentRedirectCache.record(request, redirectRequest);
+    }
+  }
+
   // In case we receive a 30x response, this method will create a new Grizzly request adding also the cookies present
   // in the set-cookies header in the response.
   private Request createGrizzlyRedirectRequest(HttpRequest request, HttpResponse response, HttpRequestOptions options)
       throws IOException {
-    RequestBuilder reqBuilder = createGrizzlyRequestBuilder(request, options);
+    RequestBuilder reqBuilder = createGrizzlyRequestBuilder(request, options, true);
     redirectUtils.handleResponseCookies(reqBuilder, response);
     return reqBuilder.build();
   }
 
   protected Request createGrizzlyRequest(HttpRequest request, HttpRequestOptions options)
       throws IOException {
-    return createGrizzlyRequestBuilder(request, options).build();
+    return createGrizzlyRequestBuilder(request, options, false).build();
   }
 
-  private RequestBuilder createGrizzlyRequestBuilder(HttpRequest request, HttpRequestOptions options)
+  private RequestBuilder createGrizzlyRequestBuilder(HttpRequest request, HttpRequestOptions options,
+                                                     boolean redirectRequest)
       throws IOException {
     RequestBuilder reqBuilder =
         createRequestBuilder(request, options,
                              new GrizzlyRequestConfigurer(this, options, request, enableMuleRedirect,
-                                                          requestStreamingEnabled, requestStreamingBufferSize));
+                                                          requestStreamingEnabled, requestStreamingBufferSize,
+                                                          multipartRequestStreamingEnabled,
+                                                          adaptiveRequestStreamingBufferEnabled
+                                                              ? maxRequestStreamingBufferSize()
+                                                              : -1,
+                                                          redirectRequest));
     URI uri = request.getUri();
     if (uri.getScheme() == null) {
       throw new IllegalArgumentException("The uri provided '" + uri + "' must contain a scheme.");
@@ -551,9 +712,13 @@ public class GrizzlyHttpClient implements HttpClient {
     if (uri.getHost() == null) {
       throw new IllegalArgumentException("The uri provided '" + uri + "' must contain a host.");
     }
-    reqBuilder.setUri(new Uri(uri.getScheme(), uri.getRawUserInfo(), uri.getHost(), uri.getPort(), uri.getRawPath(),
-                              uri.getRawQuery() != null ? uri.getRawQuery() + (request.getQueryParams().isEmpty() ? "" : "&")
-                                  : null));
+    if (requestTemplateCache != null) {
+      reqBuilder.setUri(requestTemplateCache.getUri(uri, !request.getQueryParams().isEmpty()));
+    } else {
+      reqBuilder.setUri(new Uri(uri.getScheme(), uri.getRawUserInfo(), uri.getHost(), uri.getPort(), uri.getRawPath(),
+                                uri.getRawQuery() != null ? uri.getRawQuery() + (request.getQueryParams().isEmpty() ? "" : "&")
+                                    : null));
+    }
     return reqBuilder;
   }
 
@@ -566,8 +731,8 @@ public class GrizzlyHttpClient implements HttpClient {
     return requestBuilder;
   }
 
-  protected void populateHeaders(HttpRequest request, RequestBuilder builder) {
-    headerPopulator.populateHeaders(request, builder);
+  protected void populateHeaders(HttpRequest request, RequestBuilder builder, boolean cookieHeaderAsIs) {
+    headerPopulator.populateHeaders(request, builder, cookieHeaderAsIs);
   }
 
   @FunctionalInterface
@@ -580,22 +745,81 @@ public class GrizzlyHttpClient implements HttpClient {
     return InetAddress.getLocalHost().getHostName();
   }
 
+  /**
+   * @return the cache of the parts of the requests that don't change between calls, or {@code null} unless enabled through the
+   *         {@code mule.http.client.requestTemplateCache.enable} system property.
+   */
+  RequestTemplateCache getRequestTemplateCache() {
+    return requestTemplateCache;
+  }
+
   protected ProxyConfig getProxyConfig() {
     return proxyConfig;
   }
 
+  /**
+   * @return the metrics of the connection pool of this client, if enabled through the {@code mule.http.client.metrics.enable}
+   *         system property.
+   */
+  public Optional<HttpClientMetrics> getMetrics() {
+    return Optional.ofNullable(metrics);
+  }
+
   @Override
   public void stop() {
+    if (connectionPoolWarmer != null) {
+      connectionPoolWarmer.stop();
+    }
     asyncHttpClient.close();
+    if (metrics != null) {
+      metrics.unregister();
+    }
+    if (requestTemplateCache != null) {
+      requestTemplateCache.invalidate();
+    }
+    if (permanentRedirectCache != null) {
+      permanentRedirectCache.invalidate();
+    }
     nonBlockingStreamWriter.stop();
-    workerScheduler.stop();
+    if (sharedStreamingWorkers != null) {
+      workerExecutor.shutdown();
+      sharedStreamingWorkers.release();
+      sharedStreamingWorkers = null;
+    } else {
+      if (workerExecutor != workerScheduler) {
+        workerExecutor.shutdownNow();
+      }
+      if (workerScheduler != null) {
+        workerScheduler.stop();
+        workerScheduler = null;
+      }
+    }
     selectorScheduler.stop();
+    if (sharedSslContext) {
+      SharedSslContexts.release(sslContext);
+      sharedSslContext = false;
+    }
+  }
+
+  /**
+   * The request streaming buffer grows up to the send buffer size of the connection, so each chunk can be written at once.
+   */
+  private int maxRequestStreamingBufferSize() {
+    if (clientSocketProperties != null && clientSocketProperties.getSendBufferSize() != null
+        && clientSocketProperties.getSendBufferSize() > 0) {
+      return clientSocketProperties.getSendBufferSize();
+    }
+    return DEFAULT_MAX_ADAPTIVE_REQUEST_STREAMING_BUFFER_SIZE;
   }
 
   public static void refreshSystemProperties() {
     DEFAULT_DECOMPRESS = getBoolean(DEFAULT_DECOMPRESS_PROPERTY_NAME);
     MAX_CLIENT_REQUEST_HEADERS = getInteger(MAX_CLIENT_REQUEST_HEADERS_KEY, MAX_NUM_HEADERS_DEFAULT);
     enableMuleRedirect = parseBoolean(getProperty(ENABLE_MULE_REDIRECT_PROPERTY, "true"));
+    adaptiveRequestStreamingBufferEnabled =
+        parseBoolean(getProperty(ENABLE_ADAPTIVE_REQUEST_STREAMING_BUFFER_PROPERTY_NAME, "false"));
+    multipartRequestStreamingEnabled = parseBoolean(getProperty(ENABLE_MULTIPART_REQUEST_STREAMING_PROPERTY_NAME, "false"));
+    useVirtualThreads = parseBoolean(getProperty(USE_VIRTUAL_THREADS_PROPERTY_NAME, "false"));
   }
 
   private int retrieveMaximumHeaderSectionSize() {
@@ -9,6 +9,11 @@ package org.mule.service.http.impl.service.client;
 import static com.ning.http.client.Realm.AuthScheme.NTLM;
 import static com.ning.http.util.UTF8UrlEncoder.encodeQueryElement;
 import static org.mule.runtime.core.api.util.IOUtils.toByteArray;
+import static org.mule.runtime.http.api.HttpHeaders.Names.CONTENT_TYPE;
+import static org.mule.service.http.impl.service.client.MultipartBodyInputStream.DEFAULT_MULTIPART_CONTENT_TYPE;
+import static org.mule.service.http.impl.service.client.MultipartBodyInputStream.generateBoundary;
+import static org.mule.service.http.impl.service.client.MultipartBodyInputStream.getBoundary;
+import static org.mule.service.http.impl.service.client.MultipartBodyInputStream.withBoundary;
 
 import com.ning.http.client.Realm;
 import com.ning.http.client.Realm.RealmBuilder;
@@ -16,9 +21,10 @@ import com.ning.http.client.RequestBuilder;
 import com.ning.http.client.generators.InputStreamBodyGenerator;
 import com.ning.http.client.multipart.ByteArrayPart;
 import com.ning.http.client.providers.grizzly.FeedableBodyGenerator;
+import com.ning.http.client.providers.grizzly.FeedableBodyGenerator.Feeder;
 import com.ning.http.client.providers.grizzly.NonBlockingInputStreamFeeder;
 import org.mule.runtime.api.streaming.bytes.CursorStream;
-import org.mule.runtime.core.api.util.func.CheckedConsumer;
+import org.mule.runtime.core.api.util.func.CheckedFunction;
 import org.mule.runtime.http.api.client.HttpRequestOptions;
 import org.mule.runtime.http.api.client.auth.HttpAuthentication;
 import org.mule.runtime.http.api.client.auth.HttpAuthenticationType;
@@ -28,6 +34,7 @@ import org.mule.service.http.impl.service.client.GrizzlyHttpClient.RequestConfig
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.UnknownHostException;
 import java.util.Map.Entry;
 
 class GrizzlyRequestConfigurer implements RequestConfigurer {
@@ -38,55 +45,74 @@ class GrizzlyRequestConfigurer implements RequestConfigurer {
   private final boolean enableMuleRedirect;
   private final boolean requestStreamingEnabled;
   private final int requestStreamingBufferSize;
+  private final boolean multipartStreamingEnabled;
+  private final int adaptiveMaxBufferSize;
+  private final boolean redirectRequest;
 
   GrizzlyRequestConfigurer(GrizzlyHttpClient client, HttpRequestOptions options, HttpRequest request,
                            boolean enableMuleRedirect, boolean requestStreamingEnabled, int requestStreamingBufferSize) {
+    this(client, options, request, enableMuleRedirect, requestStreamingEnabled, requestStreamingBufferSize, false, -1);
+  }
+
+  /**
+   * @param adaptiveMaxBufferSize the size the request streaming buffer can grow up to, or a non positive value to always use
+   *                              {@code requestStreamingBufferSize}
+   */
+  GrizzlyRequestConfigurer(GrizzlyHttpClient client, HttpRequestOptions options, HttpRequest request,
+                           boolean enableMuleRedirect, boolean requestStreamingEnabled, int requestStreamingBufferSize,
+                           boolean multipartStreamingEnabled, int adaptiveMaxBufferSize) {
+    this(client, options, request, enableMuleRedirect, requestStreamingEnabled, requestStreamingBufferSize,
+         multipartStreamingEnabled, adaptiveMaxBufferSize, false);
+  }
+
+  /**
+   * @param redirectRequest whether the request follows a redirect, so the cookies set by the response are added to it
+   */
+  GrizzlyRequestConfigurer(GrizzlyHttpClient client, HttpRequestOptions options, HttpRequest request,
+                           boolean enableMuleRedirect, boolean requestStreamingEnabled, int requestStreamingBufferSize,
+                           boolean multipartStreamingEnabled, int adaptiveMaxBufferSize, boolean redirectRequest) {
     this.client = client;
     this.options = options;
     this.request = request;
     this.enableMuleRedirect = enableMuleRedirect;
     this.requestStreamingEnabled = requestStreamingEnabled;
     this.requestStreamingBufferSize = requestStreamingBufferSize;
+    this.multipartStreamingEnabled = multipartStreamingEnabled;
+    this.adaptiveMaxBufferSize = adaptiveMaxBufferSize;
+    this.redirectRequest = redirectRequest;
   }
 
   @Override
   public void configure(RequestBuilder builder) throws IOException {
-    builder.setFollowRedirects(!enableMuleRedirect && options.isFollowsRedirect());
+    boolean followRedirects = !enableMuleRedirect && options.isFollowsRedirect();
+    builder.setFollowRedirects(followRedirects);
 
-    client.populateHeaders(request, builder);
+    // The cookie header can't be sent as is if cookies set by a redirect response have to replace the ones in it.
+    client.populateHeaders(request, builder, !followRedirects && !redirectRequest);
+
+    RequestTemplateCache templateCache = client.getRequestTemplateCache();
 
     for (Entry<String, String> entry : request.getQueryParams().entryList()) {
-      builder.addQueryParam(entry.getKey() != null ? encodeQueryElement(entry.getKey()) : null,
-                            entry.getValue() != null ? encodeQueryElement(entry.getValue()) : null);
-    }
-    options.getAuthentication().ifPresent((CheckedConsumer<HttpAuthentication>) (authentication -> {
-      RealmBuilder realmBuilder = new RealmBuilder()
-          .setPrincipal(authentication.getUsername())
-          .setPassword(authentication.getPassword())
-          .setUsePreemptiveAuth(authentication.isPreemptive());
-
-      if (authentication.getType() == HttpAuthenticationType.BASIC) {
-        realmBuilder.setScheme(Realm.AuthScheme.BASIC);
-      } else if (authentication.getType() == HttpAuthenticationType.DIGEST) {
-        realmBuilder.setScheme(Realm.AuthScheme.DIGEST);
-      } else if (authentication.getType() == HttpAuthenticationType.NTLM) {
-        String domain = ((HttpAuthentication.HttpNtlmAuthentication) authentication).getDomain();
-        if (domain != null) {
-          realmBuilder.setNtlmDomain(domain);
-        }
-        String workstation = ((HttpAuthentication.HttpNtlmAuthentication) authentication).getWorkstation();
-        String ntlmHost = workstation != null ? workstation : client.getHostName();
-        realmBuilder.setNtlmHost(ntlmHost).setScheme(NTLM);
+      String name = entry.getKey();
+      if (name != null) {
+        name = templateCache != null ? templateCache.encodeQueryParamName(name) : encodeQueryElement(name);
       }
+      builder.addQueryParam(name, entry.getValue() != null ? encodeQueryElement(entry.getValue()) : null);
+    }
+    CheckedFunction<HttpAuthentication, Realm> realmFactory = this::buildRealm;
+    options.getAuthentication().ifPresent(authentication -> builder.setRealm(templateCache != null
+        ? templateCache.getRealm(authentication, realmFactory)
+        : realmFactory.apply(authentication)));
 
-      builder.setRealm(realmBuilder.build());
-    }));
-
-    options.getProxyConfig().ifPresent(proxyConfig -> builder.setProxyServer(client.buildProxy(proxyConfig)));
+    options.getProxyConfig().ifPresent(proxyConfig -> builder.setProxyServer(templateCache != null
+        ? templateCache.getProxyServer(proxyConfig, client::buildProxy)
+        : client.buildProxy(proxyConfig)));
 
     if (request.getEntity() != null) {
       if (request.getEntity().isStreaming()) {
         setStreamingBodyToRequestBuilder(request, builder);
+      } else if (request.getEntity().isComposed() && requestStreamingEnabled && multipartStreamingEnabled) {
+        setStreamingMultipartBodyToRequestBuilder(request, builder);
       } else if (request.getEntity().isComposed()) {
         for (HttpPart part : request.getEntity().getParts()) {
           if (part.getFileName() != null) {
@@ -107,32 +133,85 @@ class GrizzlyRequestConfigurer implements RequestConfigurer {
     builder.setRequestTimeout(options.getResponseTimeout());
   }
 
+  private Realm buildRealm(HttpAuthentication authentication) throws UnknownHostException {
+    RealmBuilder realmBuilder = new RealmBuilder()
+        .setPrincipal(authentication.getUsername())
+        .setPassword(authentication.getPassword())
+        .setUsePreemptiveAuth(authentication.isPreemptive());
+
+    if (authentication.getType() == HttpAuthenticationType.BASIC) {
+      realmBuilder.setScheme(Realm.AuthScheme.BASIC);
+    } else if (authentication.getType() == HttpAuthenticationType.DIGEST) {
+      realmBuilder.setScheme(Realm.AuthScheme.DIGEST);
+    } else if (authentication.getType() == HttpAuthenticationType.NTLM) {
+      String domain = ((HttpAuthentication.HttpNtlmAuthentication) authentication).getDomain();
+      if (domain != null) {
+        realmBuilder.setNtlmDomain(domain);
+      }
+      String workstation = ((HttpAuthentication.HttpNtlmAuthentication) authentication).getWorkstation();
+      String ntlmHost = workstation != null ? workstation : client.getHostName();
+      realmBuilder.setNtlmHost(ntlmHost).setScheme(NTLM);
+    }
+
+    return realmBuilder.build();
+  }
+
   private void setStreamingBodyToRequestBuilder(HttpRequest request, RequestBuilder builder) throws IOException {
     if (requestStreamingEnabled) {
       FeedableBodyGenerator bodyGenerator = new FeedableBodyGenerator();
       bodyGenerator.setFeeder(new InputStreamFeederFactory(bodyGenerator, request.getEntity().getContent(),
-                                                           requestStreamingBufferSize).getInputStreamFeeder());
+                                                           requestStreamingBufferSize, adaptiveMaxBufferSize,
+                                                           request.getEntity().getBytesLength().orElse(-1))
+                                                               .getInputStreamFeeder());
       builder.setBody(bodyGenerator);
     } else {
       builder.setBody(new InputStreamBodyGeneratorFactory(request.getEntity().getContent()).getInputStreamBodyGenerator());
     }
   }
 
+  private void setStreamingMultipartBodyToRequestBuilder(HttpRequest request, RequestBuilder builder) throws IOException {
+    String contentType = request.getHeaderValue(CONTENT_TYPE);
+    if (contentType == null || contentType.trim().isEmpty()) {
+      contentType = DEFAULT_MULTIPART_CONTENT_TYPE;
+    }
+    String boundary = getBoundary(contentType);
+    if (boundary == null) {
+      boundary = generateBoundary();
+      builder.setHeader(CONTENT_TYPE, withBoundary(contentType, boundary));
+    }
+
+    FeedableBodyGenerator bodyGenerator = new FeedableBodyGenerator();
+    bodyGenerator.setFeeder(new MultipartNonBlockingInputStreamFeeder(bodyGenerator,
+                                                                      new MultipartBodyInputStream(request.getEntity().getParts(),
+                                                                                                   boundary),
+                                                                      requestStreamingBufferSize));
+    builder.setBody(bodyGenerator);
+  }
+
   private static class InputStreamFeederFactory {
 
     private FeedableBodyGenerator feedableBodyGenerator;
     private InputStream content;
     private int internalBufferSize;
+    private int adaptiveMaxBufferSize;
+    private long contentLength;
 
     public InputStreamFeederFactory(FeedableBodyGenerator feedableBodyGenerator, InputStream content,
-                                    int internalBufferSize) {
+                                    int internalBufferSize, int adaptiveMaxBufferSize, long contentLength) {
 
       this.feedableBodyGenerator = feedableBodyGenerator;
       this.content = content;
       this.internalBufferSize = internalBufferSize;
+      this.adaptiveMaxBufferSize = adaptiveMaxBufferSize;
+      this.contentLength = contentLength;
     }
 
-    public NonBlockingInputStreamFeeder getInputStreamFeeder() {
+    public Feeder getInputStreamFeeder() {
+      if (adaptiveMaxBufferSize > 0) {
+        return new AdaptiveNonBlockingInputStreamFeeder(feedableBodyGenerator, content, contentLength, internalBufferSize,
+                                                        adaptiveMaxBufferSize);
+      }
+
       if (content instanceof CursorStream) {
         return new CursorNonBlockingInputStreamFeeder(feedableBodyGenerator, (CursorStream) content, internalBufferSize);
       }
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.service.http.impl.service.client;
+
+import java.lang.reflect.Field;
+
+import com.ning.http.client.HttpResponseHeaders;
+import com.ning.http.client.providers.grizzly.GrizzlyResponseHeaders;
+import org.glassfish.grizzly.Connection;
+import org.glassfish.grizzly.http.HttpResponsePacket;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Gives access to the Grizzly {@link Connection} a response arrived through, which AHC doesn't expose. It is read reflectively
+ * from the packet held by {@link GrizzlyResponseHeaders}.
+ *
+ * @since 1.12
+ */
+public final class GrizzlyResponseConnections {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(GrizzlyResponseConnections.class);
+
+  private static Field responseField;
+
+  static {
+    try {
+      responseField = GrizzlyResponseHeaders.class.getDeclaredField("response");
+      responseField.setAccessible(true);
+    } catch (Throwable e) {
+      LOGGER.warn("Unable to use reflection to access the connection of responses. Streaming buffers won't be sized to the "
+          + "connection, and connection metrics and warm-up won't track connections.", e);
+    }
+  }
+
+  private GrizzlyResponseConnections() {}
+
+  /**
+   * @param headers the headers of a response
+   * @return the connection the response arrived through, or {@code null} if it can't be accessed.
+   */
+  public static Connection connectionOf(HttpResponseHeaders headers) {
+    if (responseField == null || !(headers instanceof GrizzlyResponseHeaders)) {
+      return null;
+    }
+    try {
+      return ((HttpResponsePacket) responseField.get(headers)).getRequest().getConnection();
+    } catch (IllegalAccessException e) {
+      return null;
+    }
+  }
+}
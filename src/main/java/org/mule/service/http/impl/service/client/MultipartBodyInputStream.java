@@ -0,0 +1,220 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.service.http.impl.service.client;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.util.concurrent.ThreadLocalRandom.current;
+
+import org.mule.runtime.api.streaming.bytes.CursorStream;
+import org.mule.runtime.http.api.domain.entity.multipart.HttpPart;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Encodes a list of {@link HttpPart}s as a multipart body, reading the content of each part from its stream only when the
+ * previous parts have been completely consumed. This way, the body can be fed to the connection in chunks without having to
+ * load the parts in memory.
+ * <p>
+ * The encoding is the same one used by AHC for its {@link com.ning.http.client.multipart.ByteArrayPart}s, so the requests sent
+ * are equivalent regardless of the parts being streamed or not.
+ *
+ * @since 1.12
+ */
+class MultipartBodyInputStream extends InputStream {
+
+  static final String BOUNDARY_PARAMETER = "boundary=";
+  static final String DEFAULT_MULTIPART_CONTENT_TYPE = "multipart/form-data";
+
+  private static final String CRLF = "\r\n";
+  private static final String EXTRA = "--";
+  private static final String DEFAULT_PART_CONTENT_TYPE = "application/octet-stream";
+  private static final String DEFAULT_TRANSFER_ENCODING = "binary";
+  private static final char[] BOUNDARY_CHARS =
+      "-_1234567890abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ".toCharArray();
+
+  private final List<HttpPart> parts;
+  private final InputStream[] contents;
+  private final String boundary;
+
+  // Each part is sent as its headers followed by its content, then the closing boundary is sent.
+  private int segment;
+  private InputStream segmentStream;
+
+  MultipartBodyInputStream(Collection<HttpPart> parts, String boundary) {
+    this.parts = new ArrayList<>(parts);
+    this.contents = new InputStream[this.parts.size()];
+    this.boundary = boundary;
+  }
+
+  /**
+   * Generates a random boundary, the same way AHC does when the request doesn't define one.
+   */
+  static String generateBoundary() {
+    char[] boundary = new char[current().nextInt(11) + 30];
+    for (int i = 0; i < boundary.length; ++i) {
+      boundary[i] = BOUNDARY_CHARS[current().nextInt(BOUNDARY_CHARS.length)];
+    }
+    return new String(boundary);
+  }
+
+  /**
+   * Obtains the boundary defined in the given content type.
+   *
+   * @return the boundary, or {@code null} if the content type doesn't define one
+   */
+  static String getBoundary(String contentType) {
+    if (contentType == null) {
+      return null;
+    }
+    int boundaryLocation = contentType.indexOf(BOUNDARY_PARAMETER);
+    if (boundaryLocation == -1) {
+      return null;
+    }
+    String boundary = contentType.substring(boundaryLocation + BOUNDARY_PARAMETER.length()).trim();
+    int parametersLocation = boundary.indexOf(';');
+    if (parametersLocation != -1) {
+      boundary = boundary.substring(0, parametersLocation).trim();
+    }
+    if (boundary.length() > 1 && boundary.startsWith("\"") && boundary.endsWith("\"")) {
+      boundary = boundary.substring(1, boundary.length() - 1);
+    }
+    return boundary;
+  }
+
+  /**
+   * Appends the given boundary to the content type of a multipart request.
+   */
+  static String withBoundary(String contentType, String boundary) {
+    StringBuilder builder = new StringBuilder(contentType);
+    if (!contentType.endsWith(";")) {
+      builder.append(';');
+    }
+    return builder.append(' ').append(BOUNDARY_PARAMETER).append(boundary).toString();
+  }
+
+  @Override
+  public int read() throws IOException {
+    byte[] b = new byte[1];
+    int read = read(b, 0, 1);
+    return read == -1 ? -1 : b[0] & 0xFF;
+  }
+
+  @Override
+  public int read(byte[] b, int off, int len) throws IOException {
+    if (len == 0) {
+      return 0;
+    }
+    while (true) {
+      if (segmentStream == null) {
+        segmentStream = nextSegment();
+        if (segmentStream == null) {
+          return -1;
+        }
+      }
+      int read = segmentStream.read(b, off, len);
+      if (read != -1) {
+        return read;
+      }
+      segmentStream = null;
+    }
+  }
+
+  @Override
+  public int available() throws IOException {
+    return segmentStream != null ? segmentStream.available() : 0;
+  }
+
+  @Override
+  public void close() throws IOException {
+    IOException closeException = null;
+    for (int i = 0; i < contents.length; ++i) {
+      if (contents[i] != null) {
+        try {
+          contents[i].close();
+        } catch (IOException e) {
+          closeException = e;
+        }
+        contents[i] = null;
+      }
+    }
+    segmentStream = null;
+    segment = 2 * parts.size() + 1;
+    if (closeException != null) {
+      throw closeException;
+    }
+  }
+
+  /**
+   * Starts reading the body again from the beginning. This is only possible if the content of every part already read is either
+   * a {@link CursorStream} or can be obtained again from the part.
+   *
+   * @return whether the body could be rewound
+   */
+  boolean rewind() throws IOException {
+    for (int i = 0; i < contents.length; ++i) {
+      if (contents[i] == null || contents[i] instanceof CursorStream) {
+        continue;
+      }
+      InputStream content = parts.get(i).getInputStream();
+      if (content == contents[i]) {
+        return false;
+      }
+      contents[i].close();
+      contents[i] = content;
+    }
+    for (InputStream content : contents) {
+      if (content instanceof CursorStream) {
+        ((CursorStream) content).seek(0);
+      }
+    }
+    segment = 0;
+    segmentStream = null;
+    return true;
+  }
+
+  private InputStream nextSegment() throws IOException {
+    int index = segment++;
+    if (index < 2 * parts.size()) {
+      int partIndex = index / 2;
+      if (index % 2 == 0) {
+        return new ByteArrayInputStream(partHeaders(parts.get(partIndex), index == 0));
+      }
+      if (contents[partIndex] == null) {
+        contents[partIndex] = parts.get(partIndex).getInputStream();
+      }
+      return contents[partIndex];
+    } else if (index == 2 * parts.size()) {
+      String closing = (parts.isEmpty() ? "" : CRLF) + EXTRA + boundary + EXTRA + CRLF;
+      return new ByteArrayInputStream(closing.getBytes(US_ASCII));
+    }
+    return null;
+  }
+
+  private byte[] partHeaders(HttpPart part, boolean first) {
+    StringBuilder builder = new StringBuilder();
+    if (!first) {
+      builder.append(CRLF);
+    }
+    builder.append(EXTRA).append(boundary).append(CRLF);
+    builder.append("Content-Disposition: form-data; name=\"").append(part.getName()).append('"');
+    if (part.getFileName() != null) {
+      builder.append("; filename=\"").append(part.getFileName()).append('"');
+    }
+    builder.append(CRLF);
+    builder.append("Content-Type: ")
+        .append(part.getContentType() != null ? part.getContentType() : DEFAULT_PART_CONTENT_TYPE)
+        .append(CRLF);
+    builder.append("Content-Transfer-Encoding: ").append(DEFAULT_TRANSFER_ENCODING).append(CRLF);
+    builder.append(CRLF);
+    return builder.toString().getBytes(US_ASCII);
+  }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.service.http.impl.service.client;
+
+import java.io.IOException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.ning.http.client.providers.grizzly.FeedableBodyGenerator;
+import com.ning.http.client.providers.grizzly.NonBlockingInputStreamFeeder;
+
+/**
+ * Inputstream feeder used to stream a multipart body, so that the parts are read in chunks of the configured buffer size instead
+ * of being completely loaded in memory.
+ *
+ * @since 1.12
+ */
+public class MultipartNonBlockingInputStreamFeeder extends NonBlockingInputStreamFeeder {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(MultipartNonBlockingInputStreamFeeder.class);
+
+  MultipartNonBlockingInputStreamFeeder(FeedableBodyGenerator feedableBodyGenerator, MultipartBodyInputStream content,
+                                        int internalBufferSize) {
+    super(feedableBodyGenerator, content, internalBufferSize);
+  }
+
+  @Override
+  public void reset() {
+    try {
+      if (!((MultipartBodyInputStream) content).rewind()) {
+        LOGGER.warn("Unable to rewind multipart body, its parts can't be read again");
+      }
+    } catch (IOException e) {
+      LOGGER.warn("Unable to rewind multipart body", e);
+    }
+
+    super.reset();
+  }
+
+}
@@ -12,15 +12,14 @@ import static java.lang.Thread.currentThread;
 import static java.lang.Thread.sleep;
 
 import static org.slf4j.LoggerFactory.getLogger;
-import static org.slf4j.MDC.getCopyOfContextMap;
 
-import org.mule.service.http.impl.service.util.ThreadContext;
+import org.mule.service.http.impl.service.util.ContextSnapshot;
+import org.mule.service.http.impl.service.util.ContextSnapshot.Scope;
 
 import java.io.IOException;
 import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.LinkedBlockingQueue;
@@ -75,8 +74,27 @@ public class NonBlockingStreamWriter implements Runnable {
   public CompletableFuture<Void> addDataToWrite(OutputStream destinationStream,
                                                 byte[] dataToWrite,
                                                 Supplier<Integer> availableSpace) {
+    return addDataToWrite(destinationStream, dataToWrite, availableSpace, ContextSnapshot.captureMdc());
+  }
 
-    InternalWriteTask internalWriteTask = new InternalWriteTask(destinationStream, dataToWrite, availableSpace);
+  /**
+   * Same as {@link #addDataToWrite(OutputStream, byte[], Supplier)}, but the writes are done with the MDC of the given context
+   * instead of the caller's, so it doesn't have to be copied for every write. The context class loader is the caller's.
+   *
+   * @param destinationStream where the data has to be written.
+   * @param dataToWrite       the data to write.
+   * @param availableSpace    a supplier that says how many bytes can be written to the stream without blocking.
+   * @param callerContext     the context the caller is running with.
+   * @return a {@link CompletableFuture} that will be completed when all the data was written, or when an exception occurs.
+   * @since 1.12
+   */
+  public CompletableFuture<Void> addDataToWrite(OutputStream destinationStream,
+                                                byte[] dataToWrite,
+                                                Supplier<Integer> availableSpace,
+                                                ContextSnapshot callerContext) {
+
+    ContextSnapshot writeContext = callerContext.withClassLoader(currentThread().getContextClassLoader());
+    InternalWriteTask internalWriteTask = new InternalWriteTask(destinationStream, dataToWrite, availableSpace, writeContext);
     boolean couldCompleteSync = internalWriteTask.execute();
     if (!couldCompleteSync) {
       tasks.add(internalWriteTask);
@@ -147,12 +165,12 @@ public class NonBlockingStreamWriter implements Runnable {
     private final Supplier<Integer> availableSpace;
     private final CompletableFuture<Void> toCompleteWhenAllDataIsWritten;
     private final int id;
-    private final Map<String, String> callerMDC;
-    private final ClassLoader callerTCCL;
+    private final ContextSnapshot callerContext;
 
     private int alreadyWritten;
 
-    public InternalWriteTask(OutputStream destinationStream, byte[] dataToWrite, Supplier<Integer> availableSpace) {
+    public InternalWriteTask(OutputStream destinationStream, byte[] dataToWrite, Supplier<Integer> availableSpace,
+                             ContextSnapshot callerContext) {
       this.id = idGenerator.getAndIncrement();
       this.destinationStream = destinationStream;
       this.availableSpace = availableSpace;
@@ -160,9 +178,7 @@ public class NonBlockingStreamWriter implements Runnable {
       this.totalBytesToWrite = dataToWrite.length;
       this.dataToWrite = dataToWrite;
       this.alreadyWritten = 0;
-
-      this.callerMDC = getCopyOfContextMap();
-      this.callerTCCL = currentThread().getContextClassLoader();
+      this.callerContext = callerContext;
     }
 
     public int remaining() {
@@ -170,7 +186,7 @@ public class NonBlockingStreamWriter implements Runnable {
     }
 
     public boolean execute() {
-      try (ThreadContext threadContext = new ThreadContext(callerTCCL, callerMDC)) {
+      try (Scope scope = callerContext.enter()) {
         int remainingBytes = totalBytesToWrite - alreadyWritten;
         int bytesToWriteInThisExecution = min(availableSpace.get(), remainingBytes);
 
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.service.http.impl.service.client;
+
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+
+import static java.lang.Integer.getInteger;
+import static java.util.concurrent.TimeUnit.MINUTES;
+
+import org.mule.runtime.http.api.domain.message.request.HttpRequest;
+
+import java.net.URI;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Remembers the locations that requests sent by a {@link GrizzlyHttpClient} were permanently redirected to (through a 301 or
+ * 308 status), so later requests to the same URI are sent straight to the final location instead of going through each redirect
+ * again.
+ * <p>
+ * The cache is bounded, with its size set through the {@code mule.http.client.redirectCache.maxSize} system property (disabled
+ * by default), and its entries expire after {@code mule.http.client.redirectCache.ttlMinutes} (60 by default) so a server can
+ * change its redirects later on. Only requests without query params other than the ones in their URI are cached, since the query
+ * params of the original request are not sent along with the redirected one.
+ * <p>
+ * Redirects whose response sets cookies are not cached, since skipping them would not send those cookies to the new location.
+ *
+ * @since 1.12
+ */
+class PermanentRedirectCache {
+
+  static final String MAX_SIZE_PROPERTY_NAME = SYSTEM_PROPERTY_PREFIX + "http.client.redirectCache.maxSize";
+  static final String TTL_MINUTES_PROPERTY_NAME = SYSTEM_PROPERTY_PREFIX + "http.client.redirectCache.ttlMinutes";
+  private static final int DEFAULT_TTL_MINUTES = 60;
+
+  private final Cache<URI, URI> locations;
+  private final int maxRedirects;
+
+  PermanentRedirectCache(int maxSize, int ttlMinutes, int maxRedirects) {
+    this.locations = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttlMinutes, MINUTES).build();
+    this.maxRedirects = maxRedirects;
+  }
+
+  /**
+   * @param maxRedirects the maximum amount of redirects to follow for a request
+   * @return the cache configured through system properties, or {@code null} if it is disabled
+   */
+  static PermanentRedirectCache fromSystemProperties(int maxRedirects) {
+    int maxSize = getInteger(MAX_SIZE_PROPERTY_NAME, 0);
+    if (maxSize <= 0) {
+      return null;
+    }
+    return new PermanentRedirectCache(maxSize, getInteger(TTL_MINUTES_PROPERTY_NAME, DEFAULT_TTL_MINUTES), maxRedirects);
+  }
+
+  static boolean isCacheable(HttpRequest request) {
+    return request.getQueryParams().isEmpty();
+  }
+
+  /**
+   * Records that {@code request} was permanently redirected to {@code redirectRequest}.
+   */
+  void record(HttpRequest request, HttpRequest redirectRequest) {
+    if (isCacheable(request) && !request.getUri().equals(redirectRequest.getUri())) {
+      locations.put(request.getUri(), redirectRequest.getUri());
+    }
+  }
+
+  /**
+   * @param uri the URI a request is going to be sent to
+   * @return the final location the URI was permanently redirected to along with the redirects it skips, or {@code null} if it
+   *         wasn't
+   */
+  CachedRedirect resolve(URI uri) {
+    URI location = locations.getIfPresent(uri);
+    if (location == null) {
+      return null;
+    }
+    // Follow chained redirects, without looping forever if they are circular.
+    int hops = 1;
+    while (hops < maxRedirects) {
+      URI next = locations.getIfPresent(location);
+      if (next == null) {
+        break;
+      }
+      location = next;
+      ++hops;
+    }
+    return new CachedRedirect(location, hops);
+  }
+
+  void invalidate() {
+    locations.invalidateAll();
+  }
+
+  /**
+   * The final location of a permanently redirected URI, along with the amount of redirects that are skipped by going straight to
+   * it, which count towards the maximum amount of redirects to follow for the request.
+   */
+  static final class CachedRedirect {
+
+    private final URI location;
+    private final int hops;
+
+    private CachedRedirect(URI location, int hops) {
+      this.location = location;
+      this.hops = hops;
+    }
+
+    URI getLocation() {
+      return location;
+    }
+
+    int getHops() {
+      return hops;
+    }
+  }
+}
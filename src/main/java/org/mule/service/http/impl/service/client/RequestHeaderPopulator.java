@@ -22,6 +22,8 @@ import static com.ning.http.client.cookie.CookieDecoder.decode;
 import org.mule.runtime.http.api.domain.message.request.HttpRequest;
 
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import com.ning.http.client.RequestBuilder;
 import com.ning.http.client.cookie.Cookie;
@@ -43,7 +45,7 @@ public class RequestHeaderPopulator {
   private static final String HEADER_CONTENT_LENGTH = CONTENT_LENGTH.toLowerCase();
   private static final String HEADER_TRANSFER_ENCODING = TRANSFER_ENCODING.toLowerCase();
   private static final String HEADER_COOKIE = COOKIE.toLowerCase();
-  private static final String COOKIE_SEPARATOR = ";";
+  private static final char COOKIE_SEPARATOR = ';';
 
   private final boolean usePersistentConnections;
 
@@ -58,6 +60,19 @@ public class RequestHeaderPopulator {
    * @param builder the {@link RequestBuilder} from Grizzly AHC.
    */
   public void populateHeaders(HttpRequest request, RequestBuilder builder) {
+    populateHeaders(request, builder, false);
+  }
+
+  /**
+   * Populates the headers in a {@link RequestBuilder} with the ones configured in a {@link HttpRequest}.
+   *
+   * @param request          the {@link HttpRequest} from Mule HTTP API.
+   * @param builder          the {@link RequestBuilder} from Grizzly AHC.
+   * @param cookieHeaderAsIs whether a cookie header that decoding would not change may be sent as is. It must be
+   *                         {@code false} if cookies may be added to the builder afterwards, as when following redirects.
+   * @since 1.12
+   */
+  public void populateHeaders(HttpRequest request, RequestBuilder builder, boolean cookieHeaderAsIs) {
     boolean hasTransferEncoding = false;
     boolean hasContentLength = false;
     boolean hasConnection = false;
@@ -84,7 +99,7 @@ public class RequestHeaderPopulator {
       }
       if (mustTreatCookieAsASpecialHeader() && headerName.equalsIgnoreCase(HEADER_COOKIE)) {
         specialHeader = true;
-        parseCookieHeaderAndAddCookies(builder, request.getHeaderValues(headerName));
+        parseCookieHeaderAndAddCookies(builder, request.getHeaderValues(headerName), cookieHeaderAsIs);
       }
 
       if (!specialHeader) {
@@ -116,32 +131,130 @@ public class RequestHeaderPopulator {
     return !DISABLE_COOKIE_SPECIAL_HANDLING;
   }
 
-  private void parseCookieHeaderAndAddCookies(RequestBuilder builder, Collection<String> headerValues) {
+  private void parseCookieHeaderAndAddCookies(RequestBuilder builder, Collection<String> headerValues,
+                                              boolean cookieHeaderAsIs) {
     try {
       if (headerValues == null) {
         LOGGER.warn("A null value was retrieved as the collection of cookie headers");
         return;
       }
 
+      // A single header that decoding would not rewrite is sent as is, without building a cookie for each pair.
+      if (cookieHeaderAsIs && headerValues.size() == 1) {
+        String cookieHeader = headerValues.iterator().next();
+        if (cookieHeader != null && isCanonicalCookieHeader(cookieHeader)) {
+          builder.addHeader(COOKIE, cookieHeader);
+          return;
+        }
+      }
+
+      // Cookies are indexed by name, so the last value of a repeated one replaces the previous keeping its position (as
+      // RequestBuilder#addOrReplaceCookie would, without scanning the cookies already added for each one).
+      Map<String, Cookie> cookies = new LinkedHashMap<>();
+
       for (String cookieHeader : headerValues) {
         if (cookieHeader == null) {
           LOGGER.warn("Detected a cookie header with a null value");
           continue;
         }
 
-        for (String eachCookie : cookieHeader.split(COOKIE_SEPARATOR)) {
-          // String#split() never returns null.
-          eachCookie = eachCookie.trim();
-          Cookie decodedCookiePair = decode(eachCookie.trim());
+        // Trailing separators are ignored, as String#split() does.
+        int length = cookieHeader.length();
+        while (length > 0 && cookieHeader.charAt(length - 1) == COOKIE_SEPARATOR) {
+          --length;
+        }
+        int pairStart = 0;
+        while (pairStart <= length) {
+          int pairEnd = cookieHeader.indexOf(COOKIE_SEPARATOR, pairStart);
+          if (pairEnd == -1 || pairEnd > length) {
+            pairEnd = length;
+          }
+
+          String eachCookie = trimmedSubstring(cookieHeader, pairStart, pairEnd);
+          Cookie decodedCookiePair = decode(eachCookie);
           if (decodedCookiePair == null) {
             LOGGER.warn("Couldn't decode '{}' as a cookie-pair. See RFC-6265, section 4.2.1 (Cookie header syntax)", eachCookie);
           } else {
-            builder.addOrReplaceCookie(decodedCookiePair);
+            cookies.put(decodedCookiePair.getName(), decodedCookiePair);
           }
+
+          pairStart = pairEnd + 1;
         }
       }
+
+      for (Cookie cookie : cookies.values()) {
+        builder.addCookie(cookie);
+      }
     } catch (NullPointerException npe) {
       LOGGER.error("This should never happen, but it was added because of repeated problems with NPEs in this code", npe);
     }
   }
+
+  /**
+   * Checks whether a cookie header is made of {@code name=value} pairs separated by {@code "; "}, with token names that are
+   * not repeated and values with only cookie-octets (RFC-6265, section 4.2.1), so that decoding and encoding it back would
+   * give the same header.
+   */
+  private static boolean isCanonicalCookieHeader(String cookieHeader) {
+    int length = cookieHeader.length();
+    int pairStart = 0;
+    while (pairStart < length) {
+      int nameEnd = -1;
+      int pairEnd = pairStart;
+      for (; pairEnd < length && cookieHeader.charAt(pairEnd) != COOKIE_SEPARATOR; ++pairEnd) {
+        char c = cookieHeader.charAt(pairEnd);
+        if (nameEnd == -1) {
+          if (c == '=') {
+            nameEnd = pairEnd;
+          } else if (!isTokenChar(c)) {
+            return false;
+          }
+        } else if (!isCookieOctet(c)) {
+          return false;
+        }
+      }
+      if (nameEnd <= pairStart || isCookieNameRepeated(cookieHeader, pairStart, nameEnd)) {
+        return false;
+      }
+      if (pairEnd == length) {
+        return true;
+      }
+      if (pairEnd + 2 >= length || cookieHeader.charAt(pairEnd + 1) != ' ') {
+        return false;
+      }
+      pairStart = pairEnd + 2;
+    }
+    return false;
+  }
+
+  private static boolean isCookieNameRepeated(String cookieHeader, int nameStart, int nameEnd) {
+    int nameLength = nameEnd - nameStart;
+    int previousStart = 0;
+    while (previousStart < nameStart) {
+      if (cookieHeader.indexOf('=', previousStart) - previousStart == nameLength
+          && cookieHeader.regionMatches(previousStart, cookieHeader, nameStart, nameLength)) {
+        return true;
+      }
+      previousStart = cookieHeader.indexOf(COOKIE_SEPARATOR, previousStart) + 2;
+    }
+    return false;
+  }
+
+  private static boolean isTokenChar(char c) {
+    return c > ' ' && c < 0x7F && "()<>@,;:\\\"/[]?={}".indexOf(c) == -1;
+  }
+
+  private static boolean isCookieOctet(char c) {
+    return c > ' ' && c < 0x7F && c != '"' && c != ',' && c != ';' && c != '\\';
+  }
+
+  private static String trimmedSubstring(String value, int start, int end) {
+    while (start < end && value.charAt(start) <= ' ') {
+      ++start;
+    }
+    while (end > start && value.charAt(end - 1) <= ' ') {
+      --end;
+    }
+    return value.substring(start, end);
+  }
 }
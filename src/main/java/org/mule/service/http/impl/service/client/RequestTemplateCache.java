@@ -0,0 +1,97 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.service.http.impl.service.client;
+
+import static com.ning.http.util.UTF8UrlEncoder.encodeQueryElement;
+
+import org.mule.runtime.http.api.client.auth.HttpAuthentication;
+import org.mule.runtime.http.api.client.proxy.ProxyConfig;
+
+import java.net.URI;
+import java.util.function.Function;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ning.http.client.ProxyServer;
+import com.ning.http.client.Realm;
+import com.ning.http.client.uri.Uri;
+
+/**
+ * Keeps the parts of the requests sent by a {@link GrizzlyHttpClient} that are the same for every request of a requester
+ * operation, so they are resolved and encoded once instead of on every call:
+ * <ul>
+ * <li>the AHC {@link Uri} for each target {@link URI},</li>
+ * <li>the {@link Realm} for each {@link HttpAuthentication},</li>
+ * <li>the {@link ProxyServer} for each {@link ProxyConfig},</li>
+ * <li>the encoded names of the query params.</li>
+ * </ul>
+ * Authentications and proxy configs are compared by identity and weakly referenced, since requester operations keep using the
+ * same instances and they hold credentials.
+ * <p>
+ * Headers are not kept: every {@link org.mule.runtime.http.api.domain.message.request.HttpRequest} comes with a new header map,
+ * with nothing to tell the headers that are the same on every call from the ones that change, so they are still copied for each
+ * request.
+ * <p>
+ * It is disabled by default, and enabled with the {@code mule.http.client.requestTemplateCache.enable} system property.
+ *
+ * @since 1.12
+ */
+class RequestTemplateCache {
+
+  private static final int MAX_URIS = 256;
+  private static final int MAX_QUERY_PARAM_NAMES = 1024;
+
+  private final Cache<URI, UriTemplate> uris = Caffeine.newBuilder().maximumSize(MAX_URIS).build();
+  private final Cache<HttpAuthentication, Realm> realms = Caffeine.newBuilder().weakKeys().build();
+  private final Cache<ProxyConfig, ProxyServer> proxies = Caffeine.newBuilder().weakKeys().build();
+  private final Cache<String, String> queryParamNames = Caffeine.newBuilder().maximumSize(MAX_QUERY_PARAM_NAMES).build();
+
+  /**
+   * @param uri            the target of the request
+   * @param hasQueryParams whether the request defines query params besides the ones in its {@code uri}
+   * @return the AHC {@link Uri} to send the request to
+   */
+  Uri getUri(URI uri, boolean hasQueryParams) {
+    UriTemplate template = uris.get(uri, UriTemplate::new);
+    return hasQueryParams ? template.withQueryParams : template.withoutQueryParams;
+  }
+
+  Realm getRealm(HttpAuthentication authentication, Function<HttpAuthentication, Realm> realmFactory) {
+    return realms.get(authentication, realmFactory);
+  }
+
+  ProxyServer getProxyServer(ProxyConfig proxyConfig, Function<ProxyConfig, ProxyServer> proxyFactory) {
+    return proxies.get(proxyConfig, proxyFactory);
+  }
+
+  String encodeQueryParamName(String name) {
+    return queryParamNames.get(name, n -> encodeQueryElement(n));
+  }
+
+  void invalidate() {
+    uris.invalidateAll();
+    realms.invalidateAll();
+    proxies.invalidateAll();
+    queryParamNames.invalidateAll();
+  }
+
+  private static final class UriTemplate {
+
+    private final Uri withoutQueryParams;
+    private final Uri withQueryParams;
+
+    UriTemplate(URI uri) {
+      withoutQueryParams = toUri(uri, false);
+      withQueryParams = uri.getRawQuery() != null ? toUri(uri, true) : withoutQueryParams;
+    }
+
+    private static Uri toUri(URI uri, boolean hasQueryParams) {
+      return new Uri(uri.getScheme(), uri.getRawUserInfo(), uri.getHost(), uri.getPort(), uri.getRawPath(),
+                     uri.getRawQuery() != null ? uri.getRawQuery() + (hasQueryParams ? "&" : "") : null);
+    }
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.service.http.impl.service.client;
+
+import static org.mule.runtime.api.scheduler.SchedulerConfig.config;
+
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.api.scheduler.SchedulerService;
+import org.mule.service.http.impl.util.BoundedQueueExecutor;
+
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * A pool of threads for streaming responses shared by every {@link GrizzlyHttpClient} in the container, instead of each client
+ * with response streaming enabled creating its own. The pool is backed by an IO {@link Scheduler}, whose threads are created on
+ * demand and reclaimed after being idle for a while, so it grows and shrinks with the actual load.
+ * <p>
+ * Each client gets a {@link #newQuota(String, int, int) quota} of the pool: an executor that runs at most a given amount of its
+ * tasks at the same time, queueing the rest, so a busy client can't starve the others. Long-running tasks that must not take a
+ * slot of the quota are run through {@link #getScheduler()} instead.
+ * <p>
+ * The pool is started when the first client acquires it and stopped when the last one releases it.
+ *
+ * @since 1.12
+ */
+class SharedStreamingWorkers {
+
+  private static final String SCHEDULER_NAME = "http.requester.streaming.sharedWorkers";
+
+  private static SharedStreamingWorkers instance;
+
+  private final Scheduler scheduler;
+  private int references;
+
+  SharedStreamingWorkers(Scheduler scheduler) {
+    this.scheduler = scheduler;
+  }
+
+  /**
+   * @param schedulerService the service to create the pool with, if it wasn't created yet
+   * @return the shared pool, which must be {@link #release() released} when no longer used
+   */
+  static synchronized SharedStreamingWorkers acquire(SchedulerService schedulerService) {
+    if (instance == null) {
+      // Each client bounds the tasks it sends to the pool through its quota, so the pool itself is left elastic.
+      instance = new SharedStreamingWorkers(schedulerService.ioScheduler(config().withName(SCHEDULER_NAME)));
+    }
+    instance.references++;
+    return instance;
+  }
+
+  /**
+   * Stops the pool if no other client is using it.
+   */
+  void release() {
+    synchronized (SharedStreamingWorkers.class) {
+      if (--references == 0) {
+        scheduler.stop();
+        if (instance == this) {
+          instance = null;
+        }
+      }
+    }
+  }
+
+  /**
+   * @return the pool as a {@link ScheduledExecutorService}, for tasks that don't count towards any quota.
+   */
+  ScheduledExecutorService getScheduler() {
+    return scheduler;
+  }
+
+  /**
+   * @param name               the name of the quota, for logging
+   * @param maxConcurrentTasks the maximum amount of tasks of the quota running at the same time
+   * @param maxQueuedTasks     the maximum amount of tasks of the quota waiting to run
+   * @return an executor that runs its tasks in the shared pool, within the given limits
+   */
+  QuotaExecutor newQuota(String name, int maxConcurrentTasks, int maxQueuedTasks) {
+    return new QuotaExecutor(name, maxConcurrentTasks, maxQueuedTasks);
+  }
+
+  /**
+   * Runs its tasks in the shared pool, with up to {@code maxConcurrentTasks} threads of the pool taking tasks from its queue. If
+   * the pool rejects a task the rejection is thrown to the caller.
+   */
+  class QuotaExecutor extends BoundedQueueExecutor {
+
+    private QuotaExecutor(String name, int maxConcurrentTasks, int maxQueuedTasks) {
+      super(name, scheduler, maxConcurrentTasks, maxQueuedTasks, false);
+    }
+  }
+}
@@ -8,18 +8,18 @@ package org.mule.service.http.impl.service.client.async;
 
 import org.mule.runtime.http.api.domain.message.response.HttpResponse;
 import org.mule.service.http.impl.service.client.HttpResponseCreator;
+import org.mule.service.http.impl.service.util.ContextSnapshot;
+import org.mule.service.http.impl.service.util.ContextSnapshot.Scope;
 
 import com.ning.http.client.AsyncCompletionHandler;
 import com.ning.http.client.Response;
 
 import java.io.IOException;
-import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeoutException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.slf4j.MDC;
 
 /**
  * Non blocking {@link com.ning.http.client.AsyncHandler} which waits to load the whole response to memory before propagating it.
@@ -32,32 +32,28 @@ public class ResponseAsyncHandler extends AsyncCompletionHandler<Response> {
 
   private final CompletableFuture<HttpResponse> future;
   private final HttpResponseCreator httpResponseCreator = new HttpResponseCreator();
-  private final Map<String, String> mdc;
+  private final ContextSnapshot context;
 
   public ResponseAsyncHandler(CompletableFuture<HttpResponse> future) {
     this.future = future;
-    this.mdc = MDC.getCopyOfContextMap();
+    this.context = ContextSnapshot.captureMdc();
   }
 
   @Override
   public Response onCompleted(Response response) throws Exception {
-    try {
-      MDC.setContextMap(mdc);
+    try (Scope scope = context.enterClearing()) {
       try {
         future.complete(httpResponseCreator.create(response, response.getResponseBodyAsStream()));
       } catch (Throwable t) {
         onThrowable(t);
       }
       return null;
-    } finally {
-      MDC.clear();
     }
   }
 
   @Override
   public void onThrowable(Throwable t) {
-    try {
-      MDC.setContextMap(mdc);
+    try (Scope scope = context.enterClearing()) {
       logger.debug("Error handling HTTP response.", t);
       Exception exception;
       if (t instanceof TimeoutException) {
@@ -68,8 +64,6 @@ public class ResponseAsyncHandler extends AsyncCompletionHandler<Response> {
         exception = new IOException(t.getMessage(), t);
       }
       future.completeExceptionally(exception);
-    } finally {
-      MDC.clear();
     }
   }
 
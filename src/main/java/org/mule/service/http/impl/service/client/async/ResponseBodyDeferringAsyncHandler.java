@@ -10,6 +10,7 @@ import static org.mule.runtime.api.util.DataUnit.KB;
 import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
 import static org.mule.runtime.http.api.HttpHeaders.Names.CONTENT_LENGTH;
 import static org.mule.runtime.http.api.HttpHeaders.Names.TRANSFER_ENCODING;
+import static org.mule.service.http.impl.service.client.GrizzlyResponseConnections.connectionOf;
 
 import static java.lang.Integer.parseInt;
 import static java.lang.Long.parseLong;
@@ -27,15 +28,14 @@ import static org.glassfish.grizzly.nio.transport.TCPNIOTransport.MAX_RECEIVE_BU
 import org.mule.runtime.http.api.domain.message.response.HttpResponse;
 import org.mule.service.http.impl.service.client.HttpResponseCreator;
 import org.mule.service.http.impl.service.client.NonBlockingStreamWriter;
-import org.mule.service.http.impl.service.util.ThreadContext;
+import org.mule.service.http.impl.service.util.ContextSnapshot;
+import org.mule.service.http.impl.service.util.ContextSnapshot.Scope;
 import org.mule.service.http.impl.util.TimedPipedInputStream;
 import org.mule.service.http.impl.util.TimedPipedOutputStream;
 
 import java.io.IOException;
 import java.io.PipedInputStream;
 import java.io.PipedOutputStream;
-import java.lang.reflect.Field;
-import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
@@ -50,12 +50,10 @@ import com.ning.http.client.HttpResponseBodyPart;
 import com.ning.http.client.HttpResponseHeaders;
 import com.ning.http.client.HttpResponseStatus;
 import com.ning.http.client.Response;
-import com.ning.http.client.providers.grizzly.GrizzlyResponseHeaders;
 import com.ning.http.client.providers.grizzly.PauseHandler;
-import org.glassfish.grizzly.http.HttpResponsePacket;
+import org.glassfish.grizzly.Connection;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.slf4j.MDC;
 
 /**
  * Non blocking async handler which uses a {@link PipedOutputStream} to populate the HTTP response as it arrives, propagating an
@@ -75,7 +73,6 @@ public class ResponseBodyDeferringAsyncHandler implements AsyncHandler<Response>
   private static final String PIPE_READ_TIMEOUT_PROPERTY_NAME =
       SYSTEM_PROPERTY_PREFIX + "http.responseStreaming.pipeReadTimeoutMillis";
   private static long PIPE_READ_TIMEOUT_MILLIS = parseInt(getProperty(PIPE_READ_TIMEOUT_PROPERTY_NAME, "20000"));
-  private static Field responseField;
 
   private volatile Response response;
   private int bufferSize;
@@ -87,16 +84,7 @@ public class ResponseBodyDeferringAsyncHandler implements AsyncHandler<Response>
   private final Response.ResponseBuilder responseBuilder = new Response.ResponseBuilder();
   private final HttpResponseCreator httpResponseCreator = new HttpResponseCreator();
   private final AtomicBoolean handled = new AtomicBoolean(false);
-  private final Map<String, String> mdc;
-
-  static {
-    try {
-      responseField = GrizzlyResponseHeaders.class.getDeclaredField("response");
-      responseField.setAccessible(true);
-    } catch (Throwable e) {
-      LOGGER.warn("Unable to use reflection to access connection buffer size to optimize streaming.", e);
-    }
-  }
+  private final ContextSnapshot context;
 
   private final AtomicReference<Throwable> throwableReceived = new AtomicReference<>();
   private final AtomicBoolean lastPartReceived = new AtomicBoolean(false);
@@ -108,14 +96,13 @@ public class ResponseBodyDeferringAsyncHandler implements AsyncHandler<Response>
     this.bufferSize = userDefinedBufferSize;
     this.workerScheduler = workerScheduler;
     this.nonBlockingStreamWriter = nonBlockingStreamWriter;
-    this.mdc = MDC.getCopyOfContextMap();
+    this.context = ContextSnapshot.captureMdc();
   }
 
   @Override
   public void onThrowable(Throwable t) {
     throwableReceived.set(t);
-    try {
-      MDC.setContextMap(mdc);
+    try (Scope scope = context.enterClearing()) {
       LOGGER.debug("Error caught handling response body", t);
       try {
         cancelOut(t);
@@ -144,8 +131,6 @@ public class ResponseBodyDeferringAsyncHandler implements AsyncHandler<Response>
         }
         LOGGER.debug("HTTP response stream error was ", t);
       }
-    } finally {
-      MDC.clear();
     }
   }
 
@@ -161,16 +146,13 @@ public class ResponseBodyDeferringAsyncHandler implements AsyncHandler<Response>
 
   @Override
   public STATE onStatusReceived(HttpResponseStatus responseStatus) throws Exception {
-    try {
-      MDC.setContextMap(mdc);
+    try (Scope scope = context.enterClearing()) {
       if (errorDetected()) {
         return closeAndAbort();
       }
       responseBuilder.reset();
       responseBuilder.accumulate(responseStatus);
       return CONTINUE;
-    } finally {
-      MDC.clear();
     }
   }
 
@@ -185,8 +167,7 @@ public class ResponseBodyDeferringAsyncHandler implements AsyncHandler<Response>
 
   @Override
   public STATE onHeadersReceived(HttpResponseHeaders headers) throws Exception {
-    try {
-      MDC.setContextMap(mdc);
+    try (Scope scope = context.enterClearing()) {
       if (errorDetected()) {
         return closeAndAbort();
       }
@@ -199,8 +180,6 @@ public class ResponseBodyDeferringAsyncHandler implements AsyncHandler<Response>
         LOGGER.debug("onHeadersReceived. Using user configured buffer size of '{} bytes'.", bufferSize);
       }
       return CONTINUE;
-    } finally {
-      MDC.clear();
     }
   }
 
@@ -215,11 +194,10 @@ public class ResponseBodyDeferringAsyncHandler implements AsyncHandler<Response>
     String contentLength = headers.getHeaders().getFirstValue(CONTENT_LENGTH);
     if (!isEmpty(contentLength) && isEmpty(headers.getHeaders().getFirstValue(TRANSFER_ENCODING))) {
       long contentLengthLong = parseLong(contentLength);
-      try {
-        if (responseField != null && headers instanceof GrizzlyResponseHeaders) {
-          maxBufferSize = (((HttpResponsePacket) responseField.get(headers)).getRequest().getConnection().getReadBufferSize());
-        }
-      } catch (IllegalAccessException e) {
+      Connection connection = connectionOf(headers);
+      if (connection != null) {
+        maxBufferSize = connection.getReadBufferSize();
+      } else {
         LOGGER.debug("Unable to access connection buffer size.");
       }
       // The min result can be safely casted because maxBufferSize is an integer.
@@ -237,8 +215,7 @@ public class ResponseBodyDeferringAsyncHandler implements AsyncHandler<Response>
   @Override
   public STATE onBodyPartReceived(HttpResponseBodyPart bodyPart) throws Exception {
     // body arrived, can handle the partial response
-    try {
-      MDC.setContextMap(mdc);
+    try (Scope scope = context.enterClearing()) {
       if (bodyPart.isLast()) {
         lastPartReceived.set(true);
       }
@@ -270,8 +247,6 @@ public class ResponseBodyDeferringAsyncHandler implements AsyncHandler<Response>
         this.onThrowable(e);
         return ABORT;
       }
-    } finally {
-      MDC.clear();
     }
   }
 
@@ -284,7 +259,7 @@ public class ResponseBodyDeferringAsyncHandler implements AsyncHandler<Response>
       final PauseHandler pauseHandler = bodyPart.getPauseHandler();
       pauseHandler.requestPause();
       nonBlockingStreamWriter
-          .addDataToWrite(output, bodyPart.getBodyPartBytes(), this::availableSpaceInPipe)
+          .addDataToWrite(output, bodyPart.getBodyPartBytes(), this::availableSpaceInPipe, context)
           .whenComplete(resumeCallback(pauseHandler, bodyPart.isLast()));
     } else {
       bodyPart.writeTo(output);
@@ -337,8 +312,7 @@ public class ResponseBodyDeferringAsyncHandler implements AsyncHandler<Response>
 
   @Override
   public Response onCompleted() throws IOException {
-    try {
-      MDC.setContextMap(mdc);
+    try (Scope scope = context.enterClearing()) {
       LOGGER.debug("Completed response");
       // there may have been no body, handle partial response
       handleIfNecessary();
@@ -348,8 +322,6 @@ public class ResponseBodyDeferringAsyncHandler implements AsyncHandler<Response>
         closeOut();
       }
       return null;
-    } finally {
-      MDC.clear();
     }
   }
 
@@ -360,7 +332,7 @@ public class ResponseBodyDeferringAsyncHandler implements AsyncHandler<Response>
           LOGGER.debug("Scheduling response future completion to workers scheduler");
           ClassLoader outerTccl = Thread.currentThread().getContextClassLoader();
           workerScheduler.submit(() -> {
-            try (ThreadContext ctx = new ThreadContext(outerTccl, mdc)) {
+            try (Scope scope = context.withClassLoader(outerTccl).enter()) {
               completeResponseFuture();
             }
           });
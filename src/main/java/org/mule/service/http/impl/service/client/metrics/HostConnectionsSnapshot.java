@@ -0,0 +1,49 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.service.http.impl.service.client.metrics;
+
+/**
+ * Point in time view of the connections an HTTP client has to a specific host.
+ *
+ * @since 1.12
+ */
+public class HostConnectionsSnapshot {
+
+  private final int open;
+  private final int leased;
+
+  public HostConnectionsSnapshot(int open, int leased) {
+    this.open = open;
+    this.leased = leased;
+  }
+
+  /**
+   * @return the amount of connections currently open
+   */
+  public int getOpen() {
+    return open;
+  }
+
+  /**
+   * @return the amount of requests currently using a connection
+   */
+  public int getLeased() {
+    return leased;
+  }
+
+  /**
+   * @return the amount of open connections that are not being used, as seen from the pool
+   */
+  public int getIdle() {
+    return Math.max(0, open - leased);
+  }
+
+  @Override
+  public String toString() {
+    return "open=" + open + ", leased=" + leased + ", idle=" + getIdle();
+  }
+}
@@ -0,0 +1,298 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.service.http.impl.service.client.metrics;
+
+import static java.lang.Boolean.getBoolean;
+import static java.lang.management.ManagementFactory.getPlatformMBeanServer;
+import static javax.management.ObjectName.quote;
+
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Collects the metrics of the connection pool of an HTTP client, exposes them through JMX and propagates every event to the
+ * registered {@link HttpClientMetricsListener}s.
+ * <p>
+ * Metrics are only collected when the {@code mule.http.client.metrics.enable} system property is set.
+ *
+ * @since 1.12
+ */
+public class HttpClientMetrics implements HttpClientMetricsMXBean, HttpClientMetricsListener {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(HttpClientMetrics.class);
+
+  public static final String ENABLE_METRICS_PROPERTY_NAME = SYSTEM_PROPERTY_PREFIX + "http.client.metrics.enable";
+  private static final String OBJECT_NAME_PREFIX = "org.mule.service.http:type=HttpClient,name=";
+
+  private final String clientName;
+  private final List<HttpClientMetricsListener> listeners = new CopyOnWriteArrayList<>();
+  private final Map<String, HostMetrics> hosts = new ConcurrentHashMap<>();
+
+  private final LongAdder connectionsOpened = new LongAdder();
+  private final LongAdder connectionsClosed = new LongAdder();
+  private final LongAdder ttlEvictions = new LongAdder();
+  private final LongAdder poolRejections = new LongAdder();
+
+  private final LatencyHistogram poolWaitLatency = new LatencyHistogram();
+  private final LatencyHistogram connectLatency = new LatencyHistogram();
+  private final LatencyHistogram tlsHandshakeLatency = new LatencyHistogram();
+  private final LatencyHistogram timeToFirstByteLatency = new LatencyHistogram();
+  private final LatencyHistogram bodyTransferLatency = new LatencyHistogram();
+
+  private ObjectName objectName;
+
+  public HttpClientMetrics(String clientName) {
+    this.clientName = clientName;
+  }
+
+  /**
+   * @return whether metrics have to be collected for the HTTP clients.
+   */
+  public static boolean isMetricsEnabled() {
+    return getBoolean(ENABLE_METRICS_PROPERTY_NAME);
+  }
+
+  /**
+   * Adds a listener to be notified about every event of the connection pool of this client.
+   *
+   * @param listener the listener to add
+   */
+  public void addListener(HttpClientMetricsListener listener) {
+    listeners.add(listener);
+  }
+
+  public void removeListener(HttpClientMetricsListener listener) {
+    listeners.remove(listener);
+  }
+
+  /**
+   * Registers these metrics in the platform {@link MBeanServer}. If another client with the same name is already registered,
+   * a numeric suffix is added to the name.
+   */
+  public synchronized void register() {
+    MBeanServer mBeanServer = getPlatformMBeanServer();
+    String baseName = OBJECT_NAME_PREFIX + quote(String.valueOf(clientName));
+    try {
+      ObjectName candidate = new ObjectName(baseName);
+      int suffix = 1;
+      while (objectName == null) {
+        try {
+          mBeanServer.registerMBean(this, candidate);
+          objectName = candidate;
+        } catch (InstanceAlreadyExistsException e) {
+          candidate = new ObjectName(baseName + ",id=" + suffix++);
+        }
+      }
+    } catch (Exception e) {
+      LOGGER.warn("Could not register the metrics of HTTP client '{}' in JMX: {}", clientName, e.getMessage());
+    }
+  }
+
+  public synchronized void unregister() {
+    if (objectName != null) {
+      try {
+        getPlatformMBeanServer().unregisterMBean(objectName);
+      } catch (Exception e) {
+        LOGGER.debug("Could not unregister the metrics of HTTP client '{}' from JMX", clientName, e);
+      } finally {
+        objectName = null;
+      }
+    }
+  }
+
+  /**
+   * @param host the pool key of a request about to be sent
+   * @return whether there is an open connection to that host that is not used by another request.
+   */
+  boolean hasIdleConnection(String host) {
+    HostMetrics hostMetrics = hosts.get(host);
+    return hostMetrics != null && hostMetrics.open.get() > hostMetrics.leased.get();
+  }
+
+  private HostMetrics hostMetrics(String host) {
+    return hosts.computeIfAbsent(host, h -> new HostMetrics());
+  }
+
+  @Override
+  public void onConnectionOpened(String host, long connectNanos) {
+    connectionsOpened.increment();
+    hostMetrics(host).open.incrementAndGet();
+    connectLatency.record(connectNanos);
+    for (HttpClientMetricsListener listener : listeners) {
+      try {
+        listener.onConnectionOpened(host, connectNanos);
+      } catch (Exception e) {
+        logListenerError(e);
+      }
+    }
+  }
+
+  @Override
+  public void onConnectionClosed(String host, boolean ttlExpired) {
+    connectionsClosed.increment();
+    hostMetrics(host).open.decrementAndGet();
+    if (ttlExpired) {
+      ttlEvictions.increment();
+    }
+    for (HttpClientMetricsListener listener : listeners) {
+      try {
+        listener.onConnectionClosed(host, ttlExpired);
+      } catch (Exception e) {
+        logListenerError(e);
+      }
+    }
+  }
+
+  @Override
+  public void onTlsHandshake(String host, long handshakeNanos) {
+    tlsHandshakeLatency.record(handshakeNanos);
+    for (HttpClientMetricsListener listener : listeners) {
+      try {
+        listener.onTlsHandshake(host, handshakeNanos);
+      } catch (Exception e) {
+        logListenerError(e);
+      }
+    }
+  }
+
+  @Override
+  public void onPoolWait(long waitNanos, boolean acquired) {
+    poolWaitLatency.record(waitNanos);
+    if (!acquired) {
+      poolRejections.increment();
+    }
+    for (HttpClientMetricsListener listener : listeners) {
+      try {
+        listener.onPoolWait(waitNanos, acquired);
+      } catch (Exception e) {
+        logListenerError(e);
+      }
+    }
+  }
+
+  @Override
+  public void onRequestStarted(String host) {
+    hostMetrics(host).leased.incrementAndGet();
+    for (HttpClientMetricsListener listener : listeners) {
+      try {
+        listener.onRequestStarted(host);
+      } catch (Exception e) {
+        logListenerError(e);
+      }
+    }
+  }
+
+  @Override
+  public void onRequestCompleted(String host, long timeToFirstByteNanos, long bodyTransferNanos) {
+    hostMetrics(host).leased.decrementAndGet();
+    timeToFirstByteLatency.record(timeToFirstByteNanos);
+    bodyTransferLatency.record(bodyTransferNanos);
+    for (HttpClientMetricsListener listener : listeners) {
+      try {
+        listener.onRequestCompleted(host, timeToFirstByteNanos, bodyTransferNanos);
+      } catch (Exception e) {
+        logListenerError(e);
+      }
+    }
+  }
+
+  private void logListenerError(Exception e) {
+    LOGGER.warn("Error notifying metrics listener of HTTP client '{}'", clientName, e);
+  }
+
+  @Override
+  public String getClientName() {
+    return clientName;
+  }
+
+  @Override
+  public int getOpenConnections() {
+    return hosts.values().stream().mapToInt(h -> h.open.get()).sum();
+  }
+
+  @Override
+  public int getLeasedConnections() {
+    return hosts.values().stream().mapToInt(h -> h.leased.get()).sum();
+  }
+
+  @Override
+  public int getIdleConnections() {
+    return hosts.values().stream().mapToInt(h -> Math.max(0, h.open.get() - h.leased.get())).sum();
+  }
+
+  @Override
+  public long getConnectionsOpened() {
+    return connectionsOpened.sum();
+  }
+
+  @Override
+  public long getConnectionsClosed() {
+    return connectionsClosed.sum();
+  }
+
+  @Override
+  public long getTtlEvictions() {
+    return ttlEvictions.sum();
+  }
+
+  @Override
+  public long getPoolRejections() {
+    return poolRejections.sum();
+  }
+
+  @Override
+  public Map<String, HostConnectionsSnapshot> getConnectionsPerHost() {
+    Map<String, HostConnectionsSnapshot> snapshot = new HashMap<>();
+    hosts.forEach((host, metrics) -> snapshot.put(host, new HostConnectionsSnapshot(metrics.open.get(), metrics.leased.get())));
+    return snapshot;
+  }
+
+  @Override
+  public LatencySnapshot getPoolWaitLatency() {
+    return poolWaitLatency.snapshot();
+  }
+
+  @Override
+  public LatencySnapshot getConnectLatency() {
+    return connectLatency.snapshot();
+  }
+
+  @Override
+  public LatencySnapshot getTlsHandshakeLatency() {
+    return tlsHandshakeLatency.snapshot();
+  }
+
+  @Override
+  public LatencySnapshot getTimeToFirstByteLatency() {
+    return timeToFirstByteLatency.snapshot();
+  }
+
+  @Override
+  public LatencySnapshot getBodyTransferLatency() {
+    return bodyTransferLatency.snapshot();
+  }
+
+  private static final class HostMetrics {
+
+    private final AtomicInteger open = new AtomicInteger();
+    private final AtomicInteger leased = new AtomicInteger();
+  }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.service.http.impl.service.client.metrics;
+
+/**
+ * Listener notified about the connection pool activity of an HTTP client. All durations are expressed in nanoseconds and hosts
+ * are represented as {@code host:port} of the requested URI, followed by {@code " via proxyHost:proxyPort"} when the requests are
+ * sent through a proxy. Connections are reported under the host of the first request sent through them.
+ * <p>
+ * Implementations are invoked from the selector and worker threads of the client, so they must return quickly and never block.
+ *
+ * @since 1.12
+ */
+public interface HttpClientMetricsListener {
+
+  /**
+   * A new connection was established.
+   *
+   * @param host         the host the connection was opened to
+   * @param connectNanos the time it took to establish it, or a negative value if unknown
+   */
+  default void onConnectionOpened(String host, long connectNanos) {}
+
+  /**
+   * A connection was closed.
+   *
+   * @param host       the host the connection was opened to
+   * @param ttlExpired whether the connection was closed because it reached its maximum lifetime
+   */
+  default void onConnectionClosed(String host, boolean ttlExpired) {}
+
+  /**
+   * A TLS handshake was completed.
+   *
+   * @param host           the host the connection was opened to
+   * @param handshakeNanos the time it took to complete the handshake
+   */
+  default void onTlsHandshake(String host, long handshakeNanos) {}
+
+  /**
+   * A request had to wait for a connection to be available because the maximum amount of connections was reached. Requests
+   * that get a connection right away are not reported.
+   *
+   * @param waitNanos the time the request waited
+   * @param acquired  whether a connection was finally available, {@code false} if the request was rejected
+   */
+  default void onPoolWait(long waitNanos, boolean acquired) {}
+
+  /**
+   * A request was sent to the given host and a connection was leased for it.
+   *
+   * @param host the host the request was sent to
+   */
+  default void onRequestStarted(String host) {}
+
+  /**
+   * A request was completed, either successfully or not, releasing the connection leased for it.
+   *
+   * @param host                the host the request was sent to
+   * @param timeToFirstByteNanos the time until the response status was received, or a negative value if never received
+   * @param bodyTransferNanos   the time it took to receive the response after its status, or a negative value if not received
+   */
+  default void onRequestCompleted(String host, long timeToFirstByteNanos, long bodyTransferNanos) {}
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.service.http.impl.service.client.metrics;
+
+import java.util.Map;
+
+/**
+ * JMX view of the connection pool of an HTTP client.
+ *
+ * @since 1.12
+ */
+public interface HttpClientMetricsMXBean {
+
+  String getClientName();
+
+  int getOpenConnections();
+
+  int getLeasedConnections();
+
+  int getIdleConnections();
+
+  long getConnectionsOpened();
+
+  long getConnectionsClosed();
+
+  long getTtlEvictions();
+
+  long getPoolRejections();
+
+  Map<String, HostConnectionsSnapshot> getConnectionsPerHost();
+
+  LatencySnapshot getPoolWaitLatency();
+
+  LatencySnapshot getConnectLatency();
+
+  LatencySnapshot getTlsHandshakeLatency();
+
+  LatencySnapshot getTimeToFirstByteLatency();
+
+  LatencySnapshot getBodyTransferLatency();
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.service.http.impl.service.client.metrics;
+
+import static java.lang.Long.numberOfLeadingZeros;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of latencies with exponentially sized buckets. Each bucket {@code i} counts the values that take less than
+ * {@code 2^i} microseconds, so percentiles are reported with the upper bound of the bucket they fall in.
+ *
+ * @since 1.12
+ */
+public class LatencyHistogram {
+
+  private static final int BUCKETS = 40;
+
+  private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+  private final LongAdder count = new LongAdder();
+  private final LongAdder totalNanos = new LongAdder();
+  private final AtomicLong maxNanos = new AtomicLong();
+
+  /**
+   * @param nanos the latency to record, negative values are ignored
+   */
+  public void record(long nanos) {
+    if (nanos < 0) {
+      return;
+    }
+    long micros = NANOSECONDS.toMicros(nanos);
+    int bucket = min(BUCKETS - 1, 64 - numberOfLeadingZeros(micros));
+    buckets.incrementAndGet(bucket);
+    count.increment();
+    totalNanos.add(nanos);
+    maxNanos.accumulateAndGet(nanos, Math::max);
+  }
+
+  public long getCount() {
+    return count.sum();
+  }
+
+  /**
+   * @return a point in time view of this histogram
+   */
+  public LatencySnapshot snapshot() {
+    long[] counts = new long[BUCKETS];
+    long total = 0;
+    for (int i = 0; i < BUCKETS; ++i) {
+      counts[i] = buckets.get(i);
+      total += counts[i];
+    }
+    long recordedCount = count.sum();
+    double meanMillis = recordedCount == 0 ? 0 : nanosToMillis(totalNanos.sum()) / recordedCount;
+    return new LatencySnapshot(recordedCount, meanMillis,
+                               percentile(counts, total, 0.5), percentile(counts, total, 0.99),
+                               percentile(counts, total, 0.999), nanosToMillis(maxNanos.get()));
+  }
+
+  private static double percentile(long[] counts, long total, double percentile) {
+    if (total == 0) {
+      return 0;
+    }
+    long target = max(1, (long) Math.ceil(total * percentile));
+    long accumulated = 0;
+    for (int i = 0; i < counts.length; ++i) {
+      accumulated += counts[i];
+      if (accumulated >= target) {
+        // Upper bound of the bucket, in milliseconds.
+        return (1L << i) / 1000.0;
+      }
+    }
+    return (1L << (counts.length - 1)) / 1000.0;
+  }
+
+  private static double nanosToMillis(long nanos) {
+    return nanos / 1_000_000.0;
+  }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.service.http.impl.service.client.metrics;
+
+/**
+ * Point in time view of a {@link LatencyHistogram}. All values are expressed in milliseconds.
+ *
+ * @since 1.12
+ */
+public class LatencySnapshot {
+
+  private final long count;
+  private final double mean;
+  private final double p50;
+  private final double p99;
+  private final double p999;
+  private final double max;
+
+  public LatencySnapshot(long count, double mean, double p50, double p99, double p999, double max) {
+    this.count = count;
+    this.mean = mean;
+    this.p50 = p50;
+    this.p99 = p99;
+    this.p999 = p999;
+    this.max = max;
+  }
+
+  public long getCount() {
+    return count;
+  }
+
+  public double getMean() {
+    return mean;
+  }
+
+  public double getP50() {
+    return p50;
+  }
+
+  public double getP99() {
+    return p99;
+  }
+
+  public double getP999() {
+    return p999;
+  }
+
+  public double getMax() {
+    return max;
+  }
+
+  @Override
+  public String toString() {
+    return "count=" + count + ", mean=" + mean + "ms, p50=" + p50 + "ms, p99=" + p99 + "ms, p999=" + p999 + "ms, max=" + max
+        + "ms";
+  }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.service.http.impl.service.client.metrics;
+
+import static org.mule.service.http.impl.service.client.GrizzlyResponseConnections.connectionOf;
+
+import static java.lang.System.nanoTime;
+
+import static com.ning.http.util.ProxyUtils.avoidProxy;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.ning.http.client.AsyncHandler;
+import com.ning.http.client.HttpResponseBodyPart;
+import com.ning.http.client.HttpResponseHeaders;
+import com.ning.http.client.HttpResponseStatus;
+import com.ning.http.client.ProxyServer;
+import com.ning.http.client.Request;
+import com.ning.http.client.filter.FilterContext;
+import com.ning.http.client.filter.FilterException;
+import com.ning.http.client.filter.RequestFilter;
+import com.ning.http.client.uri.Uri;
+import org.glassfish.grizzly.Connection;
+
+/**
+ * A {@link RequestFilter} that measures the time until the response status arrives and the time it takes to receive the rest of
+ * the response, keeping track of the connections leased for each host.
+ * <p>
+ * Requests are accounted under the key of the connection pool partition they use: the host and port they are sent to, and the
+ * proxy they are sent through, if any. The connection each request gets is bound to that same key when its response arrives, so
+ * the connections of a host are counted under the same key as its requests, whatever address they were actually opened to.
+ *
+ * @since 1.12
+ */
+public class MetricsRequestFilter implements RequestFilter {
+
+  private static final int DEFAULT_HTTP_PORT = 80;
+  private static final int DEFAULT_HTTPS_PORT = 443;
+
+  private final HttpClientMetrics metrics;
+  private final ProxyServer defaultProxyServer;
+
+  public MetricsRequestFilter(HttpClientMetrics metrics) {
+    this(metrics, null);
+  }
+
+  /**
+   * @param metrics            the metrics to update
+   * @param defaultProxyServer the proxy configured for the client, used by the requests that don't set their own, or
+   *                           {@code null}
+   */
+  public MetricsRequestFilter(HttpClientMetrics metrics, ProxyServer defaultProxyServer) {
+    this.metrics = metrics;
+    this.defaultProxyServer = defaultProxyServer;
+  }
+
+  @Override
+  public FilterContext filter(FilterContext ctx) throws FilterException {
+    Request request = ctx.getRequest();
+    String host = poolKeyOf(request.getUri(), request.getProxyServer() != null ? request.getProxyServer() : defaultProxyServer);
+    return new FilterContext.FilterContextBuilder(ctx)
+        .asyncHandler(new MetricsAsyncHandler(ctx.getAsyncHandler(), host))
+        .build();
+  }
+
+  /**
+   * @param uri         the URI a request is sent to
+   * @param proxyServer the proxy the request is sent through, or {@code null}
+   * @return the key the metrics of the connections used by the request are kept under.
+   */
+  static String poolKeyOf(Uri uri, ProxyServer proxyServer) {
+    String target = hostOf(uri);
+    if (proxyServer == null || avoidProxy(proxyServer, uri.getHost())) {
+      return target;
+    }
+    return target + " via " + proxyServer.getHost() + ":" + proxyServer.getPort();
+  }
+
+  static String hostOf(Uri uri) {
+    int port = uri.getPort();
+    if (port == -1) {
+      port = uri.getScheme().startsWith("https") || uri.getScheme().startsWith("wss") ? DEFAULT_HTTPS_PORT : DEFAULT_HTTP_PORT;
+    }
+    return uri.getHost() + ":" + port;
+  }
+
+  private class MetricsAsyncHandler<T> implements AsyncHandler<T> {
+
+    private final AsyncHandler<T> asyncHandler;
+    private final String host;
+    private final long startNanos;
+    private final boolean idleConnectionAvailable;
+    private final AtomicBoolean complete = new AtomicBoolean(false);
+    private final AtomicBoolean connectionBound = new AtomicBoolean(false);
+    private volatile long statusNanos = -1;
+
+    public MetricsAsyncHandler(AsyncHandler<T> asyncHandler, String host) {
+      this.asyncHandler = asyncHandler;
+      this.host = host;
+      this.startNanos = nanoTime();
+      // Must be checked before leasing, otherwise this request would count itself as using a connection.
+      this.idleConnectionAvailable = metrics.hasIdleConnection(host);
+      metrics.onRequestStarted(host);
+    }
+
+    private void complete() {
+      if (complete.compareAndSet(false, true)) {
+        long status = statusNanos;
+        metrics.onRequestCompleted(host, status < 0 ? -1 : status - startNanos, status < 0 ? -1 : nanoTime() - status);
+      }
+    }
+
+    @Override
+    public void onThrowable(Throwable t) {
+      complete();
+      asyncHandler.onThrowable(t);
+    }
+
+    @Override
+    public STATE onBodyPartReceived(HttpResponseBodyPart bodyPart) throws Exception {
+      return asyncHandler.onBodyPartReceived(bodyPart);
+    }
+
+    @Override
+    public STATE onStatusReceived(HttpResponseStatus responseStatus) throws Exception {
+      if (statusNanos < 0) {
+        statusNanos = nanoTime();
+      }
+      return asyncHandler.onStatusReceived(responseStatus);
+    }
+
+    @Override
+    public STATE onHeadersReceived(HttpResponseHeaders headers) throws Exception {
+      if (connectionBound.compareAndSet(false, true)) {
+        Connection connection = connectionOf(headers);
+        if (connection != null) {
+          // Only a request that found no idle connection may have triggered the connect, so only then it can be measured.
+          MetricsTransportCustomizer.bindConnection(metrics, connection, host, idleConnectionAvailable ? -1 : startNanos);
+        }
+      }
+      return asyncHandler.onHeadersReceived(headers);
+    }
+
+    @Override
+    public T onCompleted() throws Exception {
+      try {
+        return asyncHandler.onCompleted();
+      } finally {
+        complete();
+      }
+    }
+  }
+}
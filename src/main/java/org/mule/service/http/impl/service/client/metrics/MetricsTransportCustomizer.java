@@ -0,0 +1,148 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.service.http.impl.service.client.metrics;
+
+import static java.lang.System.nanoTime;
+
+import com.ning.http.client.providers.grizzly.TransportCustomizer;
+import org.glassfish.grizzly.Connection;
+import org.glassfish.grizzly.ConnectionProbe;
+import org.glassfish.grizzly.attributes.AttributeHolder;
+import org.glassfish.grizzly.filterchain.Filter;
+import org.glassfish.grizzly.filterchain.FilterChainBuilder;
+import org.glassfish.grizzly.nio.transport.TCPNIOTransport;
+import org.glassfish.grizzly.ssl.SSLBaseFilter;
+import org.glassfish.grizzly.ssl.SSLBaseFilter.HandshakeListener;
+
+/**
+ * Transport customizer that adds the probes needed to collect the connection metrics of a client: connections opened and closed
+ * per host, and the time it takes to complete TLS handshakes.
+ * <p>
+ * A connection is accounted for once it is {@link #bindConnection(HttpClientMetrics, Connection, String, long) bound} to the
+ * pool key of the first request that gets a response through it, so its metrics are kept under the same key as the ones of the
+ * requests, even when it is opened to a proxy or to an address resolved from the requested host name.
+ *
+ * @since 1.12
+ */
+public class MetricsTransportCustomizer implements TransportCustomizer {
+
+  private static final String CONNECTED_AT_ATTRIBUTE_KEY = "muleMetricsConnectedAt";
+  private static final String HANDSHAKE_STARTED_AT_ATTRIBUTE_KEY = "muleMetricsHandshakeStartedAt";
+  private static final String HANDSHAKE_NANOS_ATTRIBUTE_KEY = "muleMetricsHandshakeNanos";
+  private static final String HOST_ATTRIBUTE_KEY = "muleMetricsHost";
+
+  private final HttpClientMetrics metrics;
+  private final long connectionLifetimeNanos;
+
+  /**
+   * @param metrics                  the metrics to update
+   * @param connectionLifetimeMillis the maximum time a connection is kept in the pool, used to tell evictions apart
+   */
+  public MetricsTransportCustomizer(HttpClientMetrics metrics, long connectionLifetimeMillis) {
+    this.metrics = metrics;
+    this.connectionLifetimeNanos = connectionLifetimeMillis * 1_000_000;
+  }
+
+  @Override
+  public void customize(TCPNIOTransport transport, FilterChainBuilder filterChainBuilder) {
+    transport.getConnectionMonitoringConfig().addProbes(new MetricsConnectionProbe());
+
+    SSLBaseFilter sslFilter = findSslFilter(filterChainBuilder);
+    if (sslFilter != null) {
+      sslFilter.addHandshakeListener(new MetricsHandshakeListener());
+    }
+  }
+
+  private SSLBaseFilter findSslFilter(FilterChainBuilder filterChainBuilder) {
+    try {
+      int i = 0;
+      while (true) {
+        Filter filter = filterChainBuilder.get(i++);
+        if (filter instanceof SSLBaseFilter) {
+          return (SSLBaseFilter) filter;
+        }
+      }
+    } catch (IndexOutOfBoundsException e) {
+      // No TLS filter in the chain
+      return null;
+    }
+  }
+
+  /**
+   * Accounts for a connection under the pool key of the request that is using it, unless it already was.
+   *
+   * @param metrics           the metrics to update
+   * @param connection        the connection the request got its response through
+   * @param host              the pool key of the request
+   * @param requestStartNanos when the request was sent, if no idle connection was available for it, or a negative value otherwise
+   */
+  static void bindConnection(HttpClientMetrics metrics, Connection connection, String host, long requestStartNanos) {
+    AttributeHolder attributes = connection.getAttributes();
+    Object connectedAt = attributes.getAttribute(CONNECTED_AT_ATTRIBUTE_KEY);
+    if (!(connectedAt instanceof Long) || attributes.getAttribute(HOST_ATTRIBUTE_KEY) != null) {
+      // Either not seen by the probe or already accounted for.
+      return;
+    }
+    attributes.setAttribute(HOST_ATTRIBUTE_KEY, host);
+
+    long connectNanos = requestStartNanos >= 0 && (Long) connectedAt >= requestStartNanos
+        ? (Long) connectedAt - requestStartNanos
+        : -1;
+    metrics.onConnectionOpened(host, connectNanos);
+    Object handshakeNanos = attributes.removeAttribute(HANDSHAKE_NANOS_ATTRIBUTE_KEY);
+    if (handshakeNanos instanceof Long) {
+      metrics.onTlsHandshake(host, (Long) handshakeNanos);
+    }
+  }
+
+  private class MetricsConnectionProbe extends ConnectionProbe.Adapter {
+
+    @Override
+    public void onConnectEvent(Connection connection) {
+      connection.getAttributes().setAttribute(CONNECTED_AT_ATTRIBUTE_KEY, nanoTime());
+    }
+
+    @Override
+    public void onCloseEvent(Connection connection) {
+      Object connectedAt = connection.getAttributes().getAttribute(CONNECTED_AT_ATTRIBUTE_KEY);
+      Object host = connection.getAttributes().getAttribute(HOST_ATTRIBUTE_KEY);
+      if (connectedAt instanceof Long && host != null) {
+        boolean ttlExpired = nanoTime() - (Long) connectedAt >= connectionLifetimeNanos;
+        metrics.onConnectionClosed((String) host, ttlExpired);
+      }
+    }
+  }
+
+  private class MetricsHandshakeListener implements HandshakeListener {
+
+    @Override
+    public void onStart(Connection connection) {
+      connection.getAttributes().setAttribute(HANDSHAKE_STARTED_AT_ATTRIBUTE_KEY, nanoTime());
+    }
+
+    @Override
+    public void onComplete(Connection connection) {
+      Object startedAt = connection.getAttributes().removeAttribute(HANDSHAKE_STARTED_AT_ATTRIBUTE_KEY);
+      if (startedAt instanceof Long) {
+        long handshakeNanos = nanoTime() - (Long) startedAt;
+        Object host = connection.getAttributes().getAttribute(HOST_ATTRIBUTE_KEY);
+        if (host != null) {
+          // A renegotiation of a connection already in use.
+          metrics.onTlsHandshake((String) host, handshakeNanos);
+        } else {
+          // Reported once the connection is bound to the key of the request using it.
+          connection.getAttributes().setAttribute(HANDSHAKE_NANOS_ATTRIBUTE_KEY, handshakeNanos);
+        }
+      }
+    }
+
+    // Not annotated with @Override since it is not present in every Grizzly version.
+    public void onFailure(Connection connection, Throwable t) {
+      connection.getAttributes().removeAttribute(HANDSHAKE_STARTED_AT_ATTRIBUTE_KEY);
+    }
+  }
+}
@@ -12,7 +12,9 @@ import static java.lang.Integer.max;
 import static java.lang.Long.parseLong;
 import static java.lang.Runtime.getRuntime;
 import static java.lang.String.format;
+import static java.lang.System.getProperty;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
 import static org.mule.runtime.core.api.util.ClassUtils.getMethod;
 import static org.mule.runtime.core.api.util.NetworkUtils.getLocalHostAddress;
 import static org.mule.service.http.impl.config.ContainerTcpServerSocketProperties.loadTcpServerSocketProperties;
@@ -39,11 +41,24 @@ import org.mule.service.http.impl.service.server.grizzly.GrizzlyServerManager;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.net.UnknownHostException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Supplier;
 
 /**
  * Grizzly based {@link HttpServerFactory}.
+ * <p>
+ * By default every listener of the container is served by the same transport and selectors. A listener config can be assigned
+ * to a named group through the {@code mule.http.server.listenerGroup.<listener config name>} system property, so it is served by
+ * a transport dedicated to the group, with its own selectors, and can't be starved by the listeners out of it. The amount of
+ * selectors of a group is set through {@code mule.http.server.listenerGroupSelectors.<group name>}, and defaults to
+ * {@value #DEFAULT_GROUP_SELECTOR_THREAD_COUNT}. Only the selectors are dedicated: the worker and idle timeout schedulers are
+ * still the ones of the container.
+ * <p>
+ * A group is created with its first server, and its transport and selectors are disposed with its last one.
  *
  * @since 1.0
  */
@@ -54,6 +69,10 @@ public class HttpListenerConnectionManager implements ContextHttpServerFactory,
                  max(getRuntime().availableProcessors(), 2));
   private static final String LISTENER_THREAD_NAME_PREFIX = "http.listener";
 
+  static final String LISTENER_GROUP_PROPERTY_PREFIX = SYSTEM_PROPERTY_PREFIX + "http.server.listenerGroup.";
+  static final String LISTENER_GROUP_SELECTORS_PROPERTY_PREFIX = SYSTEM_PROPERTY_PREFIX + "http.server.listenerGroupSelectors.";
+  protected static final int DEFAULT_GROUP_SELECTOR_THREAD_COUNT = 2;
+
   private final SchedulerService schedulerService;
   private final SchedulerConfig schedulersConfig;
   protected Scheduler selectorScheduler;
@@ -61,6 +80,7 @@ public class HttpListenerConnectionManager implements ContextHttpServerFactory,
   protected Scheduler idleTimeoutScheduler;
   protected final HttpListenerRegistry httpListenerRegistry = new HttpListenerRegistry();
   private HttpServerManager httpServerManager;
+  private final Map<String, ListenerGroup> listenerGroups = new HashMap<>();
 
   private AtomicBoolean initialized = new AtomicBoolean(false);
 
@@ -85,6 +105,10 @@ public class HttpListenerConnectionManager implements ContextHttpServerFactory,
 
   @Override
   public synchronized void dispose() {
+    synchronized (listenerGroups) {
+      listenerGroups.values().forEach(ListenerGroup::dispose);
+      listenerGroups.clear();
+    }
     httpServerManager.dispose();
     idleTimeoutScheduler.stop();
     workerScheduler.stop();
@@ -120,6 +144,15 @@ public class HttpListenerConnectionManager implements ContextHttpServerFactory,
 
   @Override
   public HttpServer lookup(ServerIdentifier identifier) throws ServerNotFoundException {
+    String group = listenerGroupOf(identifier);
+    if (group != null) {
+      synchronized (listenerGroups) {
+        ListenerGroup listenerGroup = listenerGroups.get(group);
+        if (listenerGroup != null) {
+          return listenerGroup.track(identifier, listenerGroup.serverManager.lookupServer(identifier));
+        }
+      }
+    }
     return httpServerManager.lookupServer(identifier);
   }
 
@@ -129,15 +162,40 @@ public class HttpListenerConnectionManager implements ContextHttpServerFactory,
                                  long readTimeout)
       throws ServerCreationException {
     if (!containsServerFor(serverAddress, identifier)) {
-      return httpServerManager.createServerFor(serverAddress, schedulerSupplier, usePersistentConnections,
-                                               connectionIdleTimeout, identifier, shutdownTimeout, readTimeout);
+      String group = listenerGroupOf(identifier);
+      if (group == null) {
+        return httpServerManager.createServerFor(serverAddress, schedulerSupplier, usePersistentConnections,
+                                                 connectionIdleTimeout, identifier, shutdownTimeout, readTimeout);
+      }
+      // The group can't be disposed by the release of its last server while a new one is created in it.
+      synchronized (listenerGroups) {
+        ListenerGroup listenerGroup = listenerGroupFor(group);
+        try {
+          return listenerGroup.track(identifier, listenerGroup.serverManager
+              .createServerFor(serverAddress, schedulerSupplier, usePersistentConnections, connectionIdleTimeout, identifier,
+                               shutdownTimeout, readTimeout));
+        } finally {
+          listenerGroup.disposeIfUnused();
+        }
+      }
     } else {
       throw new ServerAlreadyExistsException(serverAddress);
     }
   }
 
   public boolean containsServerFor(ServerAddress serverAddress, ServerIdentifier identifier) {
-    return httpServerManager.containsServerFor(serverAddress, identifier);
+    if (httpServerManager.containsServerFor(serverAddress, identifier)) {
+      return true;
+    }
+    // Servers of different groups can't bind overlapping addresses either, since they all live in the same process.
+    synchronized (listenerGroups) {
+      for (ListenerGroup listenerGroup : listenerGroups.values()) {
+        if (listenerGroup.serverManager.containsServerFor(serverAddress, identifier)) {
+          return true;
+        }
+      }
+    }
+    return false;
   }
 
   public HttpServer createSslServer(ServerAddress serverAddress, TlsContextFactory tlsContext,
@@ -146,8 +204,21 @@ public class HttpListenerConnectionManager implements ContextHttpServerFactory,
                                     long readTimeout)
       throws ServerCreationException {
     if (!containsServerFor(serverAddress, identifier)) {
-      return httpServerManager.createSslServerFor(tlsContext, schedulerSupplier, serverAddress, usePersistentConnections,
-                                                  connectionIdleTimeout, identifier, shutdownTimeout, readTimeout);
+      String group = listenerGroupOf(identifier);
+      if (group == null) {
+        return httpServerManager.createSslServerFor(tlsContext, schedulerSupplier, serverAddress, usePersistentConnections,
+                                                    connectionIdleTimeout, identifier, shutdownTimeout, readTimeout);
+      }
+      synchronized (listenerGroups) {
+        ListenerGroup listenerGroup = listenerGroupFor(group);
+        try {
+          return listenerGroup.track(identifier, listenerGroup.serverManager
+              .createSslServerFor(tlsContext, schedulerSupplier, serverAddress, usePersistentConnections,
+                                  connectionIdleTimeout, identifier, shutdownTimeout, readTimeout));
+        } finally {
+          listenerGroup.disposeIfUnused();
+        }
+      }
     } else {
       throw new ServerAlreadyExistsException(serverAddress);
     }
@@ -162,10 +233,98 @@ public class HttpListenerConnectionManager implements ContextHttpServerFactory,
     }
   }
 
+  private static String listenerGroupOf(ServerIdentifier identifier) {
+    String group = getProperty(LISTENER_GROUP_PROPERTY_PREFIX + identifier.getName());
+    return group == null || group.trim().isEmpty() ? null : group.trim();
+  }
+
+  // Must be called holding the lock of listenerGroups.
+  private ListenerGroup listenerGroupFor(String group) throws ServerCreationException {
+    ListenerGroup listenerGroup = listenerGroups.get(group);
+    if (listenerGroup == null) {
+      int selectorCount = getInteger(LISTENER_GROUP_SELECTORS_PROPERTY_PREFIX + group, DEFAULT_GROUP_SELECTOR_THREAD_COUNT);
+      Scheduler groupSelectorScheduler =
+          schedulerService.customScheduler(schedulersConfig.withMaxConcurrentTasks(selectorCount)
+              .withName(LISTENER_THREAD_NAME_PREFIX + "." + group), 0);
+      try {
+        listenerGroup = new ListenerGroup(group, groupSelectorScheduler,
+                                          createGroupServerManager(groupSelectorScheduler, selectorCount));
+      } catch (MuleException e) {
+        groupSelectorScheduler.stop();
+        throw new ServerCreationException(format("Could not create the transport of listener group '%s'", group), e);
+      }
+      listenerGroups.put(group, listenerGroup);
+    }
+    return listenerGroup;
+  }
+
+  /**
+   * Creates the manager of the servers of a listener group, with its own transport.
+   *
+   * @param groupSelectorScheduler the selectors dedicated to the group
+   * @param selectorCount          the amount of selectors of the group
+   * @since 1.12
+   */
+  protected HttpServerManager createGroupServerManager(Scheduler groupSelectorScheduler, int selectorCount)
+      throws MuleException {
+    return new GrizzlyServerManager(groupSelectorScheduler, workerScheduler, idleTimeoutScheduler, httpListenerRegistry,
+                                    loadTcpServerSocketProperties(), selectorCount);
+  }
+
   /**
    * Creates the server address object with the IP and port that a server should bind to.
    */
   private ServerAddress createServerAddress(String host, int port) throws UnknownHostException {
     return new DefaultServerAddress(getLocalHostAddress(host), port);
   }
+
+  /**
+   * The transport and selectors of a listener group, along with the servers created in it, so they are disposed with the last
+   * one. Its state is guarded by the lock of {@link #listenerGroups}.
+   */
+  private class ListenerGroup {
+
+    private final String name;
+    private final Scheduler selectorScheduler;
+    private final HttpServerManager serverManager;
+    private final Set<ServerIdentifier> servers = new HashSet<>();
+
+    private ListenerGroup(String name, Scheduler selectorScheduler, HttpServerManager serverManager) {
+      this.name = name;
+      this.selectorScheduler = selectorScheduler;
+      this.serverManager = serverManager;
+    }
+
+    /**
+     * @return the given server of the group, which releases it from the group when disposed
+     */
+    private HttpServer track(ServerIdentifier identifier, HttpServer server) {
+      servers.add(identifier);
+      return new HttpServerDelegate(server) {
+
+        @Override
+        public void dispose() {
+          super.dispose();
+          synchronized (listenerGroups) {
+            // Disposing a server again, or one that was also looked up, doesn't release it twice.
+            if (servers.remove(identifier)) {
+              disposeIfUnused();
+            }
+          }
+        }
+      };
+    }
+
+    private void disposeIfUnused() {
+      if (servers.isEmpty() && listenerGroups.get(name) == this) {
+        listenerGroups.remove(name);
+        dispose();
+      }
+    }
+
+    private void dispose() {
+      serverManager.dispose();
+      selectorScheduler.stop();
+    }
+  }
 }
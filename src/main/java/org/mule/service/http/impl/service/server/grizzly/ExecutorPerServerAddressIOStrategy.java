@@ -8,7 +8,9 @@ package org.mule.service.http.impl.service.server.grizzly;
 
 import static java.lang.Thread.currentThread;
 import static java.util.EnumSet.of;
+import static org.glassfish.grizzly.IOEvent.READ;
 import static org.glassfish.grizzly.IOEvent.WRITE;
+import static org.mule.service.http.impl.service.server.grizzly.MuleSslFilter.getSslSession;
 import org.mule.runtime.api.scheduler.SchedulerBusyException;
 import org.mule.runtime.http.api.server.ServerAddress;
 import org.mule.service.http.impl.service.server.DefaultServerAddress;
@@ -17,6 +19,7 @@ import org.glassfish.grizzly.Connection;
 import org.glassfish.grizzly.Grizzly;
 import org.glassfish.grizzly.IOEvent;
 import org.glassfish.grizzly.IOEventLifeCycleListener;
+import org.glassfish.grizzly.attributes.Attribute;
 import org.glassfish.grizzly.strategies.AbstractIOStrategy;
 import org.slf4j.Logger;
 
@@ -25,6 +28,8 @@ import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.util.EnumSet;
 import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Predicate;
 
 /**
  * Grizzly IO Strategy that will handle each work to an specific {@link Executor} based on the {@link ServerAddress} of a
@@ -32,6 +37,9 @@ import java.util.concurrent.Executor;
  * <p/>
  * There's logic from {@link org.glassfish.grizzly.strategies.WorkerThreadIOStrategy} that need to be reused but unfortunately
  * that class cannot be override.
+ * <p/>
+ * Optionally, the reads of TLS connections whose handshake is not done yet are handled in a {@link TlsHandshakeExecutor}, so the
+ * selector threads don't run the handshakes themselves.
  */
 public class ExecutorPerServerAddressIOStrategy extends AbstractIOStrategy {
 
@@ -39,10 +47,29 @@ public class ExecutorPerServerAddressIOStrategy extends AbstractIOStrategy {
   public static final String DELEGATE_WRITES_IN_CONFIGURED_EXECUTOR = "__WRITES_TO_IO__";
 
   private static final Logger logger = Grizzly.logger(ExecutorPerServerAddressIOStrategy.class);
+  private static final Attribute<Boolean> TLS_CONNECTION_ATTRIBUTE =
+      Grizzly.DEFAULT_ATTRIBUTE_BUILDER.createAttribute("muleTlsConnection");
+
   private final ExecutorProvider executorProvider;
+  private final Executor handshakeExecutor;
+  private final Predicate<Connection> isTlsConnection;
 
   public ExecutorPerServerAddressIOStrategy(final ExecutorProvider executorProvider) {
+    this(executorProvider, null, connection -> false);
+  }
+
+  /**
+   * @param executorProvider  provides the executor for each server address
+   * @param handshakeExecutor the executor to handle the reads of TLS connections in until their handshake is done, or
+   *                          {@code null} to handle them in the selector threads
+   * @param isTlsConnection   tells whether a connection was accepted by a listener with TLS
+   * @since 1.12
+   */
+  public ExecutorPerServerAddressIOStrategy(final ExecutorProvider executorProvider, final Executor handshakeExecutor,
+                                            final Predicate<Connection> isTlsConnection) {
     this.executorProvider = executorProvider;
+    this.handshakeExecutor = handshakeExecutor;
+    this.isTlsConnection = isTlsConnection;
   }
 
   @Override
@@ -63,7 +90,14 @@ public class ExecutorPerServerAddressIOStrategy extends AbstractIOStrategy {
     }
 
     final Executor threadPool = getThreadPoolFor(connection, ioEvent);
-    if (threadPool != null) {
+    if (threadPool == null && mustOffloadHandshake(connection, ioEvent)) {
+      try {
+        handshakeExecutor.execute(new WorkerThreadRunnable(connection, ioEvent, listener));
+      } catch (RejectedExecutionException ex) {
+        // Too many handshakes waiting, handle this one in the current thread.
+        run0(connection, ioEvent, listener);
+      }
+    } else if (threadPool != null) {
       try {
         threadPool.execute(new WorkerThreadRunnable(connection, ioEvent, listener));
       } catch (SchedulerBusyException ex) {
@@ -89,6 +123,19 @@ public class ExecutorPerServerAddressIOStrategy extends AbstractIOStrategy {
     }
   }
 
+  private boolean mustOffloadHandshake(Connection connection, IOEvent ioEvent) {
+    if (handshakeExecutor == null || ioEvent != READ) {
+      return false;
+    }
+    Boolean tlsConnection = TLS_CONNECTION_ATTRIBUTE.get(connection);
+    if (tlsConnection == null) {
+      tlsConnection = isTlsConnection.test(connection);
+      TLS_CONNECTION_ATTRIBUTE.set(connection, tlsConnection);
+    }
+    // The session is set in the connection once the handshake is done.
+    return tlsConnection && getSslSession(connection) == null;
+  }
+
   private boolean mustSwitchThread(Connection connection, IOEvent ioEvent) {
     Object delegateToConfigured = connection.getAttributes().getAttribute(DELEGATE_WRITES_IN_CONFIGURED_EXECUTOR);
     return (delegateToConfigured instanceof Boolean) && ((Boolean) delegateToConfigured)
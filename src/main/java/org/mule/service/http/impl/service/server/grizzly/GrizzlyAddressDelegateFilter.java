@@ -119,6 +119,15 @@ public class GrizzlyAddressDelegateFilter<F extends BaseFilter> extends BaseFilt
   }
 
 
+  /**
+   * @param connection a connection accepted by a listener
+   * @return whether there is a filter for the address the connection was accepted on
+   * @since 1.12
+   */
+  public boolean hasFilterFor(Connection connection) {
+    return retrieveFilter(connection) != null;
+  }
+
   private F retrieveFilter(Connection connection) {
     final InetSocketAddress inetAddress = (InetSocketAddress) connection.getLocalAddress();
     return filters.get(inetAddress.getAddress(), inetAddress.getPort());
@@ -142,6 +151,11 @@ public class GrizzlyAddressDelegateFilter<F extends BaseFilter> extends BaseFilt
     }
   }
 
+  @Override
+  public synchronized F getFilterForAddress(ServerAddress serverAddress) {
+    return filters.get(serverAddress);
+  }
+
   @Override
   public synchronized boolean hasFilterForAddress(ServerAddress serverAddress) {
     return filters.containsKey(serverAddress);
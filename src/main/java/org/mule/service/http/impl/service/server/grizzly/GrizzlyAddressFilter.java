@@ -27,6 +27,13 @@ public interface GrizzlyAddressFilter<F extends BaseFilter> extends Filter {
    */
   void removeFilterForAddress(ServerAddress serverAddress);
 
+  /**
+   * @param serverAddress the server address to get the filter of
+   * @return the filter applied to the given server address, or {@code null} if there is none
+   * @since 1.12
+   */
+  F getFilterForAddress(ServerAddress serverAddress);
+
   /**
    * Check if ther eis a filter for the specified server address
    *
@@ -12,6 +12,7 @@ import static java.lang.System.getProperty;
 import static java.lang.System.nanoTime;
 import static java.lang.Thread.currentThread;
 import static java.util.Collections.synchronizedList;
+import static java.util.concurrent.ConcurrentHashMap.newKeySet;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static org.mule.runtime.api.util.MuleSystemProperties.MULE_LOG_SEPARATION_DISABLED;
@@ -32,9 +33,13 @@ import org.mule.runtime.http.api.server.async.HttpResponseReadyCallback;
 import org.mule.service.http.impl.service.server.HttpListenerRegistry;
 
 import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
 import java.util.function.Supplier;
 
@@ -58,7 +63,9 @@ public class GrizzlyHttpServer implements HttpServer, Supplier<ExecutorService>
   private final TCPNIOTransport transport;
   private final ServerAddress serverAddress;
   private final HttpListenerRegistry listenerRegistry;
-  private TCPNIOServerConnection serverConnection;
+  private final int acceptorSockets;
+  private final List<TCPNIOServerConnection> serverConnections = new CopyOnWriteArrayList<>();
+  private volatile OnCloseConnectionListener boundCloseListener;
   private GrizzlyAddressFilter<SSLFilter> sslFilter;
   private Supplier<Scheduler> schedulerSource;
   private Runnable schedulerDisposer;
@@ -79,6 +86,22 @@ public class GrizzlyHttpServer implements HttpServer, Supplier<ExecutorService>
                            Runnable schedulerDisposer,
                            GrizzlyAddressFilter<SSLFilter> sslFilter,
                            Supplier<Long> shutdownTimeoutSupplier) {
+    this(serverAddress, transport, listenerRegistry, schedulerSource, schedulerDisposer, sslFilter, shutdownTimeoutSupplier, 1);
+  }
+
+  /**
+   * @param acceptorSockets the amount of server sockets to bind to the address of this server. More than one requires the
+   *                        transport to open its server sockets with {@code SO_REUSEPORT}.
+   * @since 1.12
+   */
+  public GrizzlyHttpServer(ServerAddress serverAddress,
+                           TCPNIOTransport transport,
+                           HttpListenerRegistry listenerRegistry,
+                           Supplier<Scheduler> schedulerSource,
+                           Runnable schedulerDisposer,
+                           GrizzlyAddressFilter<SSLFilter> sslFilter,
+                           Supplier<Long> shutdownTimeoutSupplier,
+                           int acceptorSockets) {
     this.serverAddress = serverAddress;
     this.transport = transport;
     this.listenerRegistry = listenerRegistry;
@@ -86,20 +109,47 @@ public class GrizzlyHttpServer implements HttpServer, Supplier<ExecutorService>
     this.schedulerDisposer = schedulerDisposer;
     this.sslFilter = sslFilter;
     this.shutdownTimeoutSupplier = shutdownTimeoutSupplier;
+    this.acceptorSockets = acceptorSockets;
   }
 
   @Override
   public synchronized HttpServer start() throws IOException {
     this.scheduler = schedulerSource != null ? schedulerSource.get() : null;
-    serverConnection = transport.bind(serverAddress.getIp(), serverAddress.getPort());
     acceptedConnectionsProbe = new CountAcceptedConnectionsProbe();
-    serverConnection.getMonitoringConfig().addProbes(acceptedConnectionsProbe);
+    OnCloseConnectionListener closeListener = new OnCloseConnectionListener(scheduler, acceptedConnectionsProbe);
+    boundCloseListener = closeListener;
+    int port = serverAddress.getPort();
+    for (int i = 0; i < acceptorSockets; ++i) {
+      TCPNIOServerConnection serverConnection;
+      try {
+        serverConnection = transport.bind(serverAddress.getIp(), port);
+      } catch (IOException e) {
+        if (serverConnections.isEmpty()) {
+          throw e;
+        }
+        logger.warn("Could only bind {} of {} server sockets for '{}': {}", serverConnections.size(), acceptorSockets,
+                    listenerUrl(), e.getMessage());
+        break;
+      }
+      if (port == 0) {
+        // Binding port 0 again would get another ephemeral port, so the rest of the sockets bind the one the first got.
+        port = ((InetSocketAddress) serverConnection.getLocalAddress()).getPort();
+      }
+      serverConnection.getMonitoringConfig().addProbes(acceptedConnectionsProbe);
+      serverConnections.add(serverConnection);
+      closeListener.serverConnections.add(serverConnection);
+      serverConnection.addCloseListener(closeListener);
+    }
 
-    if (logger.isInfoEnabled()) {
+    if (acceptorSockets > 1) {
+      // Any other process of the same user can also bind this address with SO_REUSEPORT, and take a share of the connections
+      logger.info("Listening for connections on '{}' with {} server sockets bound with SO_REUSEPORT. Other processes of the "
+          + "same user binding this address with SO_REUSEPORT will share its connections instead of failing to bind.",
+                  listenerUrl(), serverConnections.size());
+    } else if (logger.isInfoEnabled()) {
       logger.info("Listening for connections on '{}'", listenerUrl());
     }
 
-    serverConnection.addCloseListener(new OnCloseConnectionListener());
     stopped = false;
     return this;
   }
@@ -115,7 +165,12 @@ public class GrizzlyHttpServer implements HttpServer, Supplier<ExecutorService>
 
     stopping = true;
     try {
-      transport.unbind(serverConnection);
+      // Cleared before unbinding, since the close callbacks may come after a new start binds other sockets
+      List<TCPNIOServerConnection> boundConnections = new ArrayList<>(serverConnections);
+      serverConnections.clear();
+      for (TCPNIOServerConnection serverConnection : boundConnections) {
+        transport.unbind(serverConnection);
+      }
 
       if (shutdownTimeout != 0) {
         synchronized (clientConnections) {
@@ -225,6 +280,24 @@ public class GrizzlyHttpServer implements HttpServer, Supplier<ExecutorService>
     sslFilter.removeFilterForAddress(getServerAddress());
   }
 
+  /**
+   * Replaces the TLS configuration of this server, such as its certificates, without rebinding it. Unlike
+   * {@link #enableTls(TlsContextFactory)}, only new handshakes use the new configuration, while the established connections
+   * carry on with theirs.
+   *
+   * @param tlsContextFactory the new TLS configuration of this server
+   * @throws IllegalStateException if TLS is not enabled for this server
+   * @since 1.12
+   */
+  public void reloadTls(TlsContextFactory tlsContextFactory) {
+    SSLFilter filter = sslFilter.getFilterForAddress(getServerAddress());
+    if (filter instanceof MuleSslFilter) {
+      ((MuleSslFilter) filter).reload(tlsContextFactory);
+    } else {
+      throw new IllegalStateException(format("TLS is not enabled for server '%s'", listenerUrl()));
+    }
+  }
+
   private String listenerUrl() {
     return format("%s://%s:%d", getProtocol().getScheme(), serverAddress.getIp(), serverAddress.getPort());
   }
@@ -250,23 +323,45 @@ public class GrizzlyHttpServer implements HttpServer, Supplier<ExecutorService>
     }
   }
 
+  /**
+   * Releases the resources of a {@link #start()} once every server socket it bound is closed.
+   */
   private class OnCloseConnectionListener implements Connection.CloseListener {
 
+    private final Set<Connection> serverConnections = newKeySet();
+    private final Scheduler boundScheduler;
+    private final CountAcceptedConnectionsProbe boundProbe;
+
+    private OnCloseConnectionListener(Scheduler boundScheduler, CountAcceptedConnectionsProbe boundProbe) {
+      this.boundScheduler = boundScheduler;
+      this.boundProbe = boundProbe;
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public void onClosed(Connection closeable, Connection.CloseType type) throws IOException {
+      closeable.removeCloseListener(this);
+      closeable.getMonitoringConfig().removeProbes(boundProbe);
+      GrizzlyHttpServer.this.serverConnections.remove(closeable);
+      serverConnections.remove(closeable);
+      // The scheduler is shared by every server socket of this server, so it is only stopped when the last one is closed
+      if (!serverConnections.isEmpty()) {
+        return;
+      }
       try {
-        if (scheduler != null) {
-          scheduler.stop();
+        if (boundScheduler != null) {
+          boundScheduler.stop();
         }
       } finally {
-        scheduler = null;
-        schedulerDisposer.run();
-        closeable.removeCloseListener(this);
-        serverConnection.getMonitoringConfig().removeProbes(acceptedConnectionsProbe);
-        acceptedConnectionsProbe = null;
+        // A new start may have happened before the sockets of the previous one were closed, its resources are kept
+        if (boundCloseListener == this) {
+          boundCloseListener = null;
+          scheduler = null;
+          schedulerDisposer.run();
+          acceptedConnectionsProbe = null;
+        }
       }
     }
   }
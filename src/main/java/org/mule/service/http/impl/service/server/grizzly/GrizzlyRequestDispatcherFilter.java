@@ -20,7 +20,8 @@ import static org.mule.runtime.http.api.HttpHeaders.Names.CONTENT_LENGTH;
 import static org.mule.runtime.http.api.HttpHeaders.Names.CONTENT_TYPE;
 import static org.mule.runtime.http.api.HttpHeaders.Names.EXPECT;
 import static org.mule.runtime.http.api.HttpHeaders.Values.CONTINUE;
-import static org.mule.service.http.impl.service.server.grizzly.MuleSslFilter.SSL_SESSION_ATTRIBUTE_KEY;
+import static org.mule.service.http.impl.service.server.grizzly.MuleSslFilter.getSslSession;
+import static org.mule.service.http.impl.service.server.grizzly.MuleSslFilter.isSecure;
 
 import org.mule.runtime.http.api.domain.entity.EmptyHttpEntity;
 import org.mule.runtime.http.api.domain.message.response.HttpResponse;
@@ -32,6 +33,7 @@ import org.mule.runtime.http.api.server.async.HttpResponseReadyCallback;
 import org.mule.runtime.http.api.server.async.ResponseStatusCallback;
 import org.mule.service.http.impl.service.server.DefaultServerAddress;
 import org.mule.service.http.impl.service.server.RequestHandlerProvider;
+import org.mule.service.http.impl.service.server.ServerAddressMap;
 
 import org.glassfish.grizzly.filterchain.BaseFilter;
 import org.glassfish.grizzly.filterchain.FilterChainContext;
@@ -50,6 +52,8 @@ import java.net.InetSocketAddress;
 import java.nio.charset.Charset;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.net.ssl.SSLSession;
@@ -65,6 +69,7 @@ public class GrizzlyRequestDispatcherFilter extends BaseFilter {
       + "or it has been disposed.").getBytes(defaultCharset());
 
   private ConcurrentMap<ServerAddress, AtomicInteger> activeRequests = new ConcurrentHashMap<>();
+  private final ServerAddressMap<Executor> handlerExecutors = new ServerAddressMap<>(new ConcurrentHashMap<>());
 
   GrizzlyRequestDispatcherFilter(final RequestHandlerProvider requestHandlerProvider) {
     this.requestHandlerProvider = requestHandlerProvider;
@@ -118,10 +123,9 @@ public class GrizzlyRequestDispatcherFilter extends BaseFilter {
 
         final GrizzlyHttpRequestAdapter httpRequest = new GrizzlyHttpRequestAdapter(ctx, httpContent, localAddress);
         DefaultHttpRequestContext requestContext =
-            createRequestContext(ctx, (ctx.getAttributes().getAttribute(HTTPS.getScheme()) == null) ? HTTP.getScheme()
-                : HTTPS.getScheme(), httpRequest);
+            createRequestContext(ctx, isSecure(ctx.getConnection()) ? HTTPS.getScheme() : HTTP.getScheme(), httpRequest);
         final RequestHandler requestHandler = requestHandlerProvider.getRequestHandler(serverAddress, httpRequest);
-        requestHandler.handleRequest(requestContext, new HttpResponseReadyCallback() {
+        final HttpResponseReadyCallback responseReadyCallback = new HttpResponseReadyCallback() {
 
           @Override
           public void responseReady(HttpResponse response, ResponseStatusCallback responseStatusCallback) {
@@ -158,7 +162,8 @@ public class GrizzlyRequestDispatcherFilter extends BaseFilter {
             responseCompletionHandler.start();
             return responseCompletionHandler.buildWriter(encoding);
           }
-        });
+        };
+        dispatch(serverAddress, serverCounter, requestHandler, requestContext, responseReadyCallback);
         return ctx.getSuspendAction();
       } else {
         return ctx.getInvokeAction();
@@ -168,10 +173,49 @@ public class GrizzlyRequestDispatcherFilter extends BaseFilter {
     }
   }
 
+  private void dispatch(ServerAddress serverAddress, AtomicInteger serverCounter, RequestHandler requestHandler,
+                        DefaultHttpRequestContext requestContext, HttpResponseReadyCallback responseReadyCallback) {
+    Executor handlerExecutor = handlerExecutors.get(serverAddress);
+    if (handlerExecutor == null) {
+      requestHandler.handleRequest(requestContext, responseReadyCallback);
+      return;
+    }
+
+    // The request is still active until the handler is done with it, which now happens after this filter returns.
+    serverCounter.incrementAndGet();
+    try {
+      handlerExecutor.execute(() -> {
+        try {
+          requestHandler.handleRequest(requestContext, responseReadyCallback);
+        } finally {
+          serverCounter.decrementAndGet();
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      serverCounter.decrementAndGet();
+      requestHandler.handleRequest(requestContext, responseReadyCallback);
+    }
+  }
+
+  /**
+   * Makes the requests to the given address be handled in the given {@link Executor} instead of the thread that parsed them, so
+   * the handler and its blocking reads of the request body don't hold a selector thread.
+   *
+   * @param serverAddress   the address of the listener
+   * @param handlerExecutor the executor to call the {@link RequestHandler} in
+   */
+  void addHandlerExecutor(ServerAddress serverAddress, Executor handlerExecutor) {
+    handlerExecutors.put(serverAddress, handlerExecutor);
+  }
+
+  void removeHandlerExecutor(ServerAddress serverAddress) {
+    handlerExecutors.remove(serverAddress);
+  }
+
   private DefaultHttpRequestContext createRequestContext(FilterChainContext ctx, String scheme,
                                                          GrizzlyHttpRequestAdapter httpRequest) {
     DefaultClientConnection clientConnection;
-    SSLSession sslSession = (SSLSession) ctx.getAttributes().getAttribute(SSL_SESSION_ATTRIBUTE_KEY);
+    SSLSession sslSession = getSslSession(ctx.getConnection());
     if (sslSession != null) {
       clientConnection = new DefaultClientConnection(sslSession, (InetSocketAddress) ctx.getConnection().getPeerAddress());
     } else {
@@ -6,6 +6,7 @@
  */
 package org.mule.service.http.impl.service.server.grizzly;
 
+import static java.lang.Boolean.TRUE;
 import static java.lang.Boolean.parseBoolean;
 import static java.lang.Integer.getInteger;
 import static java.lang.Integer.valueOf;
@@ -22,6 +23,7 @@ import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PRE
 import static org.mule.runtime.core.api.util.ClassUtils.setContextClassLoader;
 import static org.mule.service.http.impl.service.HttpMessageLogger.LoggerType.LISTENER;
 import static org.mule.service.http.impl.service.server.grizzly.MuleSslFilter.createSslFilter;
+import static org.mule.service.http.impl.util.VirtualThreads.newVirtualThreadPerTaskExecutor;
 import static org.slf4j.LoggerFactory.getLogger;
 
 import org.mule.runtime.api.exception.MuleRuntimeException;
@@ -33,16 +35,24 @@ import org.mule.runtime.http.api.server.ServerAlreadyExistsException;
 import org.mule.runtime.http.api.server.ServerCreationException;
 import org.mule.runtime.http.api.server.ServerNotFoundException;
 import org.mule.runtime.http.api.tcp.TcpServerSocketProperties;
+import org.mule.service.http.impl.config.ContainerTcpServerSocketProperties;
 import org.mule.service.http.impl.service.HttpMessageLogger;
 import org.mule.service.http.impl.service.server.HttpListenerRegistry;
 import org.mule.service.http.impl.service.server.HttpServerDelegate;
 import org.mule.service.http.impl.service.server.HttpServerManager;
 import org.mule.service.http.impl.service.server.ServerIdentifier;
+import org.mule.service.http.impl.util.TlsEngineProviders;
+import org.mule.service.http.impl.util.VirtualThreads;
 
 import java.io.IOException;
+import java.nio.channels.spi.SelectorProvider;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.function.Supplier;
 
 import org.glassfish.grizzly.filterchain.FilterChainBuilder;
@@ -91,6 +101,23 @@ public class GrizzlyServerManager implements HttpServerManager {
 
   public static final long DEFAULT_READ_TIMEOUT_MILLIS = 30000L;
 
+  // Comma separated names of the listener configs whose requests are handled in virtual threads, or '*' for all of them
+  private static final String VIRTUAL_THREADS_LISTENERS_PROPERTY =
+      SYSTEM_PROPERTY_PREFIX + "http.server.virtualThreads.listeners";
+  private static final String ALL_LISTENERS = "*";
+  private static Set<String> virtualThreadsListeners = parseVirtualThreadsListeners();
+  // Amount of requests of each of those listeners handled at the same time, the rest wait parked for their turn
+  private static final String VIRTUAL_THREADS_MAX_CONCURRENT_REQUESTS_PROPERTY =
+      SYSTEM_PROPERTY_PREFIX + "http.server.virtualThreads.maxConcurrentRequests";
+  private static final int DEFAULT_VIRTUAL_THREADS_MAX_CONCURRENT_REQUESTS = 1024;
+  private static int virtualThreadsMaxConcurrentRequests =
+      getInteger(VIRTUAL_THREADS_MAX_CONCURRENT_REQUESTS_PROPERTY, DEFAULT_VIRTUAL_THREADS_MAX_CONCURRENT_REQUESTS);
+
+  // Amount of TLS handshakes to run at the same time out of the selectors, 0 to run them in the selectors
+  private static final String TLS_HANDSHAKE_THREADS_PROPERTY = SYSTEM_PROPERTY_PREFIX + "http.server.tls.handshakeThreads";
+  private static final String TLS_HANDSHAKE_QUEUE_SIZE_PROPERTY = SYSTEM_PROPERTY_PREFIX + "http.server.tls.handshakeQueueSize";
+  private static final int DEFAULT_TLS_HANDSHAKE_QUEUE_SIZE = 1024;
+
   private final GrizzlyAddressDelegateFilter<IdleTimeoutFilter> timeoutFilterDelegate;
   protected final GrizzlyAddressDelegateFilter<SSLFilter> sslFilterDelegate;
   protected final GrizzlyAddressDelegateFilter<WebSocketFilter> webSocketFilter;
@@ -100,9 +127,15 @@ public class GrizzlyServerManager implements HttpServerManager {
   protected final HttpListenerRegistry httpListenerRegistry;
   protected final WorkManagerSourceExecutorProvider executorProvider;
   private final ExecutorService idleTimeoutExecutorService;
+  private final TlsHandshakeExecutor tlsHandshakeExecutor;
+  private final int acceptorSockets;
   private final Map<ServerAddress, HttpServer> servers = new ConcurrentHashMap<>();
   private final Map<ServerIdentifier, HttpServer> serversByIdentifier = new ConcurrentHashMap<>();
   private final Map<ServerAddress, IdleExecutor> idleExecutorPerServerAddressMap = new ConcurrentHashMap<>();
+  private final Map<ServerAddress, ExecutorService> handlerExecutorPerServerAddressMap = new ConcurrentHashMap<>();
+  private final Map<ServerAddress, TlsListenerStatistics> tlsStatisticsPerServerAddressMap = new ConcurrentHashMap<>();
+  private final Map<ServerAddress, MuleSslFilter> sslFilterPerServerAddressMap = new ConcurrentHashMap<>();
+  private final Map<ServerAddress, ScheduledFuture<?>> tlsStoreWatcherPerServerAddressMap = new ConcurrentHashMap<>();
 
   private boolean transportStarted;
   private int serverTimeout;
@@ -132,17 +165,22 @@ public class GrizzlyServerManager implements HttpServerManager {
 
     // Initialize Transport
     executorProvider = createExecutorProvider();
+    tlsHandshakeExecutor = createTlsHandshakeExecutor(workerPool);
     TCPNIOTransportBuilder transportBuilder = TCPNIOTransportBuilder.newInstance().setOptimizedForMultiplexing(true)
-        .setIOStrategy(new ExecutorPerServerAddressIOStrategy(executorProvider));
+        .setIOStrategy(new ExecutorPerServerAddressIOStrategy(executorProvider, tlsHandshakeExecutor,
+                                                              sslFilterDelegate::hasFilterFor));
 
     configureServerSocketProperties(transportBuilder, serverSocketProperties);
+    acceptorSockets = resolveAcceptorSockets(serverSocketProperties, selectorCount);
+    if (acceptorSockets > 1) {
+      transportBuilder.setSelectorProvider(new ReusePortSelectorProvider(SelectorProvider.provider()));
+    }
 
     transport = transportBuilder.build();
 
-    transport
-        .setNIOChannelDistributor(new RoundRobinConnectionDistributor(transport,
-                                                                      selectorCount >= MIN_SELECTORS_FOR_DEDICATED_ACCEPTOR,
-                                                                      true));
+    // With SO_REUSEPORT each socket of a listener is registered in a different selector, so there is no dedicated acceptor
+    boolean dedicatedAcceptor = acceptorSockets == 1 && selectorCount >= MIN_SELECTORS_FOR_DEDICATED_ACCEPTOR;
+    transport.setNIOChannelDistributor(new RoundRobinConnectionDistributor(transport, dedicatedAcceptor, true));
 
     transport.setSelectorRunnersCount(selectorCount);
     transport.setWorkerThreadPool(workerPool);
@@ -154,6 +192,41 @@ public class GrizzlyServerManager implements HttpServerManager {
     this.idleTimeoutExecutorService = idleTimeoutExecutorService;
   }
 
+  private static int resolveAcceptorSockets(TcpServerSocketProperties serverSocketProperties, int selectorCount) {
+    if (!(serverSocketProperties instanceof ContainerTcpServerSocketProperties)
+        || !TRUE.equals(((ContainerTcpServerSocketProperties) serverSocketProperties).getReusePort())) {
+      return 1;
+    }
+    if (!ReusePortSelectorProvider.isSupported()) {
+      LOGGER.warn("SO_REUSEPORT was enabled for the listeners, but it is not supported in this platform. "
+          + "A single server socket per listener will be used.");
+      return 1;
+    }
+    return selectorCount;
+  }
+
+  private static TlsHandshakeExecutor createTlsHandshakeExecutor(ExecutorService workerPool) {
+    int handshakeThreads = getInteger(TLS_HANDSHAKE_THREADS_PROPERTY, 0);
+    if (handshakeThreads <= 0) {
+      return null;
+    }
+    TlsHandshakeExecutor handshakeExecutor =
+        new TlsHandshakeExecutor(workerPool, handshakeThreads,
+                                 getInteger(TLS_HANDSHAKE_QUEUE_SIZE_PROPERTY, DEFAULT_TLS_HANDSHAKE_QUEUE_SIZE));
+    if (TlsListenerStatistics.isStatisticsEnabled()) {
+      handshakeExecutor.register();
+    }
+    return handshakeExecutor;
+  }
+
+  /**
+   * @return the executor the TLS handshakes of the listeners are offloaded to, or {@code null} if they run in the selectors.
+   * @since 1.12
+   */
+  public TlsHandshakeExecutorMXBean getTlsHandshakeExecutor() {
+    return tlsHandshakeExecutor;
+  }
+
   protected WorkManagerSourceExecutorProvider createExecutorProvider() {
     return new WorkManagerSourceExecutorProvider();
   }
@@ -250,7 +323,20 @@ public class GrizzlyServerManager implements HttpServerManager {
     startTransportIfNotStarted();
     DelayedExecutor delayedExecutor = createAndGetDelayedExecutor(serverAddress);
     addTimeoutFilter(serverAddress, usePersistentConnections, connectionIdleTimeout, delayedExecutor);
-    sslFilterDelegate.addFilterForAddress(serverAddress, createSslFilter(tlsContextFactory));
+    TlsSessionSettings sessionSettings = TlsSessionSettings.forListener(identifier.getName());
+    // Keeping the statistics takes a lookup per handshake, so they are only kept when they are exposed.
+    TlsListenerStatistics tlsStatistics = TlsListenerStatistics.isStatisticsEnabled()
+        ? new TlsListenerStatistics(identifier.getName(), sessionSettings)
+        : null;
+    MuleSslFilter sslFilter = createSslFilter(tlsContextFactory, sessionSettings,
+                                              TlsEngineProviders.forConfig(identifier.getName()), tlsStatistics);
+    sslFilterDelegate.addFilterForAddress(serverAddress, sslFilter);
+    sslFilterPerServerAddressMap.put(serverAddress, sslFilter);
+    watchTlsStoresIfNecessary(serverAddress, identifier, sslFilter);
+    if (tlsStatistics != null) {
+      tlsStatisticsPerServerAddressMap.put(serverAddress, tlsStatistics);
+      tlsStatistics.register();
+    }
     httpServerFilterDelegate
         .addFilterForAddress(serverAddress,
                              createHttpServerFilter(connectionIdleTimeout, usePersistentConnections, delayedExecutor,
@@ -273,7 +359,8 @@ public class GrizzlyServerManager implements HttpServerManager {
                                                               schedulerSupplier,
                                                               () -> executorProvider.removeExecutor(serverAddress),
                                                               sslFilterDelegate,
-                                                              shutdownTimeout),
+                                                              shutdownTimeout,
+                                                              acceptorSockets),
                                         identifier);
   }
 
@@ -316,6 +403,7 @@ public class GrizzlyServerManager implements HttpServerManager {
                                                                    Supplier<Scheduler> schedulerSupplier,
                                                                    ServerIdentifier identifier,
                                                                    Supplier<Long> shutdownTimeout) {
+    addHandlerExecutorIfNecessary(serverAddress, identifier);
     SchedulerSupplier wrappedSupplier = new SchedulerSupplier(schedulerSupplier, serverAddress, executorProvider);
     final ManagedGrizzlyHttpServer grizzlyServer = createManagedServer(wrappedSupplier, serverAddress, identifier,
                                                                        shutdownTimeout);
@@ -323,6 +411,69 @@ public class GrizzlyServerManager implements HttpServerManager {
     return grizzlyServer;
   }
 
+  private void addHandlerExecutorIfNecessary(ServerAddress serverAddress, ServerIdentifier identifier) {
+    if (!virtualThreadsListeners.contains(ALL_LISTENERS) && !virtualThreadsListeners.contains(identifier.getName())) {
+      return;
+    }
+    if (!VirtualThreads.isSupported()) {
+      LOGGER.warn("Virtual threads were enabled for listener '{}' through '{}', but are not supported by this JVM.",
+                  identifier.getName(), VIRTUAL_THREADS_LISTENERS_PROPERTY);
+      return;
+    }
+
+    // Requests the executor rejects, as the ones arriving while it is shut down, are handled in the current thread.
+    ExecutorService handlerExecutor = newVirtualThreadPerTaskExecutor("http.listener." + identifier.getName() + ".handler.",
+                                                                      virtualThreadsMaxConcurrentRequests);
+    handlerExecutorPerServerAddressMap.put(serverAddress, handlerExecutor);
+    requestHandlerFilter.addHandlerExecutor(serverAddress, handlerExecutor);
+  }
+
+  private void watchTlsStoresIfNecessary(ServerAddress serverAddress, ServerIdentifier identifier, MuleSslFilter sslFilter) {
+    long checkInterval = TlsStoreWatcher.getCheckIntervalMillis();
+    if (checkInterval <= 0) {
+      return;
+    }
+    if (!(idleTimeoutExecutorService instanceof ScheduledExecutorService)) {
+      LOGGER.warn("TLS stores of listener '{}' can't be watched for changes, no scheduler available.", identifier.getName());
+      return;
+    }
+
+    // Scheduled even without stores to watch, since the configuration may be reloaded with some.
+    TlsStoreWatcher watcher = new TlsStoreWatcher(identifier.getName(), sslFilter);
+    tlsStoreWatcherPerServerAddressMap.put(serverAddress, ((ScheduledExecutorService) idleTimeoutExecutorService)
+        .scheduleWithFixedDelay(watcher, checkInterval, checkInterval, MILLISECONDS));
+  }
+
+  private static Set<String> parseVirtualThreadsListeners() {
+    Set<String> listeners = new HashSet<>();
+    String property = getProperty(VIRTUAL_THREADS_LISTENERS_PROPERTY, "");
+    for (String listener : property.split(",")) {
+      if (!listener.trim().isEmpty()) {
+        listeners.add(listener.trim());
+      }
+    }
+    return listeners;
+  }
+
+  /**
+   * @param serverAddress the address of a listener
+   * @return the TLS handshake statistics of the listener, or {@code null} if it was not created with TLS or the statistics are
+   *         not enabled
+   * @since 1.12
+   */
+  public TlsListenerStatisticsMXBean getTlsStatistics(ServerAddress serverAddress) {
+    return tlsStatisticsPerServerAddressMap.get(serverAddress);
+  }
+
+  /**
+   * @param serverAddress the address of a listener
+   * @return the executor the requests of the listener are handled in, or {@code null} if they are handled in the thread that
+   *         parsed them
+   */
+  ExecutorService getHandlerExecutor(ServerAddress serverAddress) {
+    return handlerExecutorPerServerAddressMap.get(serverAddress);
+  }
+
   @Override
   public HttpServer lookupServer(ServerIdentifier identifier) throws ServerNotFoundException {
     HttpServer httpServer = serversByIdentifier.get(identifier);
@@ -340,6 +491,17 @@ public class GrizzlyServerManager implements HttpServerManager {
       servers.clear();
       serversByIdentifier.clear();
     }
+    handlerExecutorPerServerAddressMap.values().forEach(ExecutorService::shutdown);
+    handlerExecutorPerServerAddressMap.clear();
+    tlsStatisticsPerServerAddressMap.values().forEach(TlsListenerStatistics::unregister);
+    tlsStatisticsPerServerAddressMap.clear();
+    tlsStoreWatcherPerServerAddressMap.values().forEach(watcher -> watcher.cancel(false));
+    tlsStoreWatcherPerServerAddressMap.clear();
+    sslFilterPerServerAddressMap.values().forEach(MuleSslFilter::releaseSslContext);
+    sslFilterPerServerAddressMap.clear();
+    if (tlsHandshakeExecutor != null) {
+      tlsHandshakeExecutor.unregister();
+    }
   }
 
   private void addTimeoutFilter(ServerAddress serverAddress, boolean usePersistentConnections, int connectionIdleTimeout,
@@ -403,6 +565,9 @@ public class GrizzlyServerManager implements HttpServerManager {
   public static void refreshSystemProperties() {
     MAX_SERVER_REQUEST_HEADERS = getInteger(MAX_SERVER_REQUEST_HEADERS_KEY, MAX_NUM_HEADERS_DEFAULT);
     MAX_SERVER_RESPONSE_HEADERS = getInteger(MAX_SERVER_RESPONSE_HEADERS_KEY, MAX_NUM_HEADERS_DEFAULT);
+    virtualThreadsListeners = parseVirtualThreadsListeners();
+    virtualThreadsMaxConcurrentRequests =
+        getInteger(VIRTUAL_THREADS_MAX_CONCURRENT_REQUESTS_PROPERTY, DEFAULT_VIRTUAL_THREADS_MAX_CONCURRENT_REQUESTS);
   }
 
   /**
@@ -454,6 +619,23 @@ public class GrizzlyServerManager implements HttpServerManager {
       timeoutFilterDelegate.removeFilterForAddress(serverAddress);
       idleExecutorPerServerAddressMap.get(serverAddress).dispose();
       idleExecutorPerServerAddressMap.remove(serverAddress);
+      requestHandlerFilter.removeHandlerExecutor(serverAddress);
+      ExecutorService handlerExecutor = handlerExecutorPerServerAddressMap.remove(serverAddress);
+      if (handlerExecutor != null) {
+        handlerExecutor.shutdown();
+      }
+      TlsListenerStatistics tlsStatistics = tlsStatisticsPerServerAddressMap.remove(serverAddress);
+      if (tlsStatistics != null) {
+        tlsStatistics.unregister();
+      }
+      ScheduledFuture<?> tlsStoreWatcher = tlsStoreWatcherPerServerAddressMap.remove(serverAddress);
+      if (tlsStoreWatcher != null) {
+        tlsStoreWatcher.cancel(false);
+      }
+      MuleSslFilter sslFilter = sslFilterPerServerAddressMap.remove(serverAddress);
+      if (sslFilter != null) {
+        sslFilter.releaseSslContext();
+      }
     }
   }
 
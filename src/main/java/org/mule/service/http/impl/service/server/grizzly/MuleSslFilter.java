@@ -6,14 +6,18 @@
  */
 package org.mule.service.http.impl.service.server.grizzly;
 
-import static org.mule.runtime.http.api.HttpConstants.Protocol.HTTPS;
+import static javax.net.ssl.SSLEngineResult.HandshakeStatus.NOT_HANDSHAKING;
 
 import java.io.IOException;
 
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLEngine;
 import javax.net.ssl.SSLHandshakeException;
-import javax.net.ssl.SSLPeerUnverifiedException;
 import javax.net.ssl.SSLSession;
 
+import org.glassfish.grizzly.Connection;
+import org.glassfish.grizzly.Grizzly;
+import org.glassfish.grizzly.attributes.Attribute;
 import org.glassfish.grizzly.filterchain.FilterChainContext;
 import org.glassfish.grizzly.filterchain.NextAction;
 import org.glassfish.grizzly.ssl.SSLConnectionContext;
@@ -21,27 +25,63 @@ import org.glassfish.grizzly.ssl.SSLEngineConfigurator;
 import org.glassfish.grizzly.ssl.SSLFilter;
 import org.mule.runtime.api.exception.MuleRuntimeException;
 import org.mule.runtime.api.tls.TlsContextFactory;
+import org.mule.service.http.impl.util.SharedSslContexts;
+import org.mule.service.http.impl.util.TlsEngineProvider;
+import org.mule.service.http.impl.util.TlsEngineProviders;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Custom SSL filter that configures additional properties in the grizzly context.
+ * Custom SSL filter that keeps the TLS details of each connection in its attributes.
+ * <p>
+ * The {@link SSLSession} is stored in the connection once its handshake completes, and only replaced when it is renegotiated,
+ * so reading the body of a request doesn't need to look it up again on every chunk.
  */
 public class MuleSslFilter extends SSLFilter {
 
   public static final String SSL_SESSION_ATTRIBUTE_KEY = "muleSslSession";
+  private static final String SECURE_ATTRIBUTE_KEY = "muleSecure";
   private static final Logger logger = LoggerFactory.getLogger(MuleSslFilter.class);
 
+  private static final Attribute<SSLSession> SSL_SESSION_ATTRIBUTE =
+      Grizzly.DEFAULT_ATTRIBUTE_BUILDER.createAttribute(SSL_SESSION_ATTRIBUTE_KEY);
+  private static final Attribute<Boolean> SECURE_ATTRIBUTE =
+      Grizzly.DEFAULT_ATTRIBUTE_BUILDER.createAttribute(SECURE_ATTRIBUTE_KEY);
+
+  private final ReloadableSslEngineConfigurator serverConfigurator;
+  private final TlsSessionSettings sessionSettings;
+  private final TlsEngineProvider engineProvider;
+  private SSLContext sharedSslContext;
+  private volatile TlsContextFactory tlsContextFactory;
+
   public MuleSslFilter(SSLEngineConfigurator serverSSLEngineConfigurator, SSLEngineConfigurator clientSSLEngineConfigurator) {
+    this(new ReloadableSslEngineConfigurator(serverSSLEngineConfigurator), clientSSLEngineConfigurator,
+         TlsSessionSettings.forListener(null), TlsEngineProviders.forConfig(null));
+  }
+
+  private MuleSslFilter(ReloadableSslEngineConfigurator serverSSLEngineConfigurator,
+                        SSLEngineConfigurator clientSSLEngineConfigurator,
+                        TlsSessionSettings sessionSettings,
+                        TlsEngineProvider engineProvider) {
     super(serverSSLEngineConfigurator, clientSSLEngineConfigurator);
+    this.serverConfigurator = serverSSLEngineConfigurator;
+    this.sessionSettings = sessionSettings;
+    this.engineProvider = engineProvider;
+    addHandshakeListener(new SessionCachingHandshakeListener());
   }
 
   @Override
   public NextAction handleRead(FilterChainContext ctx) throws IOException {
     try {
-      ctx.getAttributes().setAttribute(HTTPS.getScheme(), true);
+      Connection connection = ctx.getConnection();
+      if (!SECURE_ATTRIBUTE.isSet(connection)) {
+        SECURE_ATTRIBUTE.set(connection, true);
+      }
       NextAction nextAction = super.handleRead(ctx);
-      ctx.getAttributes().setAttribute(SSL_SESSION_ATTRIBUTE_KEY, getSslSession(ctx));
+      if (!SSL_SESSION_ATTRIBUTE.isSet(connection)) {
+        // In case the handshake listener wasn't notified, the session is taken once the handshake is done.
+        cacheSslSession(connection, false);
+      }
       return nextAction;
     } catch (SSLHandshakeException e) {
       logger.error("SSL handshake error: " + e.getMessage());
@@ -49,31 +89,179 @@ public class MuleSslFilter extends SSLFilter {
     }
   }
 
-  private SSLSession getSslSession(FilterChainContext ctx) throws SSLPeerUnverifiedException {
-    SSLConnectionContext sslConnectionContext = obtainSslConnectionContext(ctx.getConnection());
+  private void cacheSslSession(Connection connection, boolean handshakeCompleted) {
+    SSLConnectionContext sslConnectionContext = obtainSslConnectionContext(connection);
     if (sslConnectionContext == null) {
-      return null;
+      return;
     }
-    return sslConnectionContext.getSslEngine().getSession();
+    SSLEngine sslEngine = sslConnectionContext.getSslEngine();
+    if (handshakeCompleted || sslEngine.getHandshakeStatus() == NOT_HANDSHAKING) {
+      SSL_SESSION_ATTRIBUTE.set(connection, sslEngine.getSession());
+    }
+  }
+
+  /**
+   * @param connection a connection of a listener
+   * @return whether the connection went through a {@link MuleSslFilter}, that is, if it uses TLS.
+   * @since 1.12
+   */
+  public static boolean isSecure(Connection connection) {
+    return SECURE_ATTRIBUTE.isSet(connection);
+  }
+
+  /**
+   * @param connection a connection of a listener
+   * @return the TLS session of the connection, or {@code null} if it doesn't use TLS or its handshake is not done yet.
+   * @since 1.12
+   */
+  public static SSLSession getSslSession(Connection connection) {
+    return SSL_SESSION_ATTRIBUTE.get(connection);
   }
 
   protected static MuleSslFilter createSslFilter(final TlsContextFactory tlsContextFactory) {
+    return createSslFilter(tlsContextFactory, TlsSessionSettings.forListener(null), TlsEngineProviders.forConfig(null), null);
+  }
+
+  /**
+   * @param tlsContextFactory the TLS configuration of the listener
+   * @param sessionSettings   the settings to apply to the session cache of the listener
+   * @param engineProvider    the provider of the TLS engines of the listener
+   * @param statistics        the statistics to update on every handshake, or {@code null}
+   * @return a filter for a listener with the given configuration
+   * @since 1.12
+   */
+  protected static MuleSslFilter createSslFilter(final TlsContextFactory tlsContextFactory,
+                                                 final TlsSessionSettings sessionSettings,
+                                                 final TlsEngineProvider engineProvider,
+                                                 final TlsListenerStatistics statistics) {
     try {
-      boolean clientAuth = tlsContextFactory.isTrustStoreConfigured();
-      final SSLEngineConfigurator serverConfig =
-          new SSLEngineConfigurator(tlsContextFactory.createSslContext(), false, clientAuth, false);
-      final String[] enabledProtocols = tlsContextFactory.getEnabledProtocols();
-      if (enabledProtocols != null) {
-        serverConfig.setEnabledProtocols(enabledProtocols);
+      final boolean shareSslContext = SharedSslContexts.isEnabled();
+      final SSLContext sslContext = createSslContext(tlsContextFactory, sessionSettings, engineProvider, shareSslContext);
+      final SSLEngineConfigurator serverConfig = createServerConfigurator(tlsContextFactory, sslContext);
+      final SSLEngineConfigurator clientConfig = serverConfig.copy().setClientMode(true);
+      final MuleSslFilter sslFilter =
+          new MuleSslFilter(new ReloadableSslEngineConfigurator(serverConfig), clientConfig, sessionSettings, engineProvider);
+      if (shareSslContext) {
+        sslFilter.sharedSslContext = sslContext;
       }
-      final String[] enabledCipherSuites = tlsContextFactory.getEnabledCipherSuites();
-      if (enabledCipherSuites != null) {
-        serverConfig.setEnabledCipherSuites(enabledCipherSuites);
+      sslFilter.tlsContextFactory = tlsContextFactory;
+      if (statistics != null) {
+        sslFilter.addHandshakeListener(statistics.newHandshakeListener());
+      }
+      return sslFilter;
+    } catch (Exception e) {
+      throw new MuleRuntimeException(e);
+    }
+  }
+
+  private static SSLContext createSslContext(TlsContextFactory tlsContextFactory, TlsSessionSettings sessionSettings,
+                                             TlsEngineProvider engineProvider, boolean shareSslContext)
+      throws Exception {
+    final SSLContext sslContext = shareSslContext
+        ? SharedSslContexts.acquire(tlsContextFactory, engineProvider, sessionSettings.cacheKey())
+        : engineProvider.createSslContext(tlsContextFactory);
+    sessionSettings.apply(sslContext);
+    return sslContext;
+  }
+
+  private static SSLEngineConfigurator createServerConfigurator(TlsContextFactory tlsContextFactory, SSLContext sslContext) {
+    boolean clientAuth = tlsContextFactory.isTrustStoreConfigured();
+    final SSLEngineConfigurator serverConfig = new SSLEngineConfigurator(sslContext, false, clientAuth, false);
+    final String[] enabledProtocols = tlsContextFactory.getEnabledProtocols();
+    if (enabledProtocols != null) {
+      serverConfig.setEnabledProtocols(enabledProtocols);
+    }
+    final String[] enabledCipherSuites = tlsContextFactory.getEnabledCipherSuites();
+    if (enabledCipherSuites != null) {
+      serverConfig.setEnabledCipherSuites(enabledCipherSuites);
+    }
+    return serverConfig;
+  }
+
+  /**
+   * Replaces the TLS configuration the new handshakes of the listener are done with, such as its certificates. The established
+   * connections keep the configuration their handshake was done with, so they are not dropped.
+   *
+   * @param tlsContextFactory the new TLS configuration of the listener
+   * @since 1.12
+   */
+  public synchronized void reload(TlsContextFactory tlsContextFactory) {
+    doReload(tlsContextFactory);
+    this.tlsContextFactory = tlsContextFactory;
+  }
+
+  /**
+   * Reloads the stores of the current TLS configuration of the listener, unless it was {@link #reload replaced} in the meantime.
+   *
+   * @param expected       the configuration the stores were read again for
+   * @param rereadInstance a new instance of that configuration, with its stores read again
+   * @return whether the listener was reloaded
+   */
+  synchronized boolean reloadStores(TlsContextFactory expected, TlsContextFactory rereadInstance) {
+    if (tlsContextFactory != expected) {
+      return false;
+    }
+    doReload(rereadInstance);
+    return true;
+  }
+
+  private void doReload(TlsContextFactory tlsContextFactory) {
+    try {
+      final boolean shareSslContext = SharedSslContexts.isEnabled();
+      final SSLContext sslContext = createSslContext(tlsContextFactory, sessionSettings, engineProvider, shareSslContext);
+      serverConfigurator.reload(createServerConfigurator(tlsContextFactory, sslContext));
+      releaseSslContext();
+      if (shareSslContext) {
+        sharedSslContext = sslContext;
       }
-      final SSLEngineConfigurator clientConfig = serverConfig.copy().setClientMode(true);
-      return new MuleSslFilter(serverConfig, clientConfig);
     } catch (Exception e) {
       throw new MuleRuntimeException(e);
     }
   }
+
+  /**
+   * @return the TLS configuration of the listener, as last set when it was created or {@link #reload reloaded}.
+   */
+  TlsContextFactory getTlsContextFactory() {
+    return tlsContextFactory;
+  }
+
+  /**
+   * @return the configurator the engines of the new handshakes are currently created with.
+   * @since 1.12
+   */
+  SSLEngineConfigurator getServerConfigurator() {
+    return serverConfigurator.getCurrent();
+  }
+
+  /**
+   * Releases the {@link SharedSslContexts shared context} this filter was created with, if any. To be called once the listener
+   * that uses it is disposed.
+   *
+   * @since 1.12
+   */
+  synchronized void releaseSslContext() {
+    if (sharedSslContext != null) {
+      SharedSslContexts.release(sharedSslContext);
+      sharedSslContext = null;
+    }
+  }
+
+  private class SessionCachingHandshakeListener implements HandshakeListener {
+
+    @Override
+    public void onStart(Connection connection) {
+      // Nothing to do, the previous session is kept until the new one is established
+    }
+
+    @Override
+    public void onComplete(Connection connection) {
+      cacheSslSession(connection, true);
+    }
+
+    // Not annotated with @Override since it is not present in every Grizzly version.
+    public void onFailure(Connection connection, Throwable t) {
+      // Nothing to do
+    }
+  }
 }
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.service.http.impl.service.server.grizzly;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLEngine;
+
+import org.glassfish.grizzly.ssl.SSLEngineConfigurator;
+
+/**
+ * An {@link SSLEngineConfigurator} that creates its engines with another one, which can be replaced at any time. Since the
+ * engine of a connection is created when its handshake starts, replacing it only affects new handshakes, while the established
+ * connections keep their engine and session.
+ *
+ * @since 1.12
+ */
+class ReloadableSslEngineConfigurator extends SSLEngineConfigurator {
+
+  private volatile SSLEngineConfigurator current;
+
+  ReloadableSslEngineConfigurator(SSLEngineConfigurator initial) {
+    super(initial);
+    this.current = initial;
+  }
+
+  /**
+   * @param configurator the configurator to create the engines of the new handshakes with
+   */
+  void reload(SSLEngineConfigurator configurator) {
+    this.current = configurator;
+  }
+
+  SSLEngineConfigurator getCurrent() {
+    return current;
+  }
+
+  @Override
+  public SSLEngine createSSLEngine() {
+    return current.createSSLEngine();
+  }
+
+  @Override
+  public SSLEngine createSSLEngine(String peerHost, int peerPort) {
+    return current.createSSLEngine(peerHost, peerPort);
+  }
+
+  @Override
+  public SSLContext getSslContext() {
+    return current.getSslContext();
+  }
+
+  @Override
+  public SSLEngineConfigurator copy() {
+    return current.copy();
+  }
+}
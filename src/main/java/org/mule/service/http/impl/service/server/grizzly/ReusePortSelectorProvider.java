@@ -0,0 +1,108 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.service.http.impl.service.server.grizzly;
+
+import static java.lang.System.getProperty;
+import static java.util.Locale.ROOT;
+
+import java.io.IOException;
+import java.net.ProtocolFamily;
+import java.net.SocketOption;
+import java.net.StandardSocketOptions;
+import java.nio.channels.Channel;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.Pipe;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.channels.spi.AbstractSelector;
+import java.nio.channels.spi.SelectorProvider;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link SelectorProvider} that enables {@code SO_REUSEPORT} on the server sockets it opens, so several of them can be bound to
+ * the same address and the kernel balances the accepted connections among them.
+ * <p>
+ * The kernel lets any other socket of the same user with the option set bind the same address too, so another process
+ * listening on the port of a listener doesn't fail to bind but silently gets part of its connections.
+ * <p>
+ * Every channel and selector is still opened by the default provider, so they can be registered with each other as usual. The
+ * option is looked up reflectively, since it is only available from JDK 9.
+ *
+ * @since 1.12
+ */
+class ReusePortSelectorProvider extends SelectorProvider {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ReusePortSelectorProvider.class);
+
+  private static final SocketOption<Boolean> SO_REUSEPORT = lookupReusePort();
+
+  private final SelectorProvider delegate;
+
+  ReusePortSelectorProvider(SelectorProvider delegate) {
+    this.delegate = delegate;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static SocketOption<Boolean> lookupReusePort() {
+    try {
+      return (SocketOption<Boolean>) StandardSocketOptions.class.getField("SO_REUSEPORT").get(null);
+    } catch (ReflectiveOperationException e) {
+      return null;
+    }
+  }
+
+  /**
+   * @return whether the JVM and the OS support balancing the accepted connections among sockets bound with
+   *         {@code SO_REUSEPORT}. Other OSes accept the option, but don't balance the connections.
+   */
+  static boolean isSupported() {
+    return SO_REUSEPORT != null && getProperty("os.name", "").toLowerCase(ROOT).contains("linux");
+  }
+
+  @Override
+  public ServerSocketChannel openServerSocketChannel() throws IOException {
+    ServerSocketChannel channel = delegate.openServerSocketChannel();
+    if (SO_REUSEPORT != null && channel.supportedOptions().contains(SO_REUSEPORT)) {
+      channel.setOption(SO_REUSEPORT, true);
+    } else {
+      LOGGER.warn("SO_REUSEPORT is not supported for the server sockets of the listeners");
+    }
+    return channel;
+  }
+
+  @Override
+  public DatagramChannel openDatagramChannel() throws IOException {
+    return delegate.openDatagramChannel();
+  }
+
+  @Override
+  public DatagramChannel openDatagramChannel(ProtocolFamily family) throws IOException {
+    return delegate.openDatagramChannel(family);
+  }
+
+  @Override
+  public Pipe openPipe() throws IOException {
+    return delegate.openPipe();
+  }
+
+  @Override
+  public AbstractSelector openSelector() throws IOException {
+    return delegate.openSelector();
+  }
+
+  @Override
+  public SocketChannel openSocketChannel() throws IOException {
+    return delegate.openSocketChannel();
+  }
+
+  @Override
+  public Channel inheritedChannel() throws IOException {
+    return delegate.inheritedChannel();
+  }
+}
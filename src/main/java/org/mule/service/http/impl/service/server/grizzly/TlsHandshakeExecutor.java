@@ -0,0 +1,138 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.service.http.impl.service.server.grizzly;
+
+import static java.lang.management.ManagementFactory.getPlatformMBeanServer;
+
+import org.mule.service.http.impl.util.BoundedQueueExecutor;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.ObjectName;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs the steps of the TLS handshakes of the listeners (reading the handshake messages, the delegated tasks of the
+ * {@link javax.net.ssl.SSLEngine} such as key exchange and certificate validation, and writing the responses) out of the
+ * selector threads, so a burst of new TLS connections doesn't delay the requests of the established ones.
+ * <p>
+ * Handshakes don't get threads of their own: they run in the worker pool of the listeners, the same pool requests are handled
+ * in, and this executor only caps how many of its threads handshakes take at the same time, with a bounded queue for the rest.
+ * When the queue is full the step is rejected, and is expected to be run in the selector thread as before.
+ * <p>
+ * The steps are queued and run through a {@link BoundedQueueExecutor}. If the pool rejects one when it is handed to it, it is
+ * run in the calling thread.
+ *
+ * @since 1.12
+ */
+public class TlsHandshakeExecutor implements Executor, TlsHandshakeExecutorMXBean {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(TlsHandshakeExecutor.class);
+
+  private static final String OBJECT_NAME = "org.mule.service.http:type=HttpListenerTlsHandshakes";
+
+  private final BoundedQueueExecutor handshakes;
+  private final LongAdder offloaded = new LongAdder();
+  private final LongAdder rejected = new LongAdder();
+
+  private ObjectName objectName;
+
+  /**
+   * @param delegate                the executor to run the handshakes in
+   * @param maxConcurrentHandshakes the maximum amount of handshake steps running at the same time
+   * @param maxQueuedHandshakes     the maximum amount of handshake steps waiting to run
+   */
+  public TlsHandshakeExecutor(Executor delegate, int maxConcurrentHandshakes, int maxQueuedHandshakes) {
+    // The handshake step can't be lost, so if the workers reject it, it is run in the current thread as if it had not been
+    // offloaded.
+    this.handshakes = new BoundedQueueExecutor("TLS handshakes", delegate, maxConcurrentHandshakes, maxQueuedHandshakes, true);
+  }
+
+  @Override
+  public void execute(Runnable command) {
+    try {
+      handshakes.execute(command);
+    } catch (RejectedExecutionException e) {
+      rejected.increment();
+      throw e;
+    }
+    offloaded.increment();
+  }
+
+  /**
+   * Registers these metrics in the platform {@link javax.management.MBeanServer}. If another executor is already registered, as
+   * the one of another listener group, a numeric suffix is added to the name.
+   */
+  public synchronized void register() {
+    try {
+      ObjectName candidate = new ObjectName(OBJECT_NAME);
+      int suffix = 1;
+      while (objectName == null) {
+        try {
+          getPlatformMBeanServer().registerMBean(this, candidate);
+          objectName = candidate;
+        } catch (InstanceAlreadyExistsException e) {
+          candidate = new ObjectName(OBJECT_NAME + ",id=" + suffix++);
+        }
+      }
+    } catch (Exception e) {
+      LOGGER.warn("Could not register the TLS handshake metrics in JMX: {}", e.getMessage());
+    }
+  }
+
+  public synchronized void unregister() {
+    if (objectName != null) {
+      try {
+        getPlatformMBeanServer().unregisterMBean(objectName);
+      } catch (Exception e) {
+        LOGGER.debug("Could not unregister the TLS handshake metrics from JMX", e);
+      } finally {
+        objectName = null;
+      }
+    }
+  }
+
+  @Override
+  public int getMaxConcurrentHandshakes() {
+    return handshakes.getMaxConcurrentTasks();
+  }
+
+  @Override
+  public int getMaxQueuedHandshakes() {
+    return handshakes.getMaxQueuedTasks();
+  }
+
+  @Override
+  public int getRunningHandshakes() {
+    return handshakes.getRunningTasks();
+  }
+
+  @Override
+  public int getQueuedHandshakes() {
+    return handshakes.getQueuedTasks();
+  }
+
+  @Override
+  public int getPeakQueuedHandshakes() {
+    return handshakes.getPeakQueuedTasks();
+  }
+
+  @Override
+  public long getOffloadedHandshakes() {
+    return offloaded.sum();
+  }
+
+  @Override
+  public long getRejectedHandshakes() {
+    return rejected.sum();
+  }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.service.http.impl.service.server.grizzly;
+
+/**
+ * JMX view of the executor that runs the TLS handshakes of the listeners.
+ *
+ * @since 1.12
+ */
+public interface TlsHandshakeExecutorMXBean {
+
+  int getMaxConcurrentHandshakes();
+
+  int getMaxQueuedHandshakes();
+
+  int getRunningHandshakes();
+
+  int getQueuedHandshakes();
+
+  /**
+   * @return the largest amount of handshake steps that were waiting to run at the same time.
+   */
+  int getPeakQueuedHandshakes();
+
+  long getOffloadedHandshakes();
+
+  /**
+   * @return the amount of handshake steps that found the queue full and were run in the selector thread instead.
+   */
+  long getRejectedHandshakes();
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.service.http.impl.service.server.grizzly;
+
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+
+import static java.lang.Boolean.TRUE;
+import static java.lang.Boolean.getBoolean;
+import static java.lang.management.ManagementFactory.getPlatformMBeanServer;
+import static java.util.Base64.getEncoder;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static javax.management.ObjectName.quote;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLSession;
+
+import org.glassfish.grizzly.Connection;
+import org.glassfish.grizzly.ssl.SSLBaseFilter.HandshakeListener;
+import org.glassfish.grizzly.ssl.SSLUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Counts the full and resumed TLS handshakes of a listener, so the effect of its {@link TlsSessionSettings session cache
+ * settings} can be measured. A handshake is considered resumed when it ends up with a session an earlier handshake of the
+ * listener already established, either the same session or one with the same ID. The IDs are kept for as long as the session
+ * cache of the listener would keep the sessions they identify.
+ * <p>
+ * Resumption is detected this way only for TLS 1.2 and earlier with stateful session caches. With TLS 1.3, and with stateless
+ * session tickets in general, a resumed handshake ends up with a new session with a new ID, so it is counted as a full one.
+ * <p>
+ * The statistics are only kept, and exposed through JMX, when the {@code mule.http.server.tls.statistics.enable} system
+ * property is set.
+ *
+ * @since 1.12
+ */
+public class TlsListenerStatistics implements TlsListenerStatisticsMXBean {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(TlsListenerStatistics.class);
+
+  public static final String ENABLE_STATISTICS_PROPERTY_NAME = SYSTEM_PROPERTY_PREFIX + "http.server.tls.statistics.enable";
+  private static final String OBJECT_NAME_PREFIX = "org.mule.service.http:type=HttpListenerTls,name=";
+  // The defaults of the server session cache of the JVM.
+  private static final int DEFAULT_SESSION_CACHE_SIZE = 20480;
+  private static final int DEFAULT_SESSION_TIMEOUT_SECONDS = 86400;
+
+  private final String listenerName;
+  private final TlsSessionSettings sessionSettings;
+
+  private final LongAdder fullHandshakes = new LongAdder();
+  private final LongAdder resumedHandshakes = new LongAdder();
+  private final LongAdder failedHandshakes = new LongAdder();
+
+  // Sessions are compared by identity, and only weakly referenced so the ones evicted from the session cache can be collected.
+  private final Cache<SSLSession, Boolean> seenSessions = Caffeine.newBuilder().weakKeys().build();
+  private final Cache<String, Boolean> seenSessionIds;
+
+  private ObjectName objectName;
+
+  TlsListenerStatistics(String listenerName, TlsSessionSettings sessionSettings) {
+    this.listenerName = listenerName;
+    this.sessionSettings = sessionSettings;
+    int sessionCacheSize = sessionSettings.getSessionCacheSize();
+    int sessionTimeoutSeconds = sessionSettings.getSessionTimeoutSeconds();
+    this.seenSessionIds = Caffeine.newBuilder()
+        .maximumSize(sessionCacheSize > 0 ? sessionCacheSize : DEFAULT_SESSION_CACHE_SIZE)
+        .expireAfterWrite(sessionTimeoutSeconds > 0 ? sessionTimeoutSeconds : DEFAULT_SESSION_TIMEOUT_SECONDS, SECONDS)
+        .build();
+  }
+
+  /**
+   * @return whether the statistics have to be kept and exposed through JMX.
+   */
+  public static boolean isStatisticsEnabled() {
+    return getBoolean(ENABLE_STATISTICS_PROPERTY_NAME);
+  }
+
+  /**
+   * @return a listener to add to the {@link MuleSslFilter} of the listener, which updates these statistics.
+   */
+  HandshakeListener newHandshakeListener() {
+    return new StatisticsHandshakeListener();
+  }
+
+  /**
+   * Counts a completed handshake as resumed if the session it ended up with was already seen.
+   *
+   * @param session the session of the engine once its handshake completed
+   */
+  void onHandshakeCompleted(SSLSession session) {
+    byte[] id = session.getId();
+    String sessionId = id != null && id.length > 0 ? getEncoder().encodeToString(id) : null;
+
+    boolean resumed = seenSessions.getIfPresent(session) != null
+        || (sessionId != null && seenSessionIds.getIfPresent(sessionId) != null);
+    seenSessions.put(session, TRUE);
+    if (sessionId != null) {
+      seenSessionIds.put(sessionId, TRUE);
+    }
+    onHandshakeCompleted(resumed);
+  }
+
+  void onHandshakeCompleted(boolean resumed) {
+    if (resumed) {
+      resumedHandshakes.increment();
+    } else {
+      fullHandshakes.increment();
+    }
+  }
+
+  void onHandshakeFailed() {
+    failedHandshakes.increment();
+  }
+
+  /**
+   * Registers these statistics in the platform {@link MBeanServer}. If another listener with the same name is already
+   * registered, a numeric suffix is added to the name.
+   */
+  public synchronized void register() {
+    MBeanServer mBeanServer = getPlatformMBeanServer();
+    String baseName = OBJECT_NAME_PREFIX + quote(String.valueOf(listenerName));
+    try {
+      ObjectName candidate = new ObjectName(baseName);
+      int suffix = 1;
+      while (objectName == null) {
+        try {
+          mBeanServer.registerMBean(this, candidate);
+          objectName = candidate;
+        } catch (InstanceAlreadyExistsException e) {
+          candidate = new ObjectName(baseName + ",id=" + suffix++);
+        }
+      }
+    } catch (Exception e) {
+      LOGGER.warn("Could not register the TLS statistics of listener '{}' in JMX: {}", listenerName, e.getMessage());
+    }
+  }
+
+  public synchronized void unregister() {
+    if (objectName != null) {
+      try {
+        getPlatformMBeanServer().unregisterMBean(objectName);
+      } catch (Exception e) {
+        LOGGER.debug("Could not unregister the TLS statistics of listener '{}' from JMX", listenerName, e);
+      } finally {
+        objectName = null;
+      }
+    }
+  }
+
+  @Override
+  public String getListenerName() {
+    return listenerName;
+  }
+
+  @Override
+  public long getFullHandshakes() {
+    return fullHandshakes.sum();
+  }
+
+  @Override
+  public long getResumedHandshakes() {
+    return resumedHandshakes.sum();
+  }
+
+  @Override
+  public long getFailedHandshakes() {
+    return failedHandshakes.sum();
+  }
+
+  @Override
+  public double getResumptionRate() {
+    long resumed = resumedHandshakes.sum();
+    long total = resumed + fullHandshakes.sum();
+    return total == 0 ? 0 : (double) resumed / total;
+  }
+
+  @Override
+  public int getSessionCacheSize() {
+    return sessionSettings.getSessionCacheSize();
+  }
+
+  @Override
+  public int getSessionTimeoutSeconds() {
+    return sessionSettings.getSessionTimeoutSeconds();
+  }
+
+  @Override
+  public boolean isSessionTicketsEnabled() {
+    return TlsSessionSettings.isSessionTicketsEnabled();
+  }
+
+  private class StatisticsHandshakeListener implements HandshakeListener {
+
+    @Override
+    public void onStart(Connection connection) {}
+
+    @Override
+    public void onComplete(Connection connection) {
+      SSLEngine engine = SSLUtils.getSSLEngine(connection);
+      if (engine != null) {
+        onHandshakeCompleted(engine.getSession());
+      }
+    }
+
+    // Not annotated with @Override since it is not present in every Grizzly version.
+    public void onFailure(Connection connection, Throwable t) {
+      onHandshakeFailed();
+    }
+  }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.service.http.impl.service.server.grizzly;
+
+/**
+ * JMX view of the TLS handshakes of a listener.
+ *
+ * @since 1.12
+ */
+public interface TlsListenerStatisticsMXBean {
+
+  String getListenerName();
+
+  long getFullHandshakes();
+
+  long getResumedHandshakes();
+
+  long getFailedHandshakes();
+
+  /**
+   * @return the ratio of completed handshakes that resumed a previous session, between {@code 0} and {@code 1}.
+   */
+  double getResumptionRate();
+
+  /**
+   * @return the configured session cache size, or {@code -1} if the JVM default is used.
+   */
+  int getSessionCacheSize();
+
+  /**
+   * @return the configured session timeout in seconds, or {@code -1} if the JVM default is used.
+   */
+  int getSessionTimeoutSeconds();
+
+  boolean isSessionTicketsEnabled();
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.service.http.impl.service.server.grizzly;
+
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+
+import static java.lang.Boolean.parseBoolean;
+import static java.lang.Integer.getInteger;
+import static java.lang.System.getProperty;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSessionContext;
+
+/**
+ * Settings of the TLS session cache of a listener, which determine how many clients can resume their sessions instead of doing a
+ * full handshake when they reconnect.
+ * <p>
+ * Each setting is read from a system property, which can be overridden for a single listener by appending {@code .} and the name
+ * of the listener config to it:
+ * <ul>
+ * <li>{@code mule.http.server.tls.sessionCacheSize}: the maximum amount of sessions to keep, {@code 0} for no limit.</li>
+ * <li>{@code mule.http.server.tls.sessionTimeout}: the seconds a session can be resumed for, {@code 0} for no limit.</li>
+ * </ul>
+ * When not set, the defaults of the JVM are kept.
+ * <p>
+ * Stateless session tickets can't be set per listener: the JVM enables them for every server through the
+ * {@code jdk.tls.server.enableSessionTicketExtension} system property, which is on by default since JDK 13.
+ *
+ * @since 1.12
+ */
+class TlsSessionSettings {
+
+  static final String SESSION_CACHE_SIZE_PROPERTY = SYSTEM_PROPERTY_PREFIX + "http.server.tls.sessionCacheSize";
+  static final String SESSION_TIMEOUT_PROPERTY = SYSTEM_PROPERTY_PREFIX + "http.server.tls.sessionTimeout";
+  static final String SESSION_TICKETS_PROPERTY = "jdk.tls.server.enableSessionTicketExtension";
+
+  private static final int NOT_SET = -1;
+
+  private final int sessionCacheSize;
+  private final int sessionTimeoutSeconds;
+
+  TlsSessionSettings(int sessionCacheSize, int sessionTimeoutSeconds) {
+    this.sessionCacheSize = sessionCacheSize;
+    this.sessionTimeoutSeconds = sessionTimeoutSeconds;
+  }
+
+  /**
+   * @param listenerName the name of the listener config, or {@code null} to only use the container wide settings
+   * @return the settings for the given listener
+   */
+  static TlsSessionSettings forListener(String listenerName) {
+    return new TlsSessionSettings(listenerProperty(SESSION_CACHE_SIZE_PROPERTY, listenerName),
+                                  listenerProperty(SESSION_TIMEOUT_PROPERTY, listenerName));
+  }
+
+  private static int listenerProperty(String property, String listenerName) {
+    int value = getInteger(property, NOT_SET);
+    return listenerName != null ? getInteger(property + "." + listenerName, value) : value;
+  }
+
+  /**
+   * Applies these settings to the session cache of the server side of the given context.
+   *
+   * @param sslContext the context a listener creates its engines with
+   */
+  void apply(SSLContext sslContext) {
+    SSLSessionContext sessionContext = sslContext.getServerSessionContext();
+    if (sessionContext == null) {
+      return;
+    }
+    if (sessionCacheSize >= 0) {
+      sessionContext.setSessionCacheSize(sessionCacheSize);
+    }
+    if (sessionTimeoutSeconds >= 0) {
+      sessionContext.setSessionTimeout(sessionTimeoutSeconds);
+    }
+  }
+
+  /**
+   * @return a key that tells these settings apart from others, empty when the defaults of the JVM are kept, so listeners with
+   *         different settings don't share their {@link org.mule.service.http.impl.util.SharedSslContexts shared context}.
+   */
+  String cacheKey() {
+    return sessionCacheSize < 0 && sessionTimeoutSeconds < 0 ? "" : sessionCacheSize + ":" + sessionTimeoutSeconds;
+  }
+
+  int getSessionCacheSize() {
+    return sessionCacheSize;
+  }
+
+  int getSessionTimeoutSeconds() {
+    return sessionTimeoutSeconds;
+  }
+
+  static boolean isSessionTicketsEnabled() {
+    return parseBoolean(getProperty(SESSION_TICKETS_PROPERTY, "true"));
+  }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.service.http.impl.service.server.grizzly;
+
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+
+import static java.lang.Long.getLong;
+import static java.lang.String.join;
+
+import org.mule.runtime.api.lifecycle.CreateException;
+import org.mule.runtime.api.tls.TlsContextFactory;
+import org.mule.runtime.api.tls.TlsContextFactoryBuilder;
+import org.mule.runtime.api.tls.TlsContextKeyStoreConfiguration;
+import org.mule.runtime.api.tls.TlsContextStoreConfiguration;
+import org.mule.runtime.api.tls.TlsContextTrustStoreConfiguration;
+
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Checks periodically whether the key or trust store files of a listener changed, and if so reloads its TLS configuration with
+ * the stores read again, so rotated certificates are used for the new connections without rebinding the listener.
+ * <p>
+ * Enabled by setting the {@code mule.http.server.tls.storesCheckInterval} system property to the milliseconds between checks.
+ * Only stores read from files are watched. The configuration of the listener is never initialised again, since it may be shared
+ * with other components of the application. Instead, a new {@link TlsContextFactory} is built from its store, protocol and
+ * cipher suite settings. Settings not exposed by {@link TlsContextFactory}, such as revocation checks, are not carried over.
+ * <p>
+ * If the configuration of the listener is {@link MuleSslFilter#reload replaced}, the watcher follows the stores of the new one.
+ *
+ * @since 1.12
+ */
+class TlsStoreWatcher implements Runnable {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(TlsStoreWatcher.class);
+
+  static final String CHECK_INTERVAL_PROPERTY = SYSTEM_PROPERTY_PREFIX + "http.server.tls.storesCheckInterval";
+
+  private final String listenerName;
+  private final MuleSslFilter sslFilter;
+  private final Map<File, Long> lastModifiedByStore = new LinkedHashMap<>();
+  private TlsContextFactory watchedFactory;
+
+  TlsStoreWatcher(String listenerName, MuleSslFilter sslFilter) {
+    this.listenerName = listenerName;
+    this.sslFilter = sslFilter;
+    watch(sslFilter.getTlsContextFactory());
+  }
+
+  /**
+   * @return the milliseconds between checks, or {@code 0} if the stores are not watched.
+   */
+  static long getCheckIntervalMillis() {
+    return getLong(CHECK_INTERVAL_PROPERTY, 0L);
+  }
+
+  private void watch(TlsContextFactory tlsContextFactory) {
+    watchedFactory = tlsContextFactory;
+    lastModifiedByStore.clear();
+    if (tlsContextFactory == null) {
+      return;
+    }
+    if (tlsContextFactory.isKeyStoreConfigured()) {
+      addStore(tlsContextFactory.getKeyStoreConfiguration());
+    }
+    if (tlsContextFactory.isTrustStoreConfigured()) {
+      addStore(tlsContextFactory.getTrustStoreConfiguration());
+    }
+  }
+
+  private void addStore(TlsContextStoreConfiguration storeConfiguration) {
+    if (storeConfiguration == null || storeConfiguration.getPath() == null) {
+      return;
+    }
+    File file = new File(storeConfiguration.getPath());
+    if (file.isFile()) {
+      lastModifiedByStore.put(file, file.lastModified());
+    } else {
+      LOGGER.debug("TLS store '{}' of listener '{}' is not a file, it won't be watched for changes",
+                   storeConfiguration.getPath(), listenerName);
+    }
+  }
+
+  /**
+   * @return whether the listener has any store to watch.
+   */
+  boolean hasStores() {
+    return !lastModifiedByStore.isEmpty();
+  }
+
+  @Override
+  public synchronized void run() {
+    TlsContextFactory current = sslFilter.getTlsContextFactory();
+    if (current != watchedFactory) {
+      // Replaced through the API, which already read its stores.
+      watch(current);
+      return;
+    }
+
+    boolean changed = false;
+    for (Map.Entry<File, Long> store : lastModifiedByStore.entrySet()) {
+      long lastModified = store.getKey().lastModified();
+      // 0 means the file is missing, as while it is being replaced, so the change is taken once it is back.
+      if (lastModified != 0 && lastModified != store.getValue()) {
+        store.setValue(lastModified);
+        changed = true;
+      }
+    }
+    if (!changed) {
+      return;
+    }
+
+    try {
+      if (sslFilter.reloadStores(current, rereadStores(current))) {
+        LOGGER.info("TLS stores of listener '{}' changed, new connections will use the new configuration", listenerName);
+      }
+    } catch (Exception e) {
+      LOGGER.warn("TLS stores of listener '{}' changed, but could not be reloaded. The previous configuration is kept: {}",
+                  listenerName, e.getMessage());
+    }
+  }
+
+  /**
+   * Builds a new {@link TlsContextFactory} with the same stores, protocols and cipher suites, which reads the stores again.
+   */
+  static TlsContextFactory rereadStores(TlsContextFactory tlsContextFactory) throws CreateException {
+    TlsContextFactoryBuilder builder = TlsContextFactory.builder();
+    if (tlsContextFactory.isKeyStoreConfigured()) {
+      TlsContextKeyStoreConfiguration keyStore = tlsContextFactory.getKeyStoreConfiguration();
+      setIfPresent(keyStore.getPath(), builder::keyStorePath);
+      setIfPresent(keyStore.getType(), builder::keyStoreType);
+      setIfPresent(keyStore.getAlgorithm(), builder::keyStoreAlgorithm);
+      setIfPresent(keyStore.getPassword(), builder::keyStorePassword);
+      setIfPresent(keyStore.getAlias(), builder::keyAlias);
+      setIfPresent(keyStore.getKeyPassword(), builder::keyPassword);
+    }
+    if (tlsContextFactory.isTrustStoreConfigured()) {
+      TlsContextTrustStoreConfiguration trustStore = tlsContextFactory.getTrustStoreConfiguration();
+      setIfPresent(trustStore.getPath(), builder::trustStorePath);
+      setIfPresent(trustStore.getType(), builder::trustStoreType);
+      setIfPresent(trustStore.getAlgorithm(), builder::trustStoreAlgorithm);
+      setIfPresent(trustStore.getPassword(), builder::trustStorePassword);
+      builder.insecureTrustStore(trustStore.isInsecure());
+    }
+    if (tlsContextFactory.getEnabledProtocols() != null) {
+      builder.enabledProtocols(join(",", tlsContextFactory.getEnabledProtocols()));
+    }
+    if (tlsContextFactory.getEnabledCipherSuites() != null) {
+      builder.enabledCipherSuites(join(",", tlsContextFactory.getEnabledCipherSuites()));
+    }
+    return builder.build();
+  }
+
+  private static void setIfPresent(String value, Consumer<String> setter) {
+    if (value != null) {
+      setter.accept(value);
+    }
+  }
+}
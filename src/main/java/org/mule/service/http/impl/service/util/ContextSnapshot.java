@@ -0,0 +1,195 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.service.http.impl.service.util;
+
+import static java.lang.Thread.currentThread;
+import static org.mule.runtime.core.api.util.ClassUtils.setContextClassLoader;
+
+import java.util.Map;
+
+import org.slf4j.MDC;
+
+/**
+ * The MDC and, optionally, the context class loader of a thread, captured once so they can be set on the threads that run the
+ * callbacks of a request, as many times as needed, without copying them again.
+ * <p>
+ * Entering a snapshot only changes what actually differs: the class loader is only set if it's not the current one, and the MDC
+ * is left as it is if the thread is already running in a scope of the same snapshot, as happens when a callback calls another
+ * one. Since the code of the outer scope may have changed the MDC in the meantime, the entries of the snapshot are checked
+ * first, and set again if any differs. Entries added on top of the snapshot are not detected, so they are kept in the nested
+ * scope. Usage example:
+ *
+ * <pre>
+ * {@code
+ *   ContextSnapshot context = ContextSnapshot.captureMdc();
+ *   ...
+ *   try (ContextSnapshot.Scope scope = context.enterClearing()) {
+ *     // The code in this scope will use the captured MDC.
+ *   }
+ * }
+ * </pre>
+ *
+ * @since 1.12
+ */
+public final class ContextSnapshot {
+
+  private static final Object NO_MDC = new Object();
+
+  /**
+   * The MDC set by the innermost scope entered in each thread, to tell whether a new scope has to change it.
+   */
+  private static final ThreadLocal<Object> ENTERED_MDC = new ThreadLocal<>();
+
+  private static final Scope NESTED_SCOPE = new Scope(null, null, null, false, null, null, false);
+
+  private final ClassLoader classLoader;
+  private final Map<String, String> mdc;
+
+  private ContextSnapshot(ClassLoader classLoader, Map<String, String> mdc) {
+    this.classLoader = classLoader;
+    this.mdc = mdc == null || mdc.isEmpty() ? null : mdc;
+  }
+
+  /**
+   * @return the MDC and context class loader of the current thread.
+   */
+  public static ContextSnapshot capture() {
+    return new ContextSnapshot(currentThread().getContextClassLoader(), MDC.getCopyOfContextMap());
+  }
+
+  /**
+   * @return the MDC of the current thread. Entering it doesn't change the context class loader.
+   */
+  public static ContextSnapshot captureMdc() {
+    return new ContextSnapshot(null, MDC.getCopyOfContextMap());
+  }
+
+  /**
+   * @param classLoader the context class loader to set when entering the returned snapshot
+   * @return a snapshot with the MDC of this one, which is not copied, and the given class loader.
+   */
+  public ContextSnapshot withClassLoader(ClassLoader classLoader) {
+    return new ContextSnapshot(classLoader, mdc);
+  }
+
+  /**
+   * Sets this context in the current thread, until the returned scope is closed. The context of the thread at the time is
+   * restored then.
+   *
+   * @return the scope to close to leave this context.
+   */
+  public Scope enter() {
+    return enter(true);
+  }
+
+  /**
+   * Sets this context in the current thread, until the returned scope is closed. The MDC is cleared then instead of restored, so
+   * the thread's one isn't copied. It's meant for threads that don't have an MDC of their own, as the selectors of the client.
+   *
+   * @return the scope to close to leave this context.
+   */
+  public Scope enterClearing() {
+    return enter(false);
+  }
+
+  private Scope enter(boolean restoreOuterMdc) {
+    Thread thread = currentThread();
+    ClassLoader outerClassLoader = thread.getContextClassLoader();
+    boolean switchClassLoader = classLoader != null && outerClassLoader != classLoader;
+
+    Object outerEnteredMdc = ENTERED_MDC.get();
+    Object enteredMdc = mdc != null ? mdc : NO_MDC;
+    boolean nested = outerEnteredMdc == enteredMdc;
+    // Without an MDC of its own, a restoring scope leaves the thread's one as it is.
+    boolean switchMdc = (!nested || !isMdcSet()) && (mdc != null || !restoreOuterMdc);
+
+    if (!switchClassLoader && !switchMdc) {
+      return NESTED_SCOPE;
+    }
+
+    if (switchClassLoader) {
+      setContextClassLoader(thread, outerClassLoader, classLoader);
+    }
+    Map<String, String> outerMdc = null;
+    if (switchMdc) {
+      // The outer scope of the same snapshot goes on after this one, with the MDC it changed.
+      if (restoreOuterMdc || nested) {
+        outerMdc = MDC.getCopyOfContextMap();
+      }
+      if (mdc != null) {
+        MDC.setContextMap(mdc);
+      } else {
+        MDC.clear();
+      }
+      ENTERED_MDC.set(enteredMdc);
+    }
+    return new Scope(thread, classLoader, outerClassLoader, switchClassLoader, outerEnteredMdc, outerMdc, switchMdc);
+  }
+
+  /**
+   * @return whether every entry of this snapshot is still set in the MDC of the current thread, without copying it.
+   */
+  private boolean isMdcSet() {
+    if (mdc == null) {
+      return true;
+    }
+    for (Map.Entry<String, String> entry : mdc.entrySet()) {
+      if (!entry.getValue().equals(MDC.get(entry.getKey()))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * The time a {@link ContextSnapshot} is set in a thread. It's only intended to be used in a try-with-resources block, in the
+   * same thread it was entered in.
+   */
+  public static final class Scope implements AutoCloseable {
+
+    private final Thread thread;
+    private final ClassLoader innerClassLoader;
+    private final ClassLoader outerClassLoader;
+    private final boolean classLoaderSwitched;
+    private final Object outerEnteredMdc;
+    private final Map<String, String> outerMdc;
+    private final boolean mdcSwitched;
+
+    private Scope(Thread thread, ClassLoader innerClassLoader, ClassLoader outerClassLoader, boolean classLoaderSwitched,
+                  Object outerEnteredMdc, Map<String, String> outerMdc, boolean mdcSwitched) {
+      this.thread = thread;
+      this.innerClassLoader = innerClassLoader;
+      this.outerClassLoader = outerClassLoader;
+      this.classLoaderSwitched = classLoaderSwitched;
+      this.outerEnteredMdc = outerEnteredMdc;
+      this.outerMdc = outerMdc;
+      this.mdcSwitched = mdcSwitched;
+    }
+
+    @Override
+    public void close() {
+      try {
+        if (classLoaderSwitched) {
+          setContextClassLoader(thread, innerClassLoader, outerClassLoader);
+        }
+      } finally {
+        if (mdcSwitched) {
+          if (outerMdc == null || outerMdc.isEmpty()) {
+            MDC.clear();
+          } else {
+            MDC.setContextMap(outerMdc);
+          }
+          if (outerEnteredMdc == null) {
+            ENTERED_MDC.remove();
+          } else {
+            ENTERED_MDC.set(outerEnteredMdc);
+          }
+        }
+      }
+    }
+  }
+}
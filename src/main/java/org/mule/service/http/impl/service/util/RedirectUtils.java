@@ -28,6 +28,8 @@ import org.mule.runtime.http.api.domain.entity.HttpEntity;
 import org.mule.runtime.http.api.domain.message.request.HttpRequest;
 import org.mule.runtime.http.api.domain.message.response.HttpResponse;
 
+import java.net.URI;
+
 import com.ning.http.client.RequestBuilder;
 import com.ning.http.client.uri.Uri;
 
@@ -36,6 +38,12 @@ import com.ning.http.client.uri.Uri;
  */
 public class RedirectUtils {
 
+  private static final String HOST = Host.toString();
+  private static final String CONTENT_LENGTH = ContentLength.toString();
+  private static final String CONTENT_TYPE = ContentType.toString();
+  private static final String AUTHORIZATION = Authorization.toString();
+  private static final String PROXY_AUTHORIZATION = ProxyAuthorization.toString();
+
   private final boolean isStrict302Handling;
   private final boolean preserveHeaderCase;
 
@@ -93,15 +101,12 @@ public class RedirectUtils {
   public HttpRequest createRedirectRequest(HttpResponse response, HttpRequest request, HttpRequestOptions options) {
     Uri path = create(create(request.getUri().toString()), response.getHeaders().get(LOCATION));
 
-    MultiMap<String, String> headers = new MultiMap<>(request.getHeaders());
-    removeHeader(headers, Host.toString());
-    removeHeader(headers, ContentLength.toString());
     String redirectMethod;
     HttpEntity entity = request.getEntity();
+    boolean sendAsGet = mustBeSendAsGet(response.getStatusCode());
 
-    if (mustBeSendAsGet(response.getStatusCode())) {
+    if (sendAsGet) {
       redirectMethod = GET.name();
-      removeHeader(headers, ContentType.toString());
       if (!options.shouldSendBodyAlways()) {
         entity = new EmptyHttpEntity();
       }
@@ -109,19 +114,57 @@ public class RedirectUtils {
       redirectMethod = request.getMethod();
     }
 
-    options.getAuthentication().ifPresent(httpAuthentication -> {
-      if (httpAuthentication.getType().equals(NTLM)) {
-        removeHeader(headers, Authorization.toString());
-        removeHeader(headers, ProxyAuthorization.toString());
-      }
-    });
-
     return builder(preserveHeaderCase).uri(path.toUrl()).method(redirectMethod)
-        .protocol(request.getProtocol()).headers(headers).entity(entity).build();
+        .protocol(request.getProtocol()).headers(copyRedirectHeaders(request, options, sendAsGet)).entity(entity).build();
+  }
+
+  /**
+   * Create a new request with the params of the original one to be sent to a location it was permanently redirected to (through
+   * a 301 or 308 status), without sending the original request again.
+   *
+   * @param request  the original request
+   * @param location the location the request was permanently redirected to
+   * @param options  HttpRequestOptions
+   * @return an HttpRequest request.
+   */
+  public HttpRequest createPermanentRedirectRequest(HttpRequest request, URI location, HttpRequestOptions options) {
+    return builder(preserveHeaderCase).uri(location).method(request.getMethod())
+        .protocol(request.getProtocol()).headers(copyRedirectHeaders(request, options, false)).entity(request.getEntity())
+        .build();
+  }
+
+  /**
+   * @param statusCode the status code of a redirect response
+   * @return whether the redirect is permanent, so the request can be sent straight to the new location the next time.
+   */
+  public boolean isPermanentRedirect(int statusCode) {
+    return statusCode == 301 || statusCode == 308;
   }
 
-  private static void removeHeader(MultiMap<String, String> headers, String header) {
-    headers.keySet().removeIf(key -> key.equalsIgnoreCase(header));
+  /**
+   * Copies the headers of the original request that must be sent along with the redirected one, in a single pass.
+   */
+  private static MultiMap<String, String> copyRedirectHeaders(HttpRequest request, HttpRequestOptions options,
+                                                              boolean sendAsGet) {
+    boolean removeAuthorization = options.getAuthentication()
+        .map(httpAuthentication -> httpAuthentication.getType().equals(NTLM))
+        .orElse(false);
+
+    MultiMap<String, String> originalHeaders = request.getHeaders();
+    MultiMap<String, String> headers = new MultiMap<>();
+    for (String headerName : originalHeaders.keySet()) {
+      if (headerName.equalsIgnoreCase(HOST)
+          || headerName.equalsIgnoreCase(CONTENT_LENGTH)
+          || (sendAsGet && headerName.equalsIgnoreCase(CONTENT_TYPE))
+          || (removeAuthorization
+              && (headerName.equalsIgnoreCase(AUTHORIZATION) || headerName.equalsIgnoreCase(PROXY_AUTHORIZATION)))) {
+        continue;
+      }
+      for (String headerValue : originalHeaders.getAll(headerName)) {
+        headers.put(headerName, headerValue);
+      }
+    }
+    return headers;
   }
 
   /**
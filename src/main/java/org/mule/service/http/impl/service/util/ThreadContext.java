@@ -48,7 +48,8 @@ public class ThreadContext implements AutoCloseable {
     innerMDC = mdc;
 
     outerClassLoader = currentThread.getContextClassLoader();
-    outerMDC = MDC.getCopyOfContextMap();
+    // The outer MDC is only restored when it's replaced, so it isn't copied otherwise.
+    outerMDC = innerMDC != null ? MDC.getCopyOfContextMap() : null;
 
     if (innerMDC != null) {
       MDC.setContextMap(innerMDC);
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.service.http.impl.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs its tasks in another executor, with at most {@code maxConcurrentTasks} of them running at the same time and up to
+ * {@code maxQueuedTasks} waiting in a queue for the rest. Tasks submitted when the queue is full are rejected.
+ * <p>
+ * The tasks don't get threads of their own: up to {@code maxConcurrentTasks} workers of the delegate take tasks from the queue,
+ * and a worker that finishes a task takes the next queued one instead of handing it to the delegate again. So a task is only
+ * handed to the delegate from {@link #execute(Runnable)}, and if the delegate rejects it there it is either run in the calling
+ * thread or the rejection is thrown to the caller, as configured.
+ *
+ * @since 1.12
+ */
+public class BoundedQueueExecutor extends AbstractExecutorService {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(BoundedQueueExecutor.class);
+
+  private final String name;
+  private final Executor delegate;
+  private final int maxConcurrentTasks;
+  private final int maxQueuedTasks;
+  private final boolean runRejectedInCaller;
+
+  private final Queue<Runnable> queued = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger queuedCount = new AtomicInteger();
+  private final AtomicInteger peakQueuedCount = new AtomicInteger();
+  private final AtomicInteger running = new AtomicInteger();
+  private volatile boolean shutdown;
+
+  /**
+   * @param name                the name of the executor, for logging
+   * @param delegate            the executor to run the tasks in
+   * @param maxConcurrentTasks  the maximum amount of tasks running at the same time
+   * @param maxQueuedTasks      the maximum amount of tasks waiting to run
+   * @param runRejectedInCaller whether a task the delegate rejects is run in the calling thread instead of throwing the
+   *                            rejection
+   */
+  public BoundedQueueExecutor(String name, Executor delegate, int maxConcurrentTasks, int maxQueuedTasks,
+                              boolean runRejectedInCaller) {
+    this.name = name;
+    this.delegate = delegate;
+    this.maxConcurrentTasks = maxConcurrentTasks;
+    this.maxQueuedTasks = maxQueuedTasks;
+    this.runRejectedInCaller = runRejectedInCaller;
+  }
+
+  @Override
+  public void execute(Runnable command) {
+    if (shutdown) {
+      throw new RejectedExecutionException("'" + name + "' has been shut down");
+    }
+    int queuedNow = queuedCount.incrementAndGet();
+    if (queuedNow > maxQueuedTasks) {
+      queuedCount.decrementAndGet();
+      throw new RejectedExecutionException("Too many tasks queued for '" + name + "'");
+    }
+    peakQueuedCount.accumulateAndGet(queuedNow, Math::max);
+    queued.add(command);
+
+    if (tryAcquireWorker()) {
+      try {
+        delegate.execute(this::work);
+      } catch (RejectedExecutionException e) {
+        running.decrementAndGet();
+        // Unless a running worker already took it, the task is not going to run.
+        if (queued.remove(command)) {
+          queuedCount.decrementAndGet();
+          if (!runRejectedInCaller) {
+            LOGGER.warn("Workers rejected a task of '{}'", name);
+            throw e;
+          }
+          LOGGER.debug("Workers rejected a task of '{}', running it in the current thread", name, e);
+          command.run();
+        }
+      }
+    }
+  }
+
+  private boolean tryAcquireWorker() {
+    int current;
+    do {
+      current = running.get();
+      if (current >= maxConcurrentTasks) {
+        return false;
+      }
+    } while (!running.compareAndSet(current, current + 1));
+    return true;
+  }
+
+  private void work() {
+    while (true) {
+      Runnable task = queued.poll();
+      if (task == null) {
+        running.decrementAndGet();
+        // A task may have been queued after the poll, when this worker still counted as running.
+        if (queued.isEmpty() || !tryAcquireWorker()) {
+          return;
+        }
+        continue;
+      }
+      queuedCount.decrementAndGet();
+
+      try {
+        task.run();
+      } catch (Throwable t) {
+        LOGGER.error("Task of '{}' failed", name, t);
+      }
+    }
+  }
+
+  public int getMaxConcurrentTasks() {
+    return maxConcurrentTasks;
+  }
+
+  public int getMaxQueuedTasks() {
+    return maxQueuedTasks;
+  }
+
+  public int getRunningTasks() {
+    return running.get();
+  }
+
+  public int getQueuedTasks() {
+    return queuedCount.get();
+  }
+
+  public int getPeakQueuedTasks() {
+    return peakQueuedCount.get();
+  }
+
+  @Override
+  public void shutdown() {
+    shutdown = true;
+  }
+
+  @Override
+  public List<Runnable> shutdownNow() {
+    shutdown = true;
+    List<Runnable> pending = new ArrayList<>();
+    Runnable task;
+    while ((task = queued.poll()) != null) {
+      queuedCount.decrementAndGet();
+      pending.add(task);
+    }
+    return pending;
+  }
+
+  @Override
+  public boolean isShutdown() {
+    return shutdown;
+  }
+
+  @Override
+  public boolean isTerminated() {
+    return shutdown && running.get() == 0;
+  }
+
+  @Override
+  public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+    long deadline = System.nanoTime() + unit.toNanos(timeout);
+    while (!isTerminated()) {
+      if (System.nanoTime() >= deadline) {
+        return false;
+      }
+      Thread.sleep(10);
+    }
+    return true;
+  }
+}
@@ -6,7 +6,7 @@
  */
 package org.mule.service.http.impl.util;
 
-import static org.mule.service.http.impl.service.server.grizzly.MuleSslFilter.SSL_SESSION_ATTRIBUTE_KEY;
+import static org.mule.service.http.impl.service.server.grizzly.MuleSslFilter.getSslSession;
 import org.mule.runtime.http.api.domain.request.ClientConnection;
 import org.mule.service.http.impl.service.server.grizzly.DefaultClientConnection;
 
@@ -24,7 +24,7 @@ public final class HttpUtils {
   public static final String SLASH = "/";
 
   public static ClientConnection getClientConnection(Connection connection) {
-    SSLSession sslSession = (SSLSession) connection.getAttributes().getAttribute(SSL_SESSION_ATTRIBUTE_KEY);
+    SSLSession sslSession = getSslSession(connection);
     if (sslSession == null) {
       SSLEngine engine = SSLUtils.getSSLEngine(connection);
       if (engine != null) {
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.service.http.impl.util;
+
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+
+import static java.lang.Boolean.getBoolean;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Base64.getEncoder;
+
+import org.mule.runtime.api.tls.TlsContextFactory;
+import org.mule.runtime.api.tls.TlsContextKeyStoreConfiguration;
+import org.mule.runtime.api.tls.TlsContextTrustStoreConfiguration;
+
+import java.io.File;
+import java.security.MessageDigest;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import javax.net.ssl.SSLContext;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A cache of the {@link SSLContext}s of the clients and listeners of the container, so the ones with the same TLS configuration
+ * load their key and trust stores and build their key and trust managers once, and share a single session cache.
+ * <p>
+ * Contexts are keyed by a fingerprint of the {@link TlsContextFactory}: the path, type, algorithm and passwords of its stores,
+ * the alias of its key, the last modification time of the store files, so a store updated on disk gets a new context, and the
+ * {@link TlsEngineProvider} that creates it. Each {@link #acquire(TlsContextFactory, TlsEngineProvider, String) acquired}
+ * context must be {@link #release(SSLContext) released}, and is dropped from the cache once no client or listener uses it.
+ * <p>
+ * Sharing is enabled through the {@code mule.http.tls.sharedContexts.enable} system property. Since settings that are not
+ * exposed by {@link TlsContextFactory}, such as certificate revocation checks, are not part of the fingerprint, it should only be
+ * enabled when configurations with the same stores also agree on those.
+ *
+ * @since 1.12
+ */
+public final class SharedSslContexts {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(SharedSslContexts.class);
+
+  public static final String ENABLE_SHARED_SSL_CONTEXTS_PROPERTY_NAME = SYSTEM_PROPERTY_PREFIX + "http.tls.sharedContexts.enable";
+
+  private static final Map<String, SharedSslContext> CONTEXTS_BY_FINGERPRINT = new HashMap<>();
+  private static final Map<SSLContext, SharedSslContext> CONTEXTS = new IdentityHashMap<>();
+
+  private SharedSslContexts() {}
+
+  /**
+   * @return whether the contexts have to be shared.
+   */
+  public static boolean isEnabled() {
+    return getBoolean(ENABLE_SHARED_SSL_CONTEXTS_PROPERTY_NAME);
+  }
+
+  /**
+   * @param tlsContextFactory the TLS configuration to get a context for
+   * @param engineProvider    the provider to create the context with, if it is not cached yet
+   * @param qualifier         anything apart from the TLS configuration that is applied to the context by its user, such as the
+   *                          settings of its session cache, so contexts with different ones are not shared
+   * @return a context for the given configuration, shared with the other users of the same one when possible
+   * @throws Exception if the context can't be created
+   */
+  public static SSLContext acquire(TlsContextFactory tlsContextFactory, TlsEngineProvider engineProvider, String qualifier)
+      throws Exception {
+    String fingerprint = fingerprint(tlsContextFactory, engineProvider.getName() + "|" + qualifier);
+    if (fingerprint == null) {
+      return engineProvider.createSslContext(tlsContextFactory);
+    }
+
+    SSLContext cached = retain(fingerprint);
+    if (cached != null) {
+      LOGGER.debug("Reusing a TLS context with the same configuration");
+      return cached;
+    }
+
+    // Loading the stores can take a while, so it is not done while holding the lock every other client and listener needs.
+    SSLContext created = engineProvider.createSslContext(tlsContextFactory);
+    synchronized (SharedSslContexts.class) {
+      SharedSslContext shared = CONTEXTS_BY_FINGERPRINT.get(fingerprint);
+      if (shared != null) {
+        // Another user created one for the same configuration in the meantime. Contexts hold no resources until they create
+        // engines, so the one just created is simply dropped.
+        LOGGER.debug("Reusing a TLS context with the same configuration created concurrently");
+        shared.references++;
+        return shared.sslContext;
+      }
+      shared = new SharedSslContext(fingerprint, created);
+      CONTEXTS_BY_FINGERPRINT.put(fingerprint, shared);
+      CONTEXTS.put(created, shared);
+      shared.references++;
+      return created;
+    }
+  }
+
+  private static synchronized SSLContext retain(String fingerprint) {
+    SharedSslContext shared = CONTEXTS_BY_FINGERPRINT.get(fingerprint);
+    if (shared == null) {
+      return null;
+    }
+    shared.references++;
+    return shared.sslContext;
+  }
+
+  /**
+   * Stops using a context obtained from {@link #acquire(TlsContextFactory, TlsEngineProvider, String)}, dropping it from the
+   * cache if it is not used anymore.
+   *
+   * @param sslContext the context to release
+   */
+  public static synchronized void release(SSLContext sslContext) {
+    SharedSslContext shared = CONTEXTS.get(sslContext);
+    if (shared != null && --shared.references == 0) {
+      CONTEXTS.remove(sslContext);
+      CONTEXTS_BY_FINGERPRINT.remove(shared.fingerprint);
+    }
+  }
+
+  /**
+   * @return the amount of different contexts currently cached.
+   */
+  public static synchronized int size() {
+    return CONTEXTS.size();
+  }
+
+  /**
+   * @return a digest of the TLS configuration, or {@code null} if it can't be told apart from others, as when its key store is
+   *         not read from a path.
+   */
+  private static String fingerprint(TlsContextFactory tlsContextFactory, String qualifier) throws Exception {
+    StringBuilder builder = new StringBuilder(tlsContextFactory.getClass().getName()).append('|').append(qualifier);
+
+    if (tlsContextFactory.isKeyStoreConfigured()) {
+      TlsContextKeyStoreConfiguration keyStore = tlsContextFactory.getKeyStoreConfiguration();
+      if (keyStore == null || keyStore.getPath() == null) {
+        return null;
+      }
+      appendStore(builder, keyStore.getPath(), keyStore.getType(), keyStore.getAlgorithm(), keyStore.getPassword());
+      builder.append('|').append(keyStore.getAlias()).append('|').append(keyStore.getKeyPassword());
+    }
+    builder.append("||");
+    if (tlsContextFactory.isTrustStoreConfigured()) {
+      TlsContextTrustStoreConfiguration trustStore = tlsContextFactory.getTrustStoreConfiguration();
+      if (trustStore == null || (trustStore.getPath() == null && !trustStore.isInsecure())) {
+        return null;
+      }
+      appendStore(builder, trustStore.getPath(), trustStore.getType(), trustStore.getAlgorithm(), trustStore.getPassword());
+      builder.append('|').append(trustStore.isInsecure());
+    }
+
+    // The passwords are part of the fingerprint, so only a digest of it is kept.
+    byte[] digest = MessageDigest.getInstance("SHA-256").digest(builder.toString().getBytes(UTF_8));
+    return getEncoder().encodeToString(digest);
+  }
+
+  private static void appendStore(StringBuilder builder, String path, String type, String algorithm, String password) {
+    builder.append(path).append('|').append(type).append('|').append(algorithm).append('|').append(password);
+    if (path != null) {
+      File file = new File(path);
+      builder.append('|').append(file.isFile() ? file.lastModified() : 0);
+    }
+  }
+
+  private static final class SharedSslContext {
+
+    private final String fingerprint;
+    private final SSLContext sslContext;
+    private int references;
+
+    private SharedSslContext(String fingerprint, SSLContext sslContext) {
+      this.fingerprint = fingerprint;
+      this.sslContext = sslContext;
+    }
+  }
+}
@@ -6,24 +6,35 @@
  */
 package org.mule.service.http.impl.util;
 
-import static java.lang.Integer.min;
+import static java.lang.Math.min;
 import static java.lang.System.arraycopy;
 import static java.lang.System.nanoTime;
 import static java.lang.Thread.currentThread;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Input stream which is blocking only during a specified timeout. It requires to be connected with a
  * {@link TimedPipedOutputStream}.
+ * <p>
+ * Waits are done on a {@link ReentrantLock} instead of the monitor of the stream, so a virtual thread blocked on the pipe
+ * unmounts from its carrier thread instead of pinning it.
  *
  * @since 1.6.0 and 1.5.11.
  */
 public class TimedPipedInputStream extends InputStream {
 
+  private static final long MAX_WAIT_NANOS = MILLISECONDS.toNanos(100);
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition stateChanged = lock.newCondition();
+
   // Internal data.
   private byte[] ringBuffer;
   private final int ringBufferSize;
@@ -50,17 +61,18 @@ public class TimedPipedInputStream extends InputStream {
   }
 
   @Override
-  public synchronized int read() throws IOException {
+  public int read() throws IOException {
+    lock.lock();
     try {
       int bytesAvailable = awaitDataAvailable();
       if (bytesAvailable > 0) {
         byte returnValue = ringBuffer[head.get()];
         head.increase();
         length -= 1;
-        notifyAll();
+        stateChanged.signalAll();
         return returnValue & 0xff;
       } else if (closedByWriter) {
-        notifyAll();
+        stateChanged.signalAll();
         return -1;
       } else {
         throw new IOException(new TimeoutException("Timeout while reading from piped stream using a blocking read() method"));
@@ -68,6 +80,8 @@ public class TimedPipedInputStream extends InputStream {
     } catch (InterruptedException e) {
       currentThread().interrupt();
       throw new IOException(e);
+    } finally {
+      lock.unlock();
     }
   }
 
@@ -93,14 +107,15 @@ public class TimedPipedInputStream extends InputStream {
    * @throws IOException
    */
   @Override
-  public synchronized int read(byte[] b, int off, int len) throws IOException {
+  public int read(byte[] b, int off, int len) throws IOException {
     if (len == 0) {
       return 0;
     }
+    lock.lock();
     try {
       int bytesToCopy = min(awaitDataAvailable(), len);
       if (bytesToCopy == 0 && closedByWriter) {
-        notifyAll();
+        stateChanged.signalAll();
         return -1;
       }
 
@@ -114,11 +129,13 @@ public class TimedPipedInputStream extends InputStream {
 
       // There is space in the buffer, notify writers.
       length -= bytesToCopy;
-      notifyAll();
+      stateChanged.signalAll();
       return bytesToCopy;
     } catch (InterruptedException e) {
       currentThread().interrupt();
       throw new IOException(e);
+    } finally {
+      lock.unlock();
     }
   }
 
@@ -128,27 +145,40 @@ public class TimedPipedInputStream extends InputStream {
    * @return The number of available bytes.
    */
   @Override
-  public synchronized int available() {
-    return length;
+  public int available() {
+    lock.lock();
+    try {
+      return length;
+    } finally {
+      lock.unlock();
+    }
   }
 
   /**
    * Notifies all waiting threads that the last byte of data has been received.
    */
-  synchronized void receivedLast() {
-    closedByWriter = true;
-    notifyAll();
+  void receivedLast() {
+    lock.lock();
+    try {
+      closedByWriter = true;
+      stateChanged.signalAll();
+    } finally {
+      lock.unlock();
+    }
   }
 
-  private synchronized int awaitDataAvailable() throws InterruptedException, IOException {
+  // Must be called holding the lock.
+  private int awaitDataAvailable() throws InterruptedException, IOException {
     long initialNanos = nanoTime();
     long finalNanos = initialNanos + timeoutNanos;
 
-    while (length <= 0 && nanoTime() < finalNanos && !closedByReader && error == null) {
+    long remainingNanos = timeoutNanos;
+    while (length <= 0 && remainingNanos > 0 && !closedByReader && error == null) {
       if (closedByWriter) {
         return 0;
       }
-      wait(100);
+      stateChanged.awaitNanos(min(remainingNanos, MAX_WAIT_NANOS));
+      remainingNanos = finalNanos - nanoTime();
     }
     if (closedByReader) {
       throw new IOException("Pipe closed");
@@ -160,51 +190,61 @@ public class TimedPipedInputStream extends InputStream {
     return length;
   }
 
-  synchronized void receive(int b) throws IOException {
-    awaitSpace();
-    ringBuffer[(head.get() + length) % ringBufferSize] = (byte) (b & 0xff);
-    length += 1;
-
-    // Now there is data available to be read.
-    notifyAll();
+  void receive(int b) throws IOException {
+    lock.lock();
+    try {
+      awaitSpace();
+      ringBuffer[(head.get() + length) % ringBufferSize] = (byte) (b & 0xff);
+      length += 1;
+
+      // Now there is data available to be read.
+      stateChanged.signalAll();
+    } finally {
+      lock.unlock();
+    }
   }
 
   void receive(byte[] bytes) throws IOException {
     receive(bytes, 0, bytes.length);
   }
 
-  synchronized void receive(byte[] bytes, int off, int len) throws IOException {
-    if (len <= 0) {
-      return;
-    }
-
-    int bytesToCopy = min(awaitSpace(), len);
-    CircularInteger destinationIndex = head.plus(length);
-
-    // As it's a ring buffer, we could need two copies.
-    int firstCopyLength = min(ringBufferSize - destinationIndex.get(), bytesToCopy);
-    arraycopy(bytes, off, ringBuffer, destinationIndex.get(), firstCopyLength);
-    if (firstCopyLength < bytesToCopy) {
-      arraycopy(bytes, off + firstCopyLength, ringBuffer, 0, bytesToCopy - firstCopyLength);
+  void receive(byte[] bytes, int off, int len) throws IOException {
+    lock.lock();
+    try {
+      while (len > 0) {
+        int bytesToCopy = min(awaitSpace(), len);
+        CircularInteger destinationIndex = head.plus(length);
+
+        // As it's a ring buffer, we could need two copies.
+        int firstCopyLength = min(ringBufferSize - destinationIndex.get(), bytesToCopy);
+        arraycopy(bytes, off, ringBuffer, destinationIndex.get(), firstCopyLength);
+        if (firstCopyLength < bytesToCopy) {
+          arraycopy(bytes, off + firstCopyLength, ringBuffer, 0, bytesToCopy - firstCopyLength);
+        }
+
+        // There is data in the buffer, notify readers.
+        length += bytesToCopy;
+        stateChanged.signalAll();
+
+        off += bytesToCopy;
+        len -= bytesToCopy;
+      }
+    } finally {
+      lock.unlock();
     }
-
-    // There is data in the buffer, notify readers.
-    length += bytesToCopy;
-    notifyAll();
-
-    receive(bytes, off + bytesToCopy, len - bytesToCopy);
   }
 
   /**
-   * Waits until there is space in the ring buffer. The read timeout is NOT related to this method.
+   * Waits until there is space in the ring buffer. The read timeout is NOT related to this method. Must be called holding the
+   * lock.
    *
    * @return The available space in bytes.
    * @throws IOException if the waiting thread is interrupted.
    */
-  private synchronized int awaitSpace() throws IOException {
+  private int awaitSpace() throws IOException {
     try {
       while (length == ringBufferSize && !closedByWriter && !closedByReader) {
-        wait(100);
+        stateChanged.awaitNanos(MAX_WAIT_NANOS);
       }
       if (closedByWriter || closedByReader) {
         throw new IOException("Pipe closed");
@@ -218,18 +258,33 @@ public class TimedPipedInputStream extends InputStream {
   }
 
   @Override
-  public synchronized void close() throws IOException {
-    closedByReader = true;
-    notifyAll();
+  public void close() throws IOException {
+    lock.lock();
+    try {
+      closedByReader = true;
+      stateChanged.signalAll();
+    } finally {
+      lock.unlock();
+    }
   }
 
-  public synchronized boolean isClosed() {
-    return closedByReader || closedByWriter;
+  public boolean isClosed() {
+    lock.lock();
+    try {
+      return closedByReader || closedByWriter;
+    } finally {
+      lock.unlock();
+    }
   }
 
-  public synchronized void cancel(Throwable error) {
-    this.error = error;
-    notifyAll();
+  public void cancel(Throwable error) {
+    lock.lock();
+    try {
+      this.error = error;
+      stateChanged.signalAll();
+    } finally {
+      lock.unlock();
+    }
   }
 
   private class CircularInteger {
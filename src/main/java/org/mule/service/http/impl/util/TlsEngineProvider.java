@@ -0,0 +1,34 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.service.http.impl.util;
+
+import org.mule.runtime.api.tls.TlsContextFactory;
+
+import javax.net.ssl.SSLContext;
+
+/**
+ * Creates the {@link SSLContext} the TLS engines of a listener or requester are created with, so an implementation other than
+ * the one of the JDK, such as one backed by a native library, can be used for it.
+ * <p>
+ * Implementations need a public no-args constructor, and are selected through {@link TlsEngineProviders}.
+ *
+ * @since 1.12
+ */
+public interface TlsEngineProvider {
+
+  /**
+   * @return a name for this provider, used to tell apart the contexts it creates from the ones of other providers.
+   */
+  String getName();
+
+  /**
+   * @param tlsContextFactory the TLS configuration of the listener or requester
+   * @return a context with the key and trust material of the given configuration
+   * @throws Exception if the context can't be created
+   */
+  SSLContext createSslContext(TlsContextFactory tlsContextFactory) throws Exception;
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.service.http.impl.util;
+
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+
+import static java.lang.System.getProperty;
+
+import org.mule.runtime.api.tls.TlsContextFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.net.ssl.SSLContext;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Selects the {@link TlsEngineProvider} of each listener and requester.
+ * <p>
+ * The provider is the fully qualified name of a {@link TlsEngineProvider} implementation, set through the
+ * {@code mule.http.tls.engineProvider} system property, which can be overridden for a single listener or requester by appending
+ * {@code .} and the name of its config to it. When not set, or set to {@value #JDK_PROVIDER_NAME}, the context is created by the
+ * {@link TlsContextFactory} itself, with the JDK implementation.
+ * <p>
+ * Providers are loaded through the class loader of this service rather than the one of the application that first uses them,
+ * since they are shared by the whole container.
+ *
+ * @since 1.12
+ */
+public final class TlsEngineProviders {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(TlsEngineProviders.class);
+
+  public static final String TLS_ENGINE_PROVIDER_PROPERTY = SYSTEM_PROPERTY_PREFIX + "http.tls.engineProvider";
+  public static final String JDK_PROVIDER_NAME = "jdk";
+
+  private static final TlsEngineProvider JDK_PROVIDER = new JdkTlsEngineProvider();
+  private static final Map<String, TlsEngineProvider> PROVIDERS = new ConcurrentHashMap<>();
+
+  private TlsEngineProviders() {}
+
+  /**
+   * @return the provider that uses the JDK implementation.
+   */
+  public static TlsEngineProvider jdk() {
+    return JDK_PROVIDER;
+  }
+
+  /**
+   * @param configName the name of the listener or requester config, or {@code null} to only use the container wide setting
+   * @return the provider for the given config. If the configured one can't be loaded, the JDK one is used.
+   */
+  public static TlsEngineProvider forConfig(String configName) {
+    String providerClassName = getProperty(TLS_ENGINE_PROVIDER_PROPERTY);
+    if (configName != null) {
+      providerClassName = getProperty(TLS_ENGINE_PROVIDER_PROPERTY + "." + configName, providerClassName);
+    }
+    if (providerClassName == null || providerClassName.trim().isEmpty()
+        || JDK_PROVIDER_NAME.equals(providerClassName.trim())) {
+      return JDK_PROVIDER;
+    }
+    return PROVIDERS.computeIfAbsent(providerClassName.trim(), TlsEngineProviders::load);
+  }
+
+  private static TlsEngineProvider load(String providerClassName) {
+    try {
+      // Not the context class loader: the provider is cached for the whole container, not for the application that asked first.
+      Class<?> providerClass = Class.forName(providerClassName, true, TlsEngineProviders.class.getClassLoader());
+      TlsEngineProvider provider = (TlsEngineProvider) providerClass.getConstructor().newInstance();
+      LOGGER.info("Using TLS engine provider '{}' ({})", provider.getName(), providerClassName);
+      return provider;
+    } catch (Exception | LinkageError e) {
+      LOGGER.warn("Could not load TLS engine provider '{}', the JDK one will be used instead: {}", providerClassName,
+                  e.toString());
+      return JDK_PROVIDER;
+    }
+  }
+
+  private static final class JdkTlsEngineProvider implements TlsEngineProvider {
+
+    @Override
+    public String getName() {
+      return JDK_PROVIDER_NAME;
+    }
+
+    @Override
+    public SSLContext createSslContext(TlsContextFactory tlsContextFactory) throws Exception {
+      return tlsContextFactory.createSslContext();
+    }
+  }
+}
@@ -7,10 +7,16 @@
 package org.mule.service.http.impl.functional.client;
 
 import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import org.mule.service.http.impl.service.client.CustomTimeoutThrottleRequestFilter;
+import org.mule.service.http.impl.service.client.metrics.HttpClientMetricsListener;
 
 import com.ning.http.client.AsyncHandler;
 import com.ning.http.client.HttpResponseBodyPart;
@@ -32,6 +38,22 @@ public class CustomTimeoutThrottleRequestFilterTestCase {
     context.getAsyncHandler().onThrowable(mock(Throwable.class));
   }
 
+  @Test
+  public void poolWaitOnlyReportedWhenBlocked() throws Exception {
+    HttpClientMetricsListener listener = mock(HttpClientMetricsListener.class);
+    CustomTimeoutThrottleRequestFilter filter = new CustomTimeoutThrottleRequestFilter(1, listener);
+
+    filter.filter(getFilterContext());
+    verify(listener, never()).onPoolWait(anyLong(), anyBoolean());
+
+    try {
+      filter.filter(getFilterContext());
+      fail("The second request should have been rejected");
+    } catch (FilterException e) {
+      verify(listener).onPoolWait(anyLong(), eq(false));
+    }
+  }
+
   private static FilterContext getFilterContext() {
     Request request = mock(Request.class);
     FilterContext filterContext = mock(FilterContext.class);
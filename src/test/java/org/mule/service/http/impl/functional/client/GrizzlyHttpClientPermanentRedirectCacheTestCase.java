@@ -0,0 +1,182 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.service.http.impl.functional.client;
+
+import static org.mule.runtime.api.scheduler.SchedulerConfig.config;
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+import static org.mule.runtime.http.api.HttpConstants.HttpStatus.MOVED_PERMANENTLY;
+import static org.mule.runtime.http.api.HttpConstants.HttpStatus.OK;
+import static org.mule.runtime.http.api.HttpHeaders.Names.COOKIE;
+import static org.mule.runtime.http.api.HttpHeaders.Names.LOCATION;
+import static org.mule.runtime.http.api.HttpHeaders.Names.SET_COOKIE;
+
+import static java.util.Arrays.asList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import org.mule.runtime.api.scheduler.SchedulerService;
+import org.mule.runtime.http.api.client.HttpClientConfiguration;
+import org.mule.runtime.http.api.domain.message.request.HttpRequest;
+import org.mule.runtime.http.api.domain.message.response.HttpResponse;
+import org.mule.runtime.http.api.domain.message.response.HttpResponseBuilder;
+import org.mule.service.http.impl.service.HttpServiceImplementation;
+import org.mule.service.http.impl.service.client.GrizzlyHttpClient;
+import org.mule.tck.junit4.rule.SystemProperty;
+import org.mule.tck.probe.JUnitLambdaProbe;
+import org.mule.tck.probe.PollingProber;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.qameta.allure.Description;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runners.Parameterized;
+
+import com.ning.http.client.MaxRedirectException;
+
+public class GrizzlyHttpClientPermanentRedirectCacheTestCase extends AbstractHttpRedirectClientTestCase {
+
+  private static final String COOKIE_PATH = "/cookie";
+  private static final String TARGET_PATH = "/target";
+
+  @Rule
+  public SystemProperty redirectCacheSize =
+      new SystemProperty(SYSTEM_PROPERTY_PREFIX + "http.client.redirectCache.maxSize", "10");
+
+  private final boolean async;
+  private final AtomicInteger redirects = new AtomicInteger();
+  private final List<String> receivedCookies = new CopyOnWriteArrayList<>();
+  private final List<HttpRequest> completedRedirects = new CopyOnWriteArrayList<>();
+  private volatile boolean targetRedirects;
+  private int originalMaxRedirects;
+  private SchedulerService schedulerService;
+  private GrizzlyHttpClient client;
+
+  public GrizzlyHttpClientPermanentRedirectCacheTestCase(String serviceToLoad, boolean async) {
+    super(serviceToLoad);
+    this.async = async;
+  }
+
+  @Parameterized.Parameters(name = "async: {1}")
+  public static Iterable<Object[]> params() {
+    return asList(new Object[][] {
+        {HttpServiceImplementation.class.getName(), true},
+        {HttpServiceImplementation.class.getName(), false}
+    });
+  }
+
+  @Override
+  protected SchedulerService getSchedulerService() {
+    schedulerService = super.getSchedulerService();
+    return schedulerService;
+  }
+
+  @Before
+  public void before() {
+    originalMaxRedirects = GrizzlyHttpClient.MAX_REDIRECTS;
+    client = new GrizzlyHttpClient(new HttpClientConfiguration.Builder().setName("redirect-cache-test").build(),
+                                   schedulerService, config(), feature -> false) {
+
+      @Override
+      protected void onCompleteRedirect(HttpRequest redirectRequest) {
+        completedRedirects.add(redirectRequest);
+      }
+    };
+    client.start();
+  }
+
+  @After
+  public void stopClient() {
+    GrizzlyHttpClient.MAX_REDIRECTS = originalMaxRedirects;
+    if (client != null) {
+      client.stop();
+    }
+  }
+
+  @Test
+  @Description("A permanently redirected URI is sent straight to its location the next time, completing the skipped redirect.")
+  public void cachedRedirectIsSkipped() throws Exception {
+    assertThat(send(getRedirectUri()).getStatusCode(), is(OK.getStatusCode()));
+    assertThat(send(getRedirectUri()).getStatusCode(), is(OK.getStatusCode()));
+
+    assertThat(redirects.get(), is(1));
+    new PollingProber(TIMEOUT, 100).check(new JUnitLambdaProbe(() -> {
+      assertThat(completedRedirects.size(), is(2));
+      return true;
+    }));
+  }
+
+  @Test
+  @Description("A permanent redirect that sets cookies is followed every time, so the cookies reach the new location.")
+  public void redirectSettingCookiesIsNotCached() throws Exception {
+    send(getRedirectUri() + COOKIE_PATH);
+    send(getRedirectUri() + COOKIE_PATH);
+
+    assertThat(redirects.get(), is(2));
+    assertThat(receivedCookies, is(asList("session=value", "session=value")));
+  }
+
+  @Test
+  @Description("The redirects skipped through the cache count towards the maximum amount of redirects to follow.")
+  public void cachedRedirectsCountTowardsMaxRedirects() throws Exception {
+    GrizzlyHttpClient.MAX_REDIRECTS = 1;
+    send(getRedirectUri());
+
+    targetRedirects = true;
+    try {
+      send(getRedirectUri());
+      fail("The cached redirect should have exhausted the redirects to follow");
+    } catch (Exception e) {
+      assertThat(e.getCause(), instanceOf(MaxRedirectException.class));
+    }
+  }
+
+  private HttpResponse send(String uri) throws Exception {
+    HttpRequest request = HttpRequest.builder().uri(uri).build();
+    if (async) {
+      return client.sendAsync(request, getDefaultOptions(TIMEOUT)).get(TIMEOUT, MILLISECONDS);
+    }
+    return client.send(request, getDefaultOptions(TIMEOUT));
+  }
+
+  @Override
+  protected HttpResponse setUpHttpRedirectResponse(HttpRequest request) {
+    redirects.incrementAndGet();
+    HttpResponseBuilder response = HttpResponse.builder()
+        .statusCode(MOVED_PERMANENTLY.getStatusCode())
+        .reasonPhrase(MOVED_PERMANENTLY.getReasonPhrase())
+        .addHeader(LOCATION, getUri() + TARGET_PATH);
+    if (request.getPath().equals(COOKIE_PATH)) {
+      response.addHeader(SET_COOKIE, "session=value");
+    }
+    return response.build();
+  }
+
+  @Override
+  protected HttpResponse setUpHttpResponse(HttpRequest request) {
+    if (targetRedirects && request.getPath().equals(TARGET_PATH)) {
+      return HttpResponse.builder()
+          .statusCode(MOVED_PERMANENTLY.getStatusCode())
+          .reasonPhrase(MOVED_PERMANENTLY.getReasonPhrase())
+          .addHeader(LOCATION, getUri() + "/final")
+          .build();
+    }
+    String cookie = request.getHeaderValue(COOKIE);
+    if (cookie != null) {
+      receivedCookies.add(cookie);
+    }
+    return HttpResponse.builder().statusCode(OK.getStatusCode()).build();
+  }
+}
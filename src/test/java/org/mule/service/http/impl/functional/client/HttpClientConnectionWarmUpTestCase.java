@@ -0,0 +1,115 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.service.http.impl.functional.client;
+
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+import static org.mule.runtime.http.api.HttpConstants.Method.HEAD;
+import static org.mule.service.http.impl.service.client.metrics.HttpClientMetrics.ENABLE_METRICS_PROPERTY_NAME;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import org.mule.runtime.http.api.client.HttpClient;
+import org.mule.runtime.http.api.client.HttpClientConfiguration;
+import org.mule.runtime.http.api.domain.message.request.HttpRequest;
+import org.mule.runtime.http.api.domain.message.response.HttpResponse;
+import org.mule.service.http.impl.service.client.GrizzlyHttpClient;
+import org.mule.service.http.impl.service.client.metrics.HttpClientMetrics;
+import org.mule.tck.junit4.rule.SystemProperty;
+import org.mule.tck.probe.JUnitLambdaProbe;
+import org.mule.tck.probe.PollingProber;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import io.qameta.allure.Description;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class HttpClientConnectionWarmUpTestCase extends AbstractHttpClientTestCase {
+
+  private static final String CLIENT_NAME = "warm-up-test";
+  private static final String TARGETS_PROPERTY = SYSTEM_PROPERTY_PREFIX + "http.client.warmup." + CLIENT_NAME + ".targets";
+  private static final String CONNECTIONS_PROPERTY =
+      SYSTEM_PROPERTY_PREFIX + "http.client.warmup." + CLIENT_NAME + ".connections";
+  private static final int WARMUP_CONNECTIONS = 3;
+
+  @Rule
+  public SystemProperty metricsEnabled = new SystemProperty(ENABLE_METRICS_PROPERTY_NAME, "true");
+
+  private final CountDownLatch warmUpRequests = new CountDownLatch(WARMUP_CONNECTIONS);
+  private final CountDownLatch concurrentRequests = new CountDownLatch(WARMUP_CONNECTIONS);
+  private HttpClient client;
+
+  public HttpClientConnectionWarmUpTestCase(String serviceToLoad) {
+    super(serviceToLoad);
+  }
+
+  @Before
+  public void configureWarmUp() {
+    System.setProperty(TARGETS_PROPERTY, getUri() + "/health");
+    System.setProperty(CONNECTIONS_PROPERTY, String.valueOf(WARMUP_CONNECTIONS));
+  }
+
+  @After
+  public void stopClient() {
+    if (client != null) {
+      client.stop();
+    }
+    System.clearProperty(TARGETS_PROPERTY);
+    System.clearProperty(CONNECTIONS_PROPERTY);
+  }
+
+  @Override
+  protected HttpResponse setUpHttpResponse(HttpRequest request) {
+    if (request.getMethod().equals(HEAD.name())) {
+      warmUpRequests.countDown();
+    } else {
+      // Hold every request until all of them arrive, so each one needs a connection of its own.
+      concurrentRequests.countDown();
+      try {
+        concurrentRequests.await(TIMEOUT, MILLISECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    return HttpResponse.builder().build();
+  }
+
+  @Test
+  @Description("The configured amount of connections are opened to each target as soon as the client starts and kept pooled.")
+  public void connectionsAreWarmedUpOnStart() throws Exception {
+    client = service.getClientFactory().create(new HttpClientConfiguration.Builder()
+        .setName(CLIENT_NAME)
+        .build());
+    client.start();
+
+    assertThat(warmUpRequests.await(TIMEOUT, MILLISECONDS), is(true));
+
+    HttpClientMetrics metrics = ((GrizzlyHttpClient) client).getMetrics().get();
+    new PollingProber(TIMEOUT, 100).check(new JUnitLambdaProbe(() -> {
+      assertThat(metrics.getIdleConnections(), is(WARMUP_CONNECTIONS));
+      return true;
+    }));
+
+    List<CompletableFuture<HttpResponse>> responses = new ArrayList<>();
+    for (int i = 0; i < WARMUP_CONNECTIONS; ++i) {
+      responses.add(client.sendAsync(HttpRequest.builder().uri(getUri() + "/test").build(), getDefaultOptions(TIMEOUT)));
+    }
+    for (CompletableFuture<HttpResponse> response : responses) {
+      assertThat(response.get().getStatusCode(), is(200));
+    }
+    // The concurrent requests were all sent through the warm connections.
+    assertThat(metrics.getConnectionsOpened(), is((long) WARMUP_CONNECTIONS));
+  }
+}
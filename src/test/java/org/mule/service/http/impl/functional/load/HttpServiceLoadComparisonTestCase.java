@@ -0,0 +1,125 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.service.http.impl.functional.load;
+
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+import static org.mule.service.http.impl.AllureConstants.HttpFeature.HTTP_SERVICE;
+import static org.mule.service.http.impl.functional.load.HttpServiceLoadHarness.LoadResult.CSV_HEADER;
+import static org.mule.service.http.impl.provider.HttpServiceProvider.GRIZZLY_IMPLEMENTATION_NAME;
+import static org.mule.service.http.impl.provider.HttpServiceProvider.NETTY_IMPLEMENTATION_NAME;
+import static org.mule.service.http.impl.util.TlsEngineProviders.JDK_PROVIDER_NAME;
+
+import static java.lang.Boolean.getBoolean;
+import static java.lang.Long.getLong;
+import static java.lang.System.getProperty;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.createDirectories;
+import static java.nio.file.Files.write;
+import static java.util.Arrays.asList;
+import static java.util.concurrent.TimeUnit.HOURS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.Assume.assumeTrue;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.service.http.impl.functional.load.HttpServiceLoadHarness.LoadResult;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.junit4.rule.DynamicPort;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.slf4j.Logger;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+
+/**
+ * Runs every {@link LoadScenario} against each HTTP service implementation and writes a CSV report with the results. Since it
+ * takes a few minutes, it only runs when the {@code mule.http.load.enable} system property is set:
+ *
+ * <pre>
+ * mvn test -Dtest=HttpServiceLoadComparisonTestCase -Dmule.http.load.enable=true
+ * </pre>
+ *
+ * The implementations to compare, the warm up and the measured duration of each scenario and the directory for the report can
+ * be changed through the {@code mule.http.load.implementations}, {@code mule.http.load.warmUpSeconds},
+ * {@code mule.http.load.durationSeconds} and {@code mule.http.load.reportDir} system properties.
+ * <p>
+ * Each implementation runs once for every TLS engine provider in the comma separated {@code mule.http.load.tlsEngineProviders}
+ * system property, the JDK one by default. Other providers have to be in the test classpath:
+ *
+ * <pre>
+ * mvn test -Dtest=HttpServiceLoadComparisonTestCase -Dmule.http.load.enable=true \
+ *     -Dmule.http.load.tlsEngineProviders=jdk,com.example.OpenSslTlsEngineProvider
+ * </pre>
+ */
+@Feature(HTTP_SERVICE)
+public class HttpServiceLoadComparisonTestCase extends AbstractMuleTestCase {
+
+  private static final Logger LOGGER = getLogger(HttpServiceLoadComparisonTestCase.class);
+
+  private static final String LOAD_PROPERTY_PREFIX = SYSTEM_PROPERTY_PREFIX + "http.load.";
+  public static final String ENABLE_LOAD_PROPERTY_NAME = LOAD_PROPERTY_PREFIX + "enable";
+  public static final String IMPLEMENTATIONS_PROPERTY_NAME = LOAD_PROPERTY_PREFIX + "implementations";
+  public static final String WARM_UP_SECONDS_PROPERTY_NAME = LOAD_PROPERTY_PREFIX + "warmUpSeconds";
+  public static final String DURATION_SECONDS_PROPERTY_NAME = LOAD_PROPERTY_PREFIX + "durationSeconds";
+  public static final String REPORT_DIR_PROPERTY_NAME = LOAD_PROPERTY_PREFIX + "reportDir";
+  public static final String TLS_ENGINE_PROVIDERS_PROPERTY_NAME = LOAD_PROPERTY_PREFIX + "tlsEngineProviders";
+
+  @Rule
+  public DynamicPort port = new DynamicPort("port");
+
+  @Rule
+  public DynamicPort tlsPort = new DynamicPort("tlsPort");
+
+  @Override
+  protected int getTestTimeoutSecs() {
+    return (int) HOURS.toSeconds(1);
+  }
+
+  @Test
+  @Description("Measures the throughput, latency and allocation of the listeners of each implementation for the same workloads.")
+  public void compareImplementations() throws Exception {
+    assumeTrue(getBoolean(ENABLE_LOAD_PROPERTY_NAME));
+
+    HttpServiceLoadHarness harness = new HttpServiceLoadHarness(port.getNumber(), tlsPort.getNumber(),
+                                                                SECONDS.toMillis(getLong(WARM_UP_SECONDS_PROPERTY_NAME, 3)),
+                                                                SECONDS.toMillis(getLong(DURATION_SECONDS_PROPERTY_NAME, 10)));
+    String implementations = getProperty(IMPLEMENTATIONS_PROPERTY_NAME,
+                                         GRIZZLY_IMPLEMENTATION_NAME + "," + NETTY_IMPLEMENTATION_NAME);
+
+    String tlsEngineProviders = getProperty(TLS_ENGINE_PROVIDERS_PROPERTY_NAME, JDK_PROVIDER_NAME);
+
+    List<LoadResult> results = new ArrayList<>();
+    for (String implementationName : implementations.split(",")) {
+      for (String tlsEngineProvider : tlsEngineProviders.split(",")) {
+        results.addAll(harness.run(implementationName.trim(), tlsEngineProvider.trim(), asList(LoadScenario.values())));
+      }
+    }
+
+    List<String> report = new ArrayList<>();
+    report.add(CSV_HEADER);
+    for (LoadResult result : results) {
+      LOGGER.info(result.toString());
+      report.add(result.toCsv());
+    }
+    Path reportDir = createDirectories(Paths.get(getProperty(REPORT_DIR_PROPERTY_NAME, "target")));
+    Path reportFile = write(reportDir.resolve("http-service-load.csv"), report, UTF_8);
+    LOGGER.info("Load report written to {}", reportFile.toAbsolutePath());
+
+    for (LoadResult result : results) {
+      assertThat(result.getImplementationName() + " " + result.getScenario(), result.getRequests(), greaterThan(0L));
+    }
+  }
+}
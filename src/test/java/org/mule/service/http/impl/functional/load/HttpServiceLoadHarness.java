@@ -0,0 +1,441 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.service.http.impl.functional.load;
+
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.startIfNeeded;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.stopIfNeeded;
+import static org.mule.runtime.http.api.HttpConstants.HttpStatus.INTERNAL_SERVER_ERROR;
+import static org.mule.runtime.http.api.HttpConstants.HttpStatus.OK;
+import static org.mule.runtime.http.api.HttpHeaders.Names.CONTENT_TYPE;
+import static org.mule.service.http.impl.functional.load.LoadScenario.JSON_PAYLOAD;
+import static org.mule.service.http.impl.functional.load.LoadScenario.LARGE_PAYLOAD_SIZE;
+import static org.mule.service.http.impl.provider.HttpServiceProvider.GRIZZLY_IMPLEMENTATION_NAME;
+import static org.mule.service.http.impl.provider.HttpServiceProvider.HYBRID_IMPLEMENTATION_NAME;
+import static org.mule.service.http.impl.provider.HttpServiceProvider.NETTY_IMPLEMENTATION_NAME;
+import static org.mule.service.http.impl.util.TlsEngineProviders.TLS_ENGINE_PROVIDER_PROPERTY;
+
+import static java.lang.String.format;
+import static java.lang.System.clearProperty;
+import static java.lang.System.setProperty;
+import static java.lang.System.nanoTime;
+import static java.lang.management.ManagementFactory.getThreadMXBean;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.copyOf;
+import static java.util.Arrays.sort;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import org.mule.runtime.api.lifecycle.Stoppable;
+import org.mule.runtime.api.scheduler.SchedulerService;
+import org.mule.runtime.api.tls.TlsContextFactory;
+import org.mule.runtime.http.api.HttpService;
+import org.mule.runtime.http.api.domain.entity.ByteArrayHttpEntity;
+import org.mule.runtime.http.api.domain.entity.HttpEntity;
+import org.mule.runtime.http.api.domain.entity.InputStreamHttpEntity;
+import org.mule.runtime.http.api.domain.message.response.HttpResponse;
+import org.mule.runtime.http.api.server.HttpServer;
+import org.mule.runtime.http.api.server.HttpServerConfiguration;
+import org.mule.runtime.http.api.server.async.HttpResponseReadyCallback;
+import org.mule.runtime.http.api.server.async.ResponseStatusCallback;
+import org.mule.service.http.impl.functional.load.LoadScenario.GeneratedInputStream;
+import org.mule.service.http.impl.service.HttpServiceImplementation;
+import org.mule.service.http.impl.service.HybridHttpServiceImplementation;
+import org.mule.service.http.netty.impl.service.NettyHttpServiceImplementation;
+import org.mule.tck.SimpleUnitTestSupportSchedulerService;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.conn.ssl.NoopHostnameVerifier;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.util.EntityUtils;
+
+/**
+ * Runs the {@link LoadScenario}s against the listeners of an HTTP service implementation and measures their throughput, latency
+ * percentiles and allocation.
+ * <p>
+ * The load is generated in the same JVM by an Apache HTTP client, which is the same for every implementation so their results
+ * can be compared. For the same reason, the allocation reported is the one of the whole JVM, load generator included.
+ * <p>
+ * The TLS listener can use any {@link org.mule.service.http.impl.util.TlsEngineProvider}, so the TLS scenarios can also compare
+ * providers. Only the listeners created with Grizzly honour it.
+ */
+public class HttpServiceLoadHarness {
+
+  static final String PASS = "mulepassword";
+
+  private static final byte[] OK_PAYLOAD = "{\"status\":\"ok\"}".getBytes(UTF_8);
+  private static final ResponseStatusCallback NO_OP_STATUS_CALLBACK = new ResponseStatusCallback() {
+
+    @Override
+    public void responseSendFailure(Throwable throwable) {
+      // The client counts the failed request.
+    }
+
+    @Override
+    public void responseSendSuccessfully() {
+      // Nothing to do
+    }
+  };
+
+  private final int port;
+  private final int tlsPort;
+  private final long warmUpMillis;
+  private final long durationMillis;
+
+  /**
+   * @param port           the port for the plain text listener
+   * @param tlsPort        the port for the TLS listener
+   * @param warmUpMillis   how long each scenario runs before measuring it
+   * @param durationMillis how long each scenario is measured for
+   */
+  public HttpServiceLoadHarness(int port, int tlsPort, long warmUpMillis, long durationMillis) {
+    this.port = port;
+    this.tlsPort = tlsPort;
+    this.warmUpMillis = warmUpMillis;
+    this.durationMillis = durationMillis;
+  }
+
+  /**
+   * @param implementationName the implementation to test, as set through
+   *                           {@link org.mule.service.http.impl.provider.HttpServiceProvider#IMPLEMENTATION_PROPERTY_NAME}
+   * @param tlsEngineProvider  the TLS engine provider of the TLS listener, as set through
+   *                           {@link org.mule.service.http.impl.util.TlsEngineProviders#TLS_ENGINE_PROVIDER_PROPERTY}
+   * @param scenarios          the scenarios to run, one after the other, against the same listeners
+   * @return the results of each scenario
+   */
+  public List<LoadResult> run(String implementationName, String tlsEngineProvider, Collection<LoadScenario> scenarios)
+      throws Exception {
+    String tlsServerName = "load-tls-" + implementationName;
+    String tlsEngineProviderProperty = TLS_ENGINE_PROVIDER_PROPERTY + "." + tlsServerName;
+    SchedulerService schedulerService = new SimpleUnitTestSupportSchedulerService();
+    HttpService service = createService(implementationName, schedulerService);
+    startIfNeeded(service);
+    HttpServer server = null;
+    HttpServer tlsServer = null;
+    setProperty(tlsEngineProviderProperty, tlsEngineProvider);
+    try {
+      server = startServer(service, "load-" + implementationName, port, null);
+      tlsServer = startServer(service, tlsServerName, tlsPort, TlsContextFactory.builder()
+          .keyStorePath("tls/serverKeystore")
+          .keyStorePassword(PASS)
+          .keyPassword(PASS)
+          .build());
+
+      List<LoadResult> results = new ArrayList<>();
+      for (LoadScenario scenario : scenarios) {
+        results.add(runScenario(implementationName, tlsEngineProvider, scenario));
+      }
+      return results;
+    } finally {
+      clearProperty(tlsEngineProviderProperty);
+      stopServer(server);
+      stopServer(tlsServer);
+      stopIfNeeded(service);
+      ((Stoppable) schedulerService).stop();
+    }
+  }
+
+  private static HttpService createService(String implementationName, SchedulerService schedulerService) {
+    switch (implementationName) {
+      case GRIZZLY_IMPLEMENTATION_NAME:
+        return new HttpServiceImplementation(schedulerService);
+      case NETTY_IMPLEMENTATION_NAME:
+        return new NettyHttpServiceImplementation(schedulerService);
+      case HYBRID_IMPLEMENTATION_NAME:
+        return new HybridHttpServiceImplementation(schedulerService);
+      default:
+        throw new IllegalArgumentException(format("Unknown HTTP Service implementation '%s'", implementationName));
+    }
+  }
+
+  private static HttpServer startServer(HttpService service, String name, int port, TlsContextFactory tlsContextFactory)
+      throws Exception {
+    HttpServer server = service.getServerFactory().create(new HttpServerConfiguration.Builder()
+        .setHost("localhost")
+        .setPort(port)
+        .setName(name)
+        .setTlsContextFactory(tlsContextFactory)
+        .build());
+    server.addRequestHandler("/json", (requestContext, responseCallback) -> {
+      if (drain(requestContext.getRequest().getEntity())) {
+        respond(responseCallback, OK.getStatusCode(), new ByteArrayHttpEntity(JSON_PAYLOAD));
+      } else {
+        respond(responseCallback, INTERNAL_SERVER_ERROR.getStatusCode(), new ByteArrayHttpEntity(new byte[0]));
+      }
+    });
+    server.addRequestHandler("/upload", (requestContext, responseCallback) -> {
+      if (drain(requestContext.getRequest().getEntity())) {
+        respond(responseCallback, OK.getStatusCode(), new ByteArrayHttpEntity(OK_PAYLOAD));
+      } else {
+        respond(responseCallback, INTERNAL_SERVER_ERROR.getStatusCode(), new ByteArrayHttpEntity(new byte[0]));
+      }
+    });
+    server.addRequestHandler("/download", (requestContext, responseCallback) -> {
+      InputStream body = new GeneratedInputStream(LARGE_PAYLOAD_SIZE);
+      respond(responseCallback, OK.getStatusCode(), new InputStreamHttpEntity(body));
+    });
+    server.addRequestHandler("/multipart", (requestContext, responseCallback) -> {
+      try {
+        int parts = requestContext.getRequest().getEntity().getParts().size();
+        respond(responseCallback, OK.getStatusCode(), new ByteArrayHttpEntity(("{\"parts\":" + parts + "}").getBytes(UTF_8)));
+      } catch (IOException e) {
+        respond(responseCallback, INTERNAL_SERVER_ERROR.getStatusCode(), new ByteArrayHttpEntity(new byte[0]));
+      }
+    });
+    server.start();
+    return server;
+  }
+
+  private static boolean drain(HttpEntity entity) {
+    byte[] buffer = new byte[8 * 1024];
+    try (InputStream content = entity.getContent()) {
+      while (content.read(buffer) != -1) {
+        // Discard the body, only reading it matters.
+      }
+      return true;
+    } catch (IOException e) {
+      return false;
+    }
+  }
+
+  private static void respond(HttpResponseReadyCallback responseCallback, int statusCode, HttpEntity entity) {
+    responseCallback.responseReady(HttpResponse.builder()
+        .statusCode(statusCode)
+        .addHeader(CONTENT_TYPE, "application/json")
+        .entity(entity)
+        .build(), NO_OP_STATUS_CALLBACK);
+  }
+
+  private static void stopServer(HttpServer server) {
+    if (server != null) {
+      server.stop();
+      server.dispose();
+    }
+  }
+
+  private LoadResult runScenario(String implementationName, String tlsEngineProvider, LoadScenario scenario)
+      throws Exception {
+    String baseUri = scenario.isTls() ? "https://localhost:" + tlsPort : "http://localhost:" + port;
+    int concurrency = scenario.getConcurrency();
+    LatencyBuffer[] latencies = new LatencyBuffer[concurrency];
+    AtomicLong errors = new AtomicLong();
+    ExecutorService executor = newFixedThreadPool(concurrency);
+
+    try (CloseableHttpClient client = createClient(scenario)) {
+      long measureFrom = nanoTime() + MILLISECONDS.toNanos(warmUpMillis);
+      long end = measureFrom + MILLISECONDS.toNanos(durationMillis);
+      List<Future<?>> workers = new ArrayList<>(concurrency);
+      for (int i = 0; i < concurrency; ++i) {
+        LatencyBuffer buffer = new LatencyBuffer();
+        latencies[i] = buffer;
+        workers.add(executor.submit(() -> drive(client, scenario, baseUri, measureFrom, end, buffer, errors)));
+      }
+
+      NANOSECONDS.sleep(measureFrom - nanoTime());
+      long allocatedBefore = allocatedBytes();
+      for (Future<?> worker : workers) {
+        worker.get();
+      }
+      long allocatedAfter = allocatedBytes();
+      long elapsedNanos = nanoTime() - measureFrom;
+
+      return new LoadResult(implementationName, tlsEngineProvider, scenario, merge(latencies), errors.get(), elapsedNanos,
+                            allocatedBefore < 0 ? -1 : allocatedAfter - allocatedBefore);
+    } finally {
+      executor.shutdownNow();
+      executor.awaitTermination(10, SECONDS);
+    }
+  }
+
+  private static CloseableHttpClient createClient(LoadScenario scenario) throws Exception {
+    HttpClientBuilder builder = HttpClients.custom()
+        .setMaxConnTotal(scenario.getConcurrency())
+        .setMaxConnPerRoute(scenario.getConcurrency())
+        .disableAutomaticRetries();
+    if (scenario.isTls()) {
+      builder.setSSLContext(TlsContextFactory.builder()
+          .trustStorePath("tls/trustStore")
+          .trustStorePassword(PASS)
+          .build()
+          .createSslContext())
+          .setSSLHostnameVerifier(NoopHostnameVerifier.INSTANCE);
+    }
+    return builder.build();
+  }
+
+  private static void drive(CloseableHttpClient client, LoadScenario scenario, String baseUri, long measureFrom, long end,
+                            LatencyBuffer latencies, AtomicLong errors) {
+    long start;
+    while ((start = nanoTime()) < end) {
+      boolean succeeded;
+      try (CloseableHttpResponse response = client.execute(scenario.createRequest(baseUri))) {
+        EntityUtils.consume(response.getEntity());
+        succeeded = response.getStatusLine().getStatusCode() == OK.getStatusCode();
+      } catch (IOException e) {
+        succeeded = false;
+      }
+      if (start >= measureFrom) {
+        if (succeeded) {
+          latencies.add(nanoTime() - start);
+        } else {
+          errors.incrementAndGet();
+        }
+      }
+    }
+  }
+
+  private static long[] merge(LatencyBuffer[] latencies) {
+    int total = 0;
+    for (LatencyBuffer buffer : latencies) {
+      total += buffer.size;
+    }
+    long[] merged = new long[total];
+    int position = 0;
+    for (LatencyBuffer buffer : latencies) {
+      System.arraycopy(buffer.values, 0, merged, position, buffer.size);
+      position += buffer.size;
+    }
+    sort(merged);
+    return merged;
+  }
+
+  /**
+   * @return the bytes allocated so far by the live threads of the JVM, or {@code -1} if the JVM can't tell.
+   */
+  private static long allocatedBytes() {
+    ThreadMXBean threadMXBean = getThreadMXBean();
+    if (!(threadMXBean instanceof com.sun.management.ThreadMXBean)
+        || !((com.sun.management.ThreadMXBean) threadMXBean).isThreadAllocatedMemorySupported()) {
+      return -1;
+    }
+    long total = 0;
+    for (long allocated : ((com.sun.management.ThreadMXBean) threadMXBean)
+        .getThreadAllocatedBytes(threadMXBean.getAllThreadIds())) {
+      if (allocated > 0) {
+        total += allocated;
+      }
+    }
+    return total;
+  }
+
+  /**
+   * The latencies recorded by a single load generating thread, so recording one doesn't contend with the others.
+   */
+  private static final class LatencyBuffer {
+
+    private long[] values = new long[1024];
+    private int size;
+
+    private void add(long value) {
+      if (size == values.length) {
+        values = copyOf(values, size * 2);
+      }
+      values[size++] = value;
+    }
+  }
+
+  /**
+   * The measurements of a scenario run against an implementation.
+   */
+  public static final class LoadResult {
+
+    static final String CSV_HEADER =
+        "implementation,tls_engine_provider,scenario,concurrency,requests,errors,throughput_rps,p50_us,p99_us,p999_us,"
+            + "allocated_bytes_per_request";
+
+    private final String implementationName;
+    private final String tlsEngineProvider;
+    private final LoadScenario scenario;
+    private final long[] sortedLatencies;
+    private final long errors;
+    private final long elapsedNanos;
+    private final long allocatedBytes;
+
+    private LoadResult(String implementationName, String tlsEngineProvider, LoadScenario scenario, long[] sortedLatencies,
+                       long errors, long elapsedNanos, long allocatedBytes) {
+      this.implementationName = implementationName;
+      this.tlsEngineProvider = tlsEngineProvider;
+      this.scenario = scenario;
+      this.sortedLatencies = sortedLatencies;
+      this.errors = errors;
+      this.elapsedNanos = elapsedNanos;
+      this.allocatedBytes = allocatedBytes;
+    }
+
+    public String getImplementationName() {
+      return implementationName;
+    }
+
+    /**
+     * @return the TLS engine provider of the TLS listener, which only matters for the TLS scenarios.
+     */
+    public String getTlsEngineProvider() {
+      return tlsEngineProvider;
+    }
+
+    public LoadScenario getScenario() {
+      return scenario;
+    }
+
+    public long getRequests() {
+      return sortedLatencies.length;
+    }
+
+    public long getErrors() {
+      return errors;
+    }
+
+    public double getThroughput() {
+      return sortedLatencies.length * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * @param percentile between 0 and 100
+     * @return the latency of the given percentile of the successful requests, in microseconds.
+     */
+    public long getLatencyMicros(double percentile) {
+      if (sortedLatencies.length == 0) {
+        return 0;
+      }
+      int index = (int) Math.ceil(percentile / 100 * sortedLatencies.length) - 1;
+      return NANOSECONDS.toMicros(sortedLatencies[Math.max(0, Math.min(index, sortedLatencies.length - 1))]);
+    }
+
+    /**
+     * @return the bytes allocated by the JVM per successful request, or {@code -1} if the JVM can't tell.
+     */
+    public long getAllocatedBytesPerRequest() {
+      return allocatedBytes < 0 || sortedLatencies.length == 0 ? -1 : allocatedBytes / sortedLatencies.length;
+    }
+
+    String toCsv() {
+      return format("%s,%s,%s,%d,%d,%d,%.1f,%d,%d,%d,%d", implementationName, tlsEngineProvider, scenario,
+                    scenario.getConcurrency(), getRequests(), errors, getThroughput(), getLatencyMicros(50),
+                    getLatencyMicros(99), getLatencyMicros(99.9), getAllocatedBytesPerRequest());
+    }
+
+    @Override
+    public String toString() {
+      return format("%-8s %-8s %-22s %8.1f req/s  p50 %7d us  p99 %7d us  p999 %7d us  %9d B/req  (%d requests, %d errors)",
+                    implementationName, tlsEngineProvider, scenario, getThroughput(), getLatencyMicros(50),
+                    getLatencyMicros(99), getLatencyMicros(99.9), getAllocatedBytesPerRequest(), getRequests(), errors);
+    }
+  }
+}
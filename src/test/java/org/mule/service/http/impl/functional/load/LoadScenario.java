@@ -0,0 +1,158 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.service.http.impl.functional.load;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import static org.apache.http.entity.ContentType.APPLICATION_JSON;
+import static org.apache.http.entity.ContentType.APPLICATION_OCTET_STREAM;
+import static org.apache.http.entity.ContentType.TEXT_PLAIN;
+
+import java.io.InputStream;
+
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.InputStreamEntity;
+import org.apache.http.entity.mime.MultipartEntityBuilder;
+
+/**
+ * The workloads run by {@link HttpServiceLoadHarness} against each HTTP service implementation. Every scenario is a closed loop
+ * of {@link #getConcurrency()} clients, each sending its next request as soon as it got the previous response.
+ */
+public enum LoadScenario {
+
+  SMALL_JSON("/json", 16, false) {
+
+    @Override
+    HttpUriRequest createRequest(String baseUri) {
+      HttpPost post = new HttpPost(baseUri + getPath());
+      post.setEntity(new ByteArrayEntity(JSON_PAYLOAD, APPLICATION_JSON));
+      return post;
+    }
+  },
+
+  LARGE_UPLOAD("/upload", 4, false) {
+
+    @Override
+    HttpUriRequest createRequest(String baseUri) {
+      HttpPost post = new HttpPost(baseUri + getPath());
+      // An unknown length makes the body be sent chunked, as a streamed one would be.
+      post.setEntity(new InputStreamEntity(new GeneratedInputStream(LARGE_PAYLOAD_SIZE), -1, APPLICATION_OCTET_STREAM));
+      return post;
+    }
+  },
+
+  LARGE_DOWNLOAD("/download", 4, false) {
+
+    @Override
+    HttpUriRequest createRequest(String baseUri) {
+      return new HttpGet(baseUri + getPath());
+    }
+  },
+
+  KEEP_ALIVE_CONNECTIONS("/json", 256, false) {
+
+    @Override
+    HttpUriRequest createRequest(String baseUri) {
+      return new HttpGet(baseUri + getPath());
+    }
+  },
+
+  TLS_SMALL_JSON("/json", 16, true) {
+
+    @Override
+    HttpUriRequest createRequest(String baseUri) {
+      return SMALL_JSON.createRequest(baseUri);
+    }
+  },
+
+  MULTIPART("/multipart", 16, false) {
+
+    @Override
+    HttpUriRequest createRequest(String baseUri) {
+      HttpPost post = new HttpPost(baseUri + getPath());
+      post.setEntity(MultipartEntityBuilder.create()
+          .addTextBody("description", "load test", TEXT_PLAIN)
+          .addBinaryBody("metadata", JSON_PAYLOAD, APPLICATION_JSON, "metadata.json")
+          .addBinaryBody("content", new byte[MULTIPART_FILE_SIZE], APPLICATION_OCTET_STREAM, "content.bin")
+          .build());
+      return post;
+    }
+  };
+
+  static final byte[] JSON_PAYLOAD = ("{\"id\":12345,\"name\":\"load test\",\"active\":true,"
+      + "\"tags\":[\"http\",\"service\",\"benchmark\"],\"amount\":1234.56,\"currency\":\"USD\"}").getBytes(UTF_8);
+  static final long LARGE_PAYLOAD_SIZE = 8 * 1024 * 1024;
+  static final int MULTIPART_FILE_SIZE = 32 * 1024;
+
+  private final String path;
+  private final int concurrency;
+  private final boolean tls;
+
+  LoadScenario(String path, int concurrency, boolean tls) {
+    this.path = path;
+    this.concurrency = concurrency;
+    this.tls = tls;
+  }
+
+  /**
+   * @param baseUri the scheme, host and port of the server under test
+   * @return a new request for this scenario
+   */
+  abstract HttpUriRequest createRequest(String baseUri);
+
+  String getPath() {
+    return path;
+  }
+
+  int getConcurrency() {
+    return concurrency;
+  }
+
+  boolean isTls() {
+    return tls;
+  }
+
+  /**
+   * A stream of the given amount of bytes, so large bodies don't have to be held in memory by the load generator or the server.
+   * Their content is not relevant, so the buffers are left as they are.
+   */
+  static final class GeneratedInputStream extends InputStream {
+
+    private long remaining;
+
+    GeneratedInputStream(long size) {
+      this.remaining = size;
+    }
+
+    @Override
+    public int read() {
+      if (remaining <= 0) {
+        return -1;
+      }
+      remaining--;
+      return 'x';
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+      if (remaining <= 0) {
+        return -1;
+      }
+      int read = (int) Math.min(len, remaining);
+      remaining -= read;
+      return read;
+    }
+
+    @Override
+    public int available() {
+      return (int) Math.min(Integer.MAX_VALUE, remaining);
+    }
+  }
+}
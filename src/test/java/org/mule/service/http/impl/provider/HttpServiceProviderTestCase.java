@@ -7,6 +7,7 @@
 package org.mule.service.http.impl.provider;
 
 import static org.mule.service.http.impl.provider.HttpServiceProvider.GRIZZLY_IMPLEMENTATION_NAME;
+import static org.mule.service.http.impl.provider.HttpServiceProvider.HYBRID_IMPLEMENTATION_NAME;
 import static org.mule.service.http.impl.provider.HttpServiceProvider.NETTY_IMPLEMENTATION_NAME;
 import static org.mule.service.http.impl.provider.HttpServiceProvider.getImplementationName;
 import static org.mule.tck.MuleTestUtils.testWithSystemProperty;
@@ -17,6 +18,7 @@ import static org.junit.Assert.assertThrows;
 
 import org.mule.runtime.api.service.Service;
 import org.mule.service.http.impl.service.HttpServiceImplementation;
+import org.mule.service.http.impl.service.HybridHttpServiceImplementation;
 import org.mule.service.http.netty.impl.service.NettyHttpServiceImplementation;
 import org.mule.tck.junit4.AbstractMuleTestCase;
 
@@ -44,10 +46,17 @@ public class HttpServiceProviderTestCase extends AbstractMuleTestCase {
                            () -> assertThat(getImplementationName(), is(NETTY_IMPLEMENTATION_NAME)));
   }
 
+  @Test
+  public void hybridPropertyIfConfigured() throws Exception {
+    testWithSystemProperty(MULE_HTTP_SERVICE_IMPLEMENTATION_SYSTEM_PROPERTY, "HYBRID",
+                           () -> assertThat(getImplementationName(), is(HYBRID_IMPLEMENTATION_NAME)));
+  }
+
   @Test
   public void invalidPropertyThrows() throws Exception {
     testWithSystemProperty(MULE_HTTP_SERVICE_IMPLEMENTATION_SYSTEM_PROPERTY, "INVALID",
-                           () -> assertThrows("Unknown HTTP Service implementation 'INVALID'. Choose 'GRIZZLY' or 'NETTY'",
+                           () -> assertThrows("Unknown HTTP Service implementation 'INVALID'. "
+                               + "Choose 'GRIZZLY', 'NETTY' or 'HYBRID'",
                                               IllegalArgumentException.class,
                                               HttpServiceProvider::getImplementationName));
   }
@@ -70,10 +79,17 @@ public class HttpServiceProviderTestCase extends AbstractMuleTestCase {
                            () -> assertThat(getImplementationClass(), is(NettyHttpServiceImplementation.class)));
   }
 
+  @Test
+  public void hybridImplementationIfConfigured() throws Exception {
+    testWithSystemProperty(MULE_HTTP_SERVICE_IMPLEMENTATION_SYSTEM_PROPERTY, "HYBRID",
+                           () -> assertThat(getImplementationClass(), is(HybridHttpServiceImplementation.class)));
+  }
+
   @Test
   public void invalidImplementationThrows() throws Exception {
     testWithSystemProperty(MULE_HTTP_SERVICE_IMPLEMENTATION_SYSTEM_PROPERTY, "INVALID",
-                           () -> assertThrows("Unknown HTTP Service implementation 'INVALID'. Choose 'GRIZZLY' or 'NETTY'",
+                           () -> assertThrows("Unknown HTTP Service implementation 'INVALID'. "
+                               + "Choose 'GRIZZLY', 'NETTY' or 'HYBRID'",
                                               IllegalArgumentException.class,
                                               this::getImplementationClass));
   }
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.service.http.impl.service;
+
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.mule.runtime.http.api.server.HttpServer;
+import org.mule.runtime.http.api.server.HttpServerConfiguration;
+import org.mule.runtime.http.api.server.HttpServerFactory;
+import org.mule.service.http.impl.service.HybridHttpServiceImplementation.HybridHttpServerFactory;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import io.qameta.allure.Description;
+import org.junit.Before;
+import org.junit.Test;
+
+public class HybridHttpServerFactoryTestCase extends AbstractMuleTestCase {
+
+  private final HttpServerFactory grizzlyFactory = mock(HttpServerFactory.class);
+  private final HttpServerFactory nettyFactory = mock(HttpServerFactory.class);
+  private final HttpServer grizzlyServer = mock(HttpServer.class);
+  private final HttpServer nettyServer = mock(HttpServer.class);
+
+  @Before
+  public void setUp() throws Exception {
+    when(grizzlyFactory.create(any())).thenReturn(grizzlyServer);
+    when(grizzlyFactory.lookup(anyString())).thenReturn(grizzlyServer);
+    when(nettyFactory.create(any())).thenReturn(nettyServer);
+    when(nettyFactory.lookup(anyString())).thenReturn(nettyServer);
+  }
+
+  @Test
+  @Description("The listeners in the hybrid listeners property are created and looked up with Netty, the rest with Grizzly.")
+  public void listedListenersUseNetty() throws Exception {
+    HybridHttpServerFactory factory = new HybridHttpServerFactory(grizzlyFactory, nettyFactory, singleton("nettyListener"));
+
+    assertThat(factory.create(configuration("nettyListener")), is(sameInstance(nettyServer)));
+    assertThat(factory.lookup("nettyListener"), is(sameInstance(nettyServer)));
+    assertThat(factory.create(configuration("grizzlyListener")), is(sameInstance(grizzlyServer)));
+    assertThat(factory.lookup("grizzlyListener"), is(sameInstance(grizzlyServer)));
+  }
+
+  @Test
+  @Description("When no listeners are listed, every listener is created and looked up with Netty.")
+  public void everyListenerUsesNettyByDefault() throws Exception {
+    HybridHttpServerFactory factory = new HybridHttpServerFactory(grizzlyFactory, nettyFactory, emptySet());
+
+    assertThat(factory.create(configuration("someListener")), is(sameInstance(nettyServer)));
+    assertThat(factory.lookup("someListener"), is(sameInstance(nettyServer)));
+  }
+
+  private static HttpServerConfiguration configuration(String name) {
+    return new HttpServerConfiguration.Builder()
+        .setHost("localhost")
+        .setPort(8081)
+        .setName(name)
+        .build();
+  }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.service.http.impl.service.client;
+
+import static org.mule.service.http.impl.service.client.AdaptiveNonBlockingInputStreamFeeder.initialBufferSize;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.ning.http.client.providers.grizzly.FeedableBodyGenerator;
+import io.qameta.allure.Description;
+import org.glassfish.grizzly.Buffer;
+import org.junit.Test;
+
+public class AdaptiveNonBlockingInputStreamFeederTestCase extends AbstractMuleTestCase {
+
+  private static final int BUFFER_SIZE = 8 * 1024;
+  private static final int MAX_BUFFER_SIZE = 64 * 1024;
+
+  @Test
+  @Description("Small bodies of known length are sent in a single, right-sized chunk.")
+  public void smallBodiesUseRightSizedBuffer() {
+    assertThat(initialBufferSize(100, BUFFER_SIZE), is(101));
+    assertThat(initialBufferSize(0, BUFFER_SIZE), is(1));
+  }
+
+  @Test
+  @Description("Bodies of unknown or large length start with the configured buffer size.")
+  public void largeOrUnknownBodiesUseConfiguredBuffer() {
+    assertThat(initialBufferSize(-1, BUFFER_SIZE), is(BUFFER_SIZE));
+    assertThat(initialBufferSize(10 * BUFFER_SIZE, BUFFER_SIZE), is(BUFFER_SIZE));
+  }
+
+  @Test
+  @Description("The buffer size goes back to its initial value when the feeder is reset for a retry.")
+  public void resetRestoresBufferSize() {
+    AdaptiveNonBlockingInputStreamFeeder feeder =
+        new AdaptiveNonBlockingInputStreamFeeder(new FeedableBodyGenerator(), new ByteArrayInputStream(new byte[0]), -1,
+                                                 BUFFER_SIZE, MAX_BUFFER_SIZE);
+    feeder.reset();
+    assertThat(feeder.getBufferSize(), is(BUFFER_SIZE));
+    assertThat(feeder.isDone(), is(false));
+  }
+
+  @Test
+  @Description("The chunks double after every full one, up to the maximum size.")
+  public void bufferDoublesUpToMaximum() throws Exception {
+    byte[] content = randomContent(200 * 1024);
+    RecordingFeeder feeder = new RecordingFeeder(new ByteArrayInputStream(content), -1);
+    feedAll(feeder);
+
+    assertThat(feeder.chunkSizes, contains(8 * 1024, 16 * 1024, 32 * 1024, 64 * 1024, 64 * 1024, 16 * 1024, 0));
+    assertThat(feeder.lastFlags, contains(false, false, false, false, false, false, true));
+    assertThat(feeder.body.toByteArray(), is(content));
+  }
+
+  @Test
+  @Description("A chunk is filled with as many reads as the stream can serve without blocking.")
+  public void readsAreBatchedWhileAvailable() throws Exception {
+    byte[] content = randomContent(20 * 1024);
+    RecordingFeeder feeder = new RecordingFeeder(new TrickleInputStream(content, 100, true), -1);
+    feedAll(feeder);
+
+    assertThat(feeder.chunkSizes, contains(8 * 1024, 12 * 1024, 0));
+    assertThat(feeder.body.toByteArray(), is(content));
+  }
+
+  @Test
+  @Description("A chunk is sent as soon as the stream can't serve more without blocking, and the buffer doesn't grow.")
+  public void slowStreamSendsWhatIsAvailable() throws Exception {
+    byte[] content = randomContent(250);
+    RecordingFeeder feeder = new RecordingFeeder(new TrickleInputStream(content, 100, false), -1);
+    feedAll(feeder);
+
+    assertThat(feeder.chunkSizes, contains(100, 100, 50, 0));
+    assertThat(feeder.getBufferSize(), is(BUFFER_SIZE));
+    assertThat(feeder.body.toByteArray(), is(content));
+  }
+
+  @Test
+  @Description("A small body of known length is sent in a single chunk, flagged as the last one.")
+  public void smallBodySentInSingleChunk() throws Exception {
+    byte[] content = randomContent(100);
+    RecordingFeeder feeder = new RecordingFeeder(new TrickleInputStream(content, 30, false), content.length);
+    feedAll(feeder);
+
+    assertThat(feeder.chunkSizes, contains(100));
+    assertThat(feeder.lastFlags, contains(true));
+    assertThat(feeder.body.toByteArray(), is(content));
+  }
+
+  private static byte[] randomContent(int size) {
+    byte[] content = new byte[size];
+    new Random().nextBytes(content);
+    return content;
+  }
+
+  private static void feedAll(RecordingFeeder feeder) throws IOException {
+    while (!feeder.isDone()) {
+      feeder.canFeed();
+    }
+  }
+
+  private static class RecordingFeeder extends AdaptiveNonBlockingInputStreamFeeder {
+
+    private final List<Integer> chunkSizes = new ArrayList<>();
+    private final List<Boolean> lastFlags = new ArrayList<>();
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+    RecordingFeeder(InputStream content, long contentLength) {
+      super(new FeedableBodyGenerator(), content, contentLength, BUFFER_SIZE, MAX_BUFFER_SIZE);
+    }
+
+    @Override
+    void feedChunk(Buffer chunk, boolean last) {
+      byte[] bytes = new byte[chunk.remaining()];
+      chunk.get(bytes);
+      chunkSizes.add(bytes.length);
+      lastFlags.add(last);
+      body.write(bytes, 0, bytes.length);
+    }
+  }
+
+  /**
+   * Serves at most a few bytes on each read, and reports the rest as available or not.
+   */
+  private static class TrickleInputStream extends ByteArrayInputStream {
+
+    private final int maxRead;
+    private final boolean reportAvailable;
+
+    TrickleInputStream(byte[] content, int maxRead, boolean reportAvailable) {
+      super(content);
+      this.maxRead = maxRead;
+      this.reportAvailable = reportAvailable;
+    }
+
+    @Override
+    public synchronized int read(byte[] b, int off, int len) {
+      return super.read(b, off, Math.min(len, maxRead));
+    }
+
+    @Override
+    public synchronized int available() {
+      return reportAvailable ? super.available() : 0;
+    }
+  }
+}
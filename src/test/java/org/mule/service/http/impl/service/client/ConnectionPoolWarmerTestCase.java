@@ -0,0 +1,104 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.service.http.impl.service.client;
+
+import static java.util.Collections.singletonList;
+
+import static org.glassfish.grizzly.CloseType.REMOTELY;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+
+import com.ning.http.client.AsyncCompletionHandler;
+import com.ning.http.client.AsyncHandler;
+import com.ning.http.client.AsyncHttpClient;
+import com.ning.http.client.AsyncHttpClient.BoundRequestBuilder;
+import com.ning.http.client.Response;
+import io.qameta.allure.Description;
+import org.glassfish.grizzly.CloseListener;
+import org.glassfish.grizzly.Connection;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+public class ConnectionPoolWarmerTestCase extends AbstractMuleTestCase {
+
+  private static final String TARGET = "http://localhost:8081/health";
+  private static final int CONNECTIONS = 2;
+
+  private final AsyncHttpClient asyncHttpClient = mock(AsyncHttpClient.class);
+  private final BoundRequestBuilder requestBuilder = mock(BoundRequestBuilder.class);
+  private final ConnectionPoolWarmer warmer = new ConnectionPoolWarmer("client", singletonList(TARGET), CONNECTIONS, 1000, 0);
+
+  @Before
+  public void setUp() {
+    when(asyncHttpClient.prepareHead(TARGET)).thenReturn(requestBuilder);
+    when(requestBuilder.setRequestTimeout(anyInt())).thenReturn(requestBuilder);
+  }
+
+  @Test
+  @Description("A refill doesn't send requests for a target whose warm connections are still open, even if they are leased.")
+  public void refillSkippedWhileWarmConnectionsAreOpen() throws Exception {
+    warmer.start(asyncHttpClient, mock(ScheduledExecutorService.class));
+    completeWarmUpRequests(CONNECTIONS);
+    assertThat(warmer.getWarmConnections(TARGET), is(CONNECTIONS));
+
+    warmer.warmUp();
+
+    verify(asyncHttpClient, times(CONNECTIONS)).prepareHead(TARGET);
+  }
+
+  @Test
+  @Description("A refill only sends requests for the warm connections that were closed.")
+  public void refillReopensClosedConnections() throws Exception {
+    warmer.start(asyncHttpClient, mock(ScheduledExecutorService.class));
+    List<Connection> connections = completeWarmUpRequests(CONNECTIONS);
+
+    ArgumentCaptor<CloseListener> closeListener = ArgumentCaptor.forClass(CloseListener.class);
+    verify(connections.get(0)).addCloseListener(closeListener.capture());
+    closeListener.getValue().onClosed(connections.get(0), REMOTELY);
+    assertThat(warmer.getWarmConnections(TARGET), is(CONNECTIONS - 1));
+
+    warmer.warmUp();
+
+    verify(asyncHttpClient, times(CONNECTIONS + 1)).prepareHead(TARGET);
+  }
+
+  @Test
+  @Description("A refill doesn't send requests for a target while the previous ones are still in flight.")
+  public void refillSkippedWhileWarmUpInFlight() {
+    warmer.start(asyncHttpClient, mock(ScheduledExecutorService.class));
+
+    warmer.warmUp();
+
+    verify(asyncHttpClient, times(CONNECTIONS)).prepareHead(TARGET);
+  }
+
+  private List<Connection> completeWarmUpRequests(int count) throws Exception {
+    ArgumentCaptor<AsyncHandler> handlers = ArgumentCaptor.forClass(AsyncHandler.class);
+    verify(requestBuilder, times(count)).execute(handlers.capture());
+
+    List<Connection> connections = new ArrayList<>();
+    for (AsyncHandler handler : handlers.getAllValues()) {
+      Connection connection = mock(Connection.class);
+      connections.add(connection);
+      warmer.onWarmConnection(TARGET, connection);
+      ((AsyncCompletionHandler) handler).onCompleted(mock(Response.class));
+    }
+    return connections;
+  }
+}
@@ -8,13 +8,19 @@ package org.mule.service.http.impl.service.client;
 
 import static java.lang.Integer.parseInt;
 import static org.glassfish.grizzly.http.util.MimeHeaders.MAX_NUM_HEADERS_DEFAULT;
+import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assume.assumeFalse;
+import static org.junit.Assume.assumeTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
 import static org.mule.tck.junit4.rule.SystemProperty.callWithProperty;
@@ -25,6 +31,7 @@ import org.mule.runtime.api.scheduler.SchedulerService;
 import org.mule.runtime.http.api.client.HttpClient;
 import org.mule.runtime.http.api.client.HttpClientConfiguration;
 import org.mule.service.http.impl.service.server.grizzly.GrizzlyServerManager;
+import org.mule.service.http.impl.util.VirtualThreads;
 import org.mule.tck.junit4.AbstractMuleTestCase;
 
 import java.lang.reflect.Field;
@@ -38,6 +45,8 @@ import org.junit.Test;
 
 public class GrizzlyHttpClientTestCase extends AbstractMuleTestCase {
 
+  private static final String VIRTUAL_THREADS_PROPERTY = SYSTEM_PROPERTY_PREFIX + "http.client.virtualThreads.enable";
+
   SchedulerService schedulerService;
   SchedulerConfig schedulerConfig;
   SchedulerConfig schedulerConfig2;
@@ -58,6 +67,7 @@ public class GrizzlyHttpClientTestCase extends AbstractMuleTestCase {
   @After
   public void tearDown() {
     GrizzlyServerManager.refreshSystemProperties();
+    GrizzlyHttpClient.refreshSystemProperties();
   }
 
   @Issue("MULE-19837")
@@ -98,6 +108,37 @@ public class GrizzlyHttpClientTestCase extends AbstractMuleTestCase {
     assertThat(asyncHttpClient.getConfig().getMaxRequestHeaders(), is(parseInt(maxSetRequestHeaders)));
   }
 
+  @Description("When virtual threads are enabled but not supported by the JVM, the client falls back to its worker scheduler.")
+  @Test
+  public void virtualThreadsFallBackToWorkerSchedulerWhenUnsupported() throws Throwable {
+    assumeFalse(VirtualThreads.isSupported());
+    HttpClient client =
+        callWithProperty(VIRTUAL_THREADS_PROPERTY, "true", this::refreshSystemPropertiesAndCreateGrizzlyHttpClient);
+
+    client.start();
+
+    assertThat(getWorkerExecutor(client), is(instanceOf(Scheduler.class)));
+  }
+
+  @Description("When virtual threads are enabled and supported, no worker scheduler is created for a client without warmer.")
+  @Test
+  public void virtualThreadsReplaceWorkerScheduler() throws Throwable {
+    assumeTrue(VirtualThreads.isSupported());
+    HttpClient client =
+        callWithProperty(VIRTUAL_THREADS_PROPERTY, "true", this::refreshSystemPropertiesAndCreateGrizzlyHttpClient);
+
+    client.start();
+
+    assertThat(getWorkerExecutor(client), is(not(instanceOf(Scheduler.class))));
+    verify(schedulerService, never()).ioScheduler(any());
+  }
+
+  private static Object getWorkerExecutor(HttpClient client) throws ReflectiveOperationException {
+    Field workerExecutorField = GrizzlyHttpClient.class.getDeclaredField("workerExecutor");
+    workerExecutorField.setAccessible(true);
+    return workerExecutorField.get(client);
+  }
+
   private GrizzlyHttpClient refreshSystemPropertiesAndCreateGrizzlyHttpClient() {
     GrizzlyHttpClient.refreshSystemProperties();
     return new GrizzlyHttpClient(mock(HttpClientConfiguration.class, RETURNS_DEEP_STUBS),
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.service.http.impl.service.client;
+
+import static org.mule.runtime.core.api.util.IOUtils.toByteArray;
+import static org.mule.service.http.impl.service.client.MultipartBodyInputStream.generateBoundary;
+import static org.mule.service.http.impl.service.client.MultipartBodyInputStream.getBoundary;
+import static org.mule.service.http.impl.service.client.MultipartBodyInputStream.withBoundary;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.util.Arrays.asList;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.mule.runtime.http.api.domain.entity.multipart.HttpPart;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+import io.qameta.allure.Description;
+import org.junit.Test;
+
+public class MultipartBodyInputStreamTestCase extends AbstractMuleTestCase {
+
+  private static final String BOUNDARY = "testBoundary";
+
+  @Test
+  @Description("Parts are encoded the same way AHC encodes them when they are loaded in memory.")
+  public void encodesParts() throws Exception {
+    HttpPart field = new HttpPart("field", "value".getBytes(US_ASCII), "text/plain", 5);
+    HttpPart file = new HttpPart("file", "file.txt", new ByteArrayInputStream("content".getBytes(US_ASCII)), null, 7);
+
+    String body = new String(toByteArray(new MultipartBodyInputStream(asList(field, file), BOUNDARY)), US_ASCII);
+
+    assertThat(body, is("--testBoundary\r\n"
+        + "Content-Disposition: form-data; name=\"field\"\r\n"
+        + "Content-Type: text/plain\r\n"
+        + "Content-Transfer-Encoding: binary\r\n"
+        + "\r\n"
+        + "value\r\n"
+        + "--testBoundary\r\n"
+        + "Content-Disposition: form-data; name=\"file\"; filename=\"file.txt\"\r\n"
+        + "Content-Type: application/octet-stream\r\n"
+        + "Content-Transfer-Encoding: binary\r\n"
+        + "\r\n"
+        + "content\r\n"
+        + "--testBoundary--\r\n"));
+  }
+
+  @Test
+  @Description("The body can be read again when the content of its parts can be obtained again.")
+  public void rewindsBody() throws Exception {
+    HttpPart field = mock(HttpPart.class);
+    when(field.getName()).thenReturn("field");
+    when(field.getInputStream()).thenAnswer(invocation -> new ByteArrayInputStream("value".getBytes(US_ASCII)));
+    MultipartBodyInputStream body = new MultipartBodyInputStream(asList(field), BOUNDARY);
+
+    byte[] firstRead = toByteArray(body);
+    assertThat(body.rewind(), is(true));
+    assertThat(toByteArray(body), is(firstRead));
+  }
+
+  @Test
+  @Description("The body can't be read again when the content of a part is a stream that was already consumed.")
+  public void doesNotRewindConsumedStreams() throws Exception {
+    InputStream content = new ByteArrayInputStream("content".getBytes(US_ASCII));
+    HttpPart file = new HttpPart("file", "file.txt", content, "text/plain", 7);
+    MultipartBodyInputStream body = new MultipartBodyInputStream(asList(file), BOUNDARY);
+
+    toByteArray(body);
+    assertThat(body.rewind(), is(false));
+  }
+
+  @Test
+  public void boundaryFromContentType() {
+    assertThat(getBoundary("multipart/form-data; boundary=abc"), is("abc"));
+    assertThat(getBoundary("multipart/related; boundary=\"abc\"; type=text/xml"), is("abc"));
+    assertThat(getBoundary("multipart/form-data"), is(nullValue()));
+  }
+
+  @Test
+  public void generatedBoundaryIsAppendedToContentType() {
+    String boundary = generateBoundary();
+    assertThat(getBoundary(withBoundary("multipart/mixed", boundary)), is(boundary));
+  }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.service.http.impl.service.client;
+
+import static org.mule.runtime.api.util.MultiMap.emptyMultiMap;
+
+import static java.net.URI.create;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.mule.runtime.api.util.MultiMap;
+import org.mule.runtime.http.api.domain.message.request.HttpRequest;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.net.URI;
+
+import io.qameta.allure.Description;
+import org.junit.Test;
+
+public class PermanentRedirectCacheTestCase extends AbstractMuleTestCase {
+
+  private static final int MAX_REDIRECTS = 5;
+
+  private final PermanentRedirectCache cache = new PermanentRedirectCache(10, 60, MAX_REDIRECTS);
+
+  @Test
+  @Description("Chained permanent redirects are resolved to their final location.")
+  public void resolvesChainedRedirects() {
+    cache.record(request("http://a/path"), request("http://b/path"));
+    cache.record(request("http://b/path"), request("http://c/path"));
+
+    assertThat(cache.resolve(create("http://a/path")).getLocation(), is(create("http://c/path")));
+    assertThat(cache.resolve(create("http://a/path")).getHops(), is(2));
+    assertThat(cache.resolve(create("http://c/path")), is(nullValue()));
+  }
+
+  @Test
+  @Description("Circular redirects are not followed forever, and take up every redirect the request can follow.")
+  public void circularRedirectsAreBounded() {
+    cache.record(request("http://a/path"), request("http://b/path"));
+    cache.record(request("http://b/path"), request("http://a/path"));
+
+    assertThat(cache.resolve(create("http://a/path")).getLocation(), is(create("http://b/path")));
+    assertThat(cache.resolve(create("http://a/path")).getHops(), is(MAX_REDIRECTS));
+  }
+
+  @Test
+  @Description("Requests with query params are not cached, since their params are not sent to the new location.")
+  public void requestsWithQueryParamsAreNotCached() {
+    MultiMap<String, String> queryParams = new MultiMap<>();
+    queryParams.put("param", "value");
+    HttpRequest request = request("http://a/path");
+    when(request.getQueryParams()).thenReturn(queryParams);
+
+    cache.record(request, request("http://b/path"));
+
+    assertThat(cache.resolve(create("http://a/path")), is(nullValue()));
+  }
+
+  private static HttpRequest request(String uri) {
+    HttpRequest request = mock(HttpRequest.class);
+    URI requestUri = create(uri);
+    when(request.getUri()).thenReturn(requestUri);
+    when(request.getQueryParams()).thenReturn(emptyMultiMap());
+    return request;
+  }
+}
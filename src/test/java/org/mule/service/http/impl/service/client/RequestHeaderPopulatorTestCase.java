@@ -9,11 +9,15 @@ package org.mule.service.http.impl.service.client;
 import static org.mule.runtime.http.api.HttpHeaders.Names.COOKIE;
 
 import static java.lang.Boolean.getBoolean;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static java.util.stream.Collectors.toList;
 
 import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assume.assumeThat;
 import static org.mockito.Mockito.when;
@@ -27,8 +31,10 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
+import com.ning.http.client.Request;
 import com.ning.http.client.RequestBuilder;
 import com.ning.http.client.cookie.Cookie;
+import io.qameta.allure.Description;
 import io.qameta.allure.Issue;
 import org.junit.Before;
 import org.junit.Rule;
@@ -138,6 +144,61 @@ public class RequestHeaderPopulatorTestCase extends AbstractMuleTestCase {
     assertThat(cookiesInRequestAsString, contains("Name=Value"));
   }
 
+  @Test
+  public void repeatedCookieNameKeepsLastValueInFirstPosition() {
+    // Given cookie headers where a cookie-pair name is repeated
+    headerNames.add(COOKIE.toLowerCase());
+    when(muleRequest.getHeaderValues(COOKIE.toLowerCase()))
+        .thenReturn(asList("First=1; Second=2; First=3", "Third=4;"));
+
+    // When the populator handles the headers
+    populator.populateHeaders(muleRequest, ahcRequestBuilder);
+
+    // Then the last value replaces the previous one, keeping its position
+    Collection<String> cookiesInRequestAsString = getCookiesAsStrings(ahcRequestBuilder);
+    assertThat(cookiesInRequestAsString, contains("First=3", "Second=2", "Third=4"));
+  }
+
+  @Test
+  @Description("A cookie header that decoding would not change is sent as is, byte for byte.")
+  public void canonicalCookieHeaderIsSentAsIs() {
+    String cookieHeader = "First=1; Second=a%20b=c; Third=";
+    headerNames.add(COOKIE.toLowerCase());
+    when(muleRequest.getHeaderValues(COOKIE.toLowerCase())).thenReturn(singletonList(cookieHeader));
+
+    populator.populateHeaders(muleRequest, ahcRequestBuilder, true);
+
+    Request request = ahcRequestBuilder.build();
+    assertThat(request.getHeaders().get(COOKIE), contains(cookieHeader));
+    assertThat(request.getHeaders().getFirstValue(COOKIE).getBytes(UTF_8), is(cookieHeader.getBytes(UTF_8)));
+    assertThat(request.getCookies(), is(empty()));
+  }
+
+  @Test
+  @Description("A cookie header with repeated names, invalid pairs or other separators is decoded into cookies.")
+  public void cookieHeaderNeedingRewriteIsDecoded() {
+    headerNames.add(COOKIE.toLowerCase());
+    when(muleRequest.getHeaderValues(COOKIE.toLowerCase()))
+        .thenReturn(singletonList("First=1;Second=2; First=3; secure"));
+
+    populator.populateHeaders(muleRequest, ahcRequestBuilder, true);
+
+    assertThat(ahcRequestBuilder.build().getHeaders().get(COOKIE), is(nullValue()));
+    assertThat(getCookiesAsStrings(ahcRequestBuilder), contains("First=3", "Second=2"));
+  }
+
+  @Test
+  @Description("A cookie header is decoded when it can't be sent as is, even if decoding would not change it.")
+  public void cookieHeaderIsDecodedWhenItCantBeSentAsIs() {
+    headerNames.add(COOKIE.toLowerCase());
+    when(muleRequest.getHeaderValues(COOKIE.toLowerCase())).thenReturn(singletonList("First=1; Second=2"));
+
+    populator.populateHeaders(muleRequest, ahcRequestBuilder, false);
+
+    assertThat(ahcRequestBuilder.build().getHeaders().get(COOKIE), is(nullValue()));
+    assertThat(getCookiesAsStrings(ahcRequestBuilder), contains("First=1", "Second=2"));
+  }
+
   private static Collection<String> getCookiesAsStrings(RequestBuilder requestBuilder) {
     return requestBuilder.build().getCookies().stream().map(Cookie::toString).collect(toList());
   }
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.service.http.impl.service.client;
+
+import static java.net.URI.create;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+
+import org.mule.runtime.http.api.client.auth.HttpAuthentication;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.ning.http.client.Realm;
+import com.ning.http.client.Realm.RealmBuilder;
+import com.ning.http.client.uri.Uri;
+import io.qameta.allure.Description;
+import org.junit.Test;
+
+public class RequestTemplateCacheTestCase extends AbstractMuleTestCase {
+
+  private final RequestTemplateCache cache = new RequestTemplateCache();
+
+  @Test
+  @Description("The AHC uri of a target is only created once.")
+  public void uriIsReused() {
+    Uri uri = cache.getUri(create("http://localhost:8081/path"), false);
+
+    assertThat(cache.getUri(create("http://localhost:8081/path"), false), is(sameInstance(uri)));
+    assertThat(uri.getPath(), is("/path"));
+  }
+
+  @Test
+  @Description("The query of the target is prepared for the query params of the request to be appended to it.")
+  public void uriWithQueryParams() {
+    Uri withoutParams = cache.getUri(create("http://localhost:8081/path?a=1"), false);
+    Uri withParams = cache.getUri(create("http://localhost:8081/path?a=1"), true);
+
+    assertThat(withoutParams.getQuery(), is("a=1"));
+    assertThat(withParams.getQuery(), is("a=1&"));
+  }
+
+  @Test
+  @Description("The realm of an authentication is only built once.")
+  public void realmIsReused() {
+    AtomicInteger builds = new AtomicInteger();
+    HttpAuthentication authentication = mock(HttpAuthentication.class);
+
+    Realm realm = cache.getRealm(authentication, a -> {
+      builds.incrementAndGet();
+      return new RealmBuilder().setPrincipal("user").setPassword("password").build();
+    });
+
+    assertThat(cache.getRealm(authentication, a -> {
+      builds.incrementAndGet();
+      return null;
+    }), is(sameInstance(realm)));
+    assertThat(builds.get(), is(1));
+    assertThat(cache.getRealm(mock(HttpAuthentication.class), a -> null), is(not(sameInstance(realm))));
+  }
+}
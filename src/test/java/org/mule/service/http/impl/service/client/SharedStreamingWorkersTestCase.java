@@ -0,0 +1,156 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.service.http.impl.service.client;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.api.util.concurrent.Latch;
+import org.mule.service.http.impl.service.client.SharedStreamingWorkers.QuotaExecutor;
+import org.mule.tck.SimpleUnitTestSupportSchedulerService;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.probe.JUnitLambdaProbe;
+import org.mule.tck.probe.PollingProber;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.qameta.allure.Description;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SharedStreamingWorkersTestCase extends AbstractMuleTestCase {
+
+  private static final PollingProber PROBER = new PollingProber();
+
+  private SimpleUnitTestSupportSchedulerService schedulerService;
+  private SharedStreamingWorkers workers;
+
+  @Before
+  public void setUp() {
+    schedulerService = new SimpleUnitTestSupportSchedulerService();
+    workers = SharedStreamingWorkers.acquire(schedulerService);
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    workers.release();
+    schedulerService.stop();
+  }
+
+  @Test
+  @Description("Every client acquiring the workers gets the same pool.")
+  public void poolIsShared() {
+    SharedStreamingWorkers other = SharedStreamingWorkers.acquire(schedulerService);
+    try {
+      assertThat(other, is(sameInstance(workers)));
+    } finally {
+      other.release();
+    }
+  }
+
+  @Test
+  @Description("A quota doesn't run more tasks at the same time than it is allowed to, queueing the rest.")
+  public void quotaLimitsConcurrentTasks() throws Exception {
+    QuotaExecutor quota = workers.newQuota("test", 1, 10);
+    Latch release = new Latch();
+    CountDownLatch finished = new CountDownLatch(2);
+
+    quota.execute(() -> {
+      awaitQuietly(release);
+      finished.countDown();
+    });
+    quota.execute(finished::countDown);
+
+    PROBER.check(new JUnitLambdaProbe(() -> quota.getRunningTasks() == 1 && quota.getQueuedTasks() == 1));
+
+    release.release();
+    assertThat(finished.await(5, SECONDS), is(true));
+  }
+
+  @Test(expected = RejectedExecutionException.class)
+  @Description("Tasks are rejected once the queue of the quota is full.")
+  public void quotaRejectsWhenQueueIsFull() throws Exception {
+    QuotaExecutor quota = workers.newQuota("test", 1, 1);
+    Latch release = new Latch();
+    try {
+      quota.execute(() -> awaitQuietly(release));
+      PROBER.check(new JUnitLambdaProbe(() -> quota.getRunningTasks() == 1));
+      quota.execute(() -> {
+      });
+      quota.execute(() -> {
+      });
+    } finally {
+      release.release();
+    }
+  }
+
+  @Test
+  @Description("A queued task is run by the worker that frees up, without handing it to the pool again.")
+  public void queuedTaskRunsWhenPoolRejectsNewTasks() throws Exception {
+    Scheduler scheduler = mock(Scheduler.class);
+    AtomicBoolean accepting = new AtomicBoolean(true);
+    doAnswer(invocation -> {
+      if (!accepting.getAndSet(false)) {
+        throw new RejectedExecutionException("busy");
+      }
+      new Thread((Runnable) invocation.getArgument(0)).start();
+      return null;
+    }).when(scheduler).execute(any(Runnable.class));
+
+    QuotaExecutor quota = new SharedStreamingWorkers(scheduler).newQuota("test", 1, 10);
+    Latch release = new Latch();
+    CountDownLatch finished = new CountDownLatch(2);
+
+    quota.execute(() -> {
+      awaitQuietly(release);
+      finished.countDown();
+    });
+    quota.execute(finished::countDown);
+
+    release.release();
+    assertThat(finished.await(5, SECONDS), is(true));
+    verify(scheduler).execute(any(Runnable.class));
+  }
+
+  @Test
+  @Description("A task the pool rejects is not left queued, and the rejection is thrown to the caller.")
+  public void rejectionIsThrownToCaller() {
+    Scheduler scheduler = mock(Scheduler.class);
+    doThrow(new RejectedExecutionException("busy")).when(scheduler).execute(any(Runnable.class));
+    QuotaExecutor quota = new SharedStreamingWorkers(scheduler).newQuota("test", 1, 10);
+
+    try {
+      quota.execute(() -> {
+      });
+      fail("The rejection should have been thrown");
+    } catch (RejectedExecutionException e) {
+      assertThat(quota.getQueuedTasks(), is(0));
+      assertThat(quota.getRunningTasks(), is(0));
+    }
+  }
+
+  private static void awaitQuietly(Latch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
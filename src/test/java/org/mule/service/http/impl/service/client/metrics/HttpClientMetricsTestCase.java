@@ -0,0 +1,91 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.service.http.impl.service.client.metrics;
+
+import static org.mule.service.http.impl.service.client.metrics.MetricsRequestFilter.poolKeyOf;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import com.ning.http.client.ProxyServer;
+import com.ning.http.client.uri.Uri;
+import org.junit.Test;
+
+public class HttpClientMetricsTestCase extends AbstractMuleTestCase {
+
+  private static final String HOST = "localhost:8081";
+
+  private final HttpClientMetrics metrics = new HttpClientMetrics("test-client");
+
+  @Test
+  public void connectionsPerHost() {
+    metrics.onConnectionOpened(HOST, 10);
+    metrics.onConnectionOpened(HOST, 10);
+    metrics.onRequestStarted(HOST);
+
+    assertThat(metrics.getOpenConnections(), is(2));
+    assertThat(metrics.getLeasedConnections(), is(1));
+    assertThat(metrics.getIdleConnections(), is(1));
+    assertThat(metrics.getConnectionsPerHost().get(HOST).getIdle(), is(1));
+
+    metrics.onRequestCompleted(HOST, 10, 10);
+    metrics.onConnectionClosed(HOST, true);
+
+    assertThat(metrics.getOpenConnections(), is(1));
+    assertThat(metrics.getLeasedConnections(), is(0));
+    assertThat(metrics.getConnectionsClosed(), is(1L));
+    assertThat(metrics.getTtlEvictions(), is(1L));
+  }
+
+  @Test
+  public void idleConnectionOnlyWhenNotLeased() {
+    assertThat(metrics.hasIdleConnection(HOST), is(false));
+
+    metrics.onConnectionOpened(HOST, 0);
+    assertThat(metrics.hasIdleConnection(HOST), is(true));
+
+    metrics.onRequestStarted(HOST);
+    assertThat(metrics.hasIdleConnection(HOST), is(false));
+
+    metrics.onRequestCompleted(HOST, 10, 10);
+    assertThat(metrics.hasIdleConnection(HOST), is(true));
+  }
+
+  @Test
+  public void poolKeyIncludesDefaultPortAndProxy() {
+    ProxyServer proxyServer = new ProxyServer("proxy", 3128);
+    proxyServer.addNonProxyHost("internal");
+
+    assertThat(poolKeyOf(Uri.create("https://localhost/path"), null), is("localhost:443"));
+    assertThat(poolKeyOf(Uri.create("http://localhost:8081/path"), proxyServer), is("localhost:8081 via proxy:3128"));
+    assertThat(poolKeyOf(Uri.create("http://internal/path"), proxyServer), is("internal:80"));
+  }
+
+  @Test
+  public void poolRejections() {
+    metrics.onPoolWait(10, true);
+    metrics.onPoolWait(10, false);
+
+    assertThat(metrics.getPoolWaitLatency().getCount(), is(2L));
+    assertThat(metrics.getPoolRejections(), is(1L));
+  }
+
+  @Test
+  public void listenersAreNotified() {
+    HttpClientMetricsListener listener = mock(HttpClientMetricsListener.class);
+    metrics.addListener(listener);
+
+    metrics.onTlsHandshake(HOST, 100);
+
+    verify(listener).onTlsHandshake(HOST, 100);
+    assertThat(metrics.getTlsHandshakeLatency().getCount(), is(1L));
+  }
+}
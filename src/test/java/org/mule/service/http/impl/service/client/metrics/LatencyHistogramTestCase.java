@@ -0,0 +1,58 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.service.http.impl.service.client.metrics;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import org.junit.Test;
+
+public class LatencyHistogramTestCase extends AbstractMuleTestCase {
+
+  private final LatencyHistogram histogram = new LatencyHistogram();
+
+  @Test
+  public void emptySnapshot() {
+    LatencySnapshot snapshot = histogram.snapshot();
+
+    assertThat(snapshot.getCount(), is(0L));
+    assertThat(snapshot.getMean(), is(0.0));
+    assertThat(snapshot.getP99(), is(0.0));
+  }
+
+  @Test
+  public void negativeValuesAreIgnored() {
+    histogram.record(-1);
+
+    assertThat(histogram.getCount(), is(0L));
+  }
+
+  @Test
+  public void percentilesUseBucketUpperBound() {
+    for (int i = 0; i < 99; ++i) {
+      histogram.record(MICROSECONDS.toNanos(100));
+    }
+    histogram.record(MILLISECONDS.toNanos(50));
+
+    LatencySnapshot snapshot = histogram.snapshot();
+
+    assertThat(snapshot.getCount(), is(100L));
+    // 100us falls in the [64us, 128us) bucket
+    assertThat(snapshot.getP50(), is(0.128));
+    assertThat(snapshot.getP99(), is(0.128));
+    // 50ms falls in the [32.768ms, 65.536ms) bucket
+    assertThat(snapshot.getP999(), is(65.536));
+    assertThat(snapshot.getMax(), is(50.0));
+    assertThat(snapshot.getMean(), closeTo(0.599, 0.001));
+  }
+}
@@ -40,6 +40,7 @@ public class ContainerTcpServerSocketPropertiesTestCase extends AbstractMuleTest
     assertThat(properties.getReuseAddress(), is(true));
     assertThat(properties.getReceiveBacklog(), is(50));
     assertThat(properties.getServerTimeout(), is(60000));
+    assertThat(properties.getReusePort(), is(false));
   }
 
   @Test
@@ -83,6 +84,7 @@ public class ContainerTcpServerSocketPropertiesTestCase extends AbstractMuleTest
       assertThat(properties.getReuseAddress(), is(true));
       assertThat(properties.getReceiveBacklog(), is(96));
       assertThat(properties.getServerTimeout(), is(30000));
+      assertThat(properties.getReusePort(), is(true));
     } finally {
       restore(MULE_HOME_DIRECTORY_PROPERTY, muleHome);
       restore(SERVER_SOCKETS_FILE, overrideFile);
@@ -6,25 +6,41 @@
  */
 package org.mule.service.http.impl.service.server;
 
+import static org.mule.service.http.impl.service.server.HttpListenerConnectionManager.LISTENER_GROUP_PROPERTY_PREFIX;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.RETURNS_MOCKS;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import org.mule.runtime.api.scheduler.Scheduler;
 import org.mule.runtime.api.scheduler.SchedulerConfig;
 import org.mule.runtime.api.scheduler.SchedulerService;
+import org.mule.runtime.http.api.server.HttpServer;
 import org.mule.runtime.http.api.server.HttpServerConfiguration;
 import org.mule.service.http.impl.service.server.grizzly.GrizzlyServerManager;
+import org.mule.tck.junit4.rule.SystemProperty;
 
 import io.qameta.allure.Description;
 import io.qameta.allure.Issue;
+import org.junit.Rule;
 import org.junit.Test;
 
 public class HttpListenerConnectionManagerTestCase {
 
+  @Rule
+  public SystemProperty listenerGroup = new SystemProperty(LISTENER_GROUP_PROPERTY_PREFIX + "CRITICAL_CONFIG", "critical");
+
   private GrizzlyServerManager grizzlyServerManager;
+  private GrizzlyServerManager groupServerManager;
 
   @Test
   @Issue("MULE-19779")
@@ -83,6 +99,75 @@ public class HttpListenerConnectionManagerTestCase {
     verify(grizzlyServerManager).createServerFor(any(), any(), any(boolean.class), any(int.class), any(), any(), eq(readTimeout));
   }
 
+  @Test
+  @Description("Tests that listeners assigned to a group are created in the server manager of the group")
+  public void listenerInGroupUsesDedicatedServerManager() throws Exception {
+    SchedulerService schedulerServiceMock = mock(SchedulerService.class);
+    SchedulerConfig schedulerConfigMock = mock(SchedulerConfig.class);
+    Scheduler scheduler = mock(Scheduler.class);
+    HttpServerConfiguration serverConfiguration = new HttpServerConfiguration.Builder()
+        .setName("CRITICAL_CONFIG")
+        .setHost("localhost")
+        .setPort(8081)
+        .build();
+
+    when(schedulerServiceMock.customScheduler(any())).thenReturn(scheduler);
+    when(schedulerServiceMock.customScheduler(any(), any(int.class))).thenReturn(scheduler);
+    when(schedulerServiceMock.ioScheduler(any())).thenReturn(scheduler);
+    when(schedulerConfigMock.withMaxConcurrentTasks(any(int.class))).thenReturn(schedulerConfigMock);
+    when(schedulerConfigMock.withName(any())).thenReturn(schedulerConfigMock);
+
+    HttpListenerConnectionManager httpListenerConnectionManager =
+        new TestHttpListenerConnectionManager(schedulerServiceMock, schedulerConfigMock);
+    httpListenerConnectionManager.initialise();
+    httpListenerConnectionManager.create(serverConfiguration, "context", () -> 50L);
+
+    verify(groupServerManager).createServerFor(any(), any(), any(boolean.class), any(int.class), any(), any(), any(long.class));
+    verify(grizzlyServerManager, never())
+        .createServerFor(any(), any(), any(boolean.class), any(int.class), any(), any(), any(long.class));
+  }
+
+  @Test
+  @Description("Tests that the transport and selectors of a group are disposed with its last server, and created again for the "
+      + "next one")
+  public void listenerGroupIsDisposedWithItsLastServer() throws Exception {
+    SchedulerService schedulerServiceMock = mock(SchedulerService.class);
+    SchedulerConfig schedulerConfigMock = mock(SchedulerConfig.class);
+    Scheduler scheduler = mock(Scheduler.class);
+    Scheduler groupScheduler = mock(Scheduler.class);
+
+    when(schedulerServiceMock.customScheduler(any(), any(int.class))).thenReturn(scheduler, groupScheduler);
+    when(schedulerServiceMock.ioScheduler(any())).thenReturn(scheduler);
+    when(schedulerConfigMock.withMaxConcurrentTasks(any(int.class))).thenReturn(schedulerConfigMock);
+    when(schedulerConfigMock.withName(any())).thenReturn(schedulerConfigMock);
+
+    HttpListenerConnectionManager httpListenerConnectionManager =
+        new TestHttpListenerConnectionManager(schedulerServiceMock, schedulerConfigMock);
+    httpListenerConnectionManager.initialise();
+    HttpServer first = httpListenerConnectionManager.create(groupServerConfiguration(8081), "context", () -> 50L);
+    HttpServer second = httpListenerConnectionManager.create(groupServerConfiguration(8082), "other", () -> 50L);
+    GrizzlyServerManager firstGroupServerManager = groupServerManager;
+
+    first.dispose();
+    verify(firstGroupServerManager, never()).dispose();
+
+    second.dispose();
+    second.dispose();
+    verify(firstGroupServerManager, times(1)).dispose();
+    verify(groupScheduler).stop();
+
+    httpListenerConnectionManager.create(groupServerConfiguration(8081), "context", () -> 50L);
+    assertThat(groupServerManager, is(not(sameInstance(firstGroupServerManager))));
+  }
+
+  private static HttpServerConfiguration groupServerConfiguration(int port) {
+    return new HttpServerConfiguration.Builder()
+        .setName("CRITICAL_CONFIG")
+        .setHost("localhost")
+        .setPort(port)
+        .build();
+  }
+
   class TestHttpListenerConnectionManager extends HttpListenerConnectionManager {
 
     public TestHttpListenerConnectionManager(SchedulerService schedulerService, SchedulerConfig schedulersConfig) {
@@ -94,5 +179,12 @@ public class HttpListenerConnectionManagerTestCase {
       grizzlyServerManager = mock(GrizzlyServerManager.class);
       return grizzlyServerManager;
     }
+
+    @Override
+    protected HttpServerManager createGroupServerManager(Scheduler groupSelectorScheduler, int selectorCount) {
+      // The servers are mocks too, so they can be disposed.
+      groupServerManager = mock(GrizzlyServerManager.class, RETURNS_MOCKS);
+      return groupServerManager;
+    }
   }
 }
@@ -13,12 +13,16 @@ import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.apache.http.client.fluent.Request.Get;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assume.assumeTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 import static org.mule.runtime.core.api.util.ClassUtils.withContextClassLoader;
 import static org.mule.runtime.http.api.HttpConstants.ALL_INTERFACES_ADDRESS;
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
 import static org.mule.runtime.http.api.HttpConstants.HttpStatus.OK;
 import static org.mule.service.http.impl.service.server.grizzly.GrizzlyHttpServer.setReplaceCtxClassloader;
 import static org.mule.tck.probe.PollingProber.DEFAULT_POLLING_INTERVAL;
@@ -37,6 +41,7 @@ import org.mule.runtime.http.api.tcp.TcpServerSocketProperties;
 import org.mule.service.http.impl.service.server.DefaultServerAddress;
 import org.mule.service.http.impl.service.server.HttpListenerRegistry;
 import org.mule.service.http.impl.service.server.ServerIdentifier;
+import org.mule.service.http.impl.util.VirtualThreads;
 import org.mule.tck.junit4.AbstractMuleContextTestCase;
 import org.mule.tck.junit4.rule.DynamicPort;
 import org.mule.tck.probe.JUnitLambdaProbe;
@@ -357,6 +362,84 @@ public abstract class AbstractGrizzlyServerManagerTestCase extends AbstractMuleC
     serverManager.dispose();
   }
 
+  @Test
+  public void requestHandlerIsExecutedInVirtualThreadWhenEnabledForListener() throws Exception {
+    assumeTrue(VirtualThreads.isSupported());
+    System.setProperty(SYSTEM_PROPERTY_PREFIX + "http.server.virtualThreads.listeners", "virtual");
+    GrizzlyServerManager.refreshSystemProperties();
+    try {
+      final GrizzlyServerManager serverManager =
+          createServerManager(new HttpListenerRegistry(), new DefaultTcpServerSocketProperties());
+
+      final HttpServer server =
+          serverManager.createServerFor(new DefaultServerAddress(ALL_INTERFACES_ADDRESS, listenerPort.getNumber()),
+                                        () -> muleContext.getSchedulerService().ioScheduler(), true,
+                                        (int) SECONDS.toMillis(DEFAULT_TEST_TIMEOUT_SECS),
+                                        new ServerIdentifier("context", "virtual"),
+                                        () -> muleContext.getConfiguration().getShutdownTimeout());
+      final ResponseStatusCallback responseStatusCallback = mock(ResponseStatusCallback.class);
+      Reference<String> requestHandlerThreadName = new Reference<>();
+      server.addRequestHandler(TEST_PATH, (requestContext, responseCallback) -> {
+        requestHandlerThreadName.set(currentThread().getName());
+        responseCallback.responseReady(HttpResponse.builder().statusCode(OK.getStatusCode()).build(),
+                                       responseStatusCallback);
+      });
+      server.start();
+
+      Get("http://localhost:" + listenerPort.getValue() + TEST_PATH).execute();
+
+      assertThat(requestHandlerThreadName.get(), startsWith("http.listener.virtual.handler."));
+
+      server.stop();
+      serverManager.dispose();
+    } finally {
+      System.clearProperty(SYSTEM_PROPERTY_PREFIX + "http.server.virtualThreads.listeners");
+      GrizzlyServerManager.refreshSystemProperties();
+    }
+  }
+
+  @Test
+  public void requestHandlerIsExecutedInCurrentThreadWhenVirtualThreadsRejectIt() throws Exception {
+    assumeTrue(VirtualThreads.isSupported());
+    System.setProperty(SYSTEM_PROPERTY_PREFIX + "http.server.virtualThreads.listeners", "virtual");
+    System.setProperty(SYSTEM_PROPERTY_PREFIX + "http.server.virtualThreads.maxConcurrentRequests", "1");
+    GrizzlyServerManager.refreshSystemProperties();
+    try {
+      final GrizzlyServerManager serverManager =
+          createServerManager(new HttpListenerRegistry(), new DefaultTcpServerSocketProperties());
+
+      final DefaultServerAddress serverAddress = new DefaultServerAddress(ALL_INTERFACES_ADDRESS, listenerPort.getNumber());
+      final HttpServer server =
+          serverManager.createServerFor(serverAddress, () -> muleContext.getSchedulerService().ioScheduler(), true,
+                                        (int) SECONDS.toMillis(DEFAULT_TEST_TIMEOUT_SECS),
+                                        new ServerIdentifier("context", "virtual"),
+                                        () -> muleContext.getConfiguration().getShutdownTimeout());
+      final ResponseStatusCallback responseStatusCallback = mock(ResponseStatusCallback.class);
+      Reference<String> requestHandlerThreadName = new Reference<>();
+      server.addRequestHandler(TEST_PATH, (requestContext, responseCallback) -> {
+        requestHandlerThreadName.set(currentThread().getName());
+        responseCallback.responseReady(HttpResponse.builder().statusCode(OK.getStatusCode()).build(),
+                                       responseStatusCallback);
+      });
+      server.start();
+      // A shut down executor rejects every request handed to it.
+      serverManager.getHandlerExecutor(serverAddress).shutdown();
+
+      int statusCode = Get("http://localhost:" + listenerPort.getValue() + TEST_PATH).execute().returnResponse()
+          .getStatusLine().getStatusCode();
+
+      assertThat(statusCode, is(OK.getStatusCode()));
+      assertThat(requestHandlerThreadName.get(), not(startsWith("http.listener.virtual.handler.")));
+
+      server.stop();
+      serverManager.dispose();
+    } finally {
+      System.clearProperty(SYSTEM_PROPERTY_PREFIX + "http.server.virtualThreads.listeners");
+      System.clearProperty(SYSTEM_PROPERTY_PREFIX + "http.server.virtualThreads.maxConcurrentRequests");
+      GrizzlyServerManager.refreshSystemProperties();
+    }
+  }
+
   protected class DefaultTcpServerSocketProperties implements TcpServerSocketProperties {
 
     @Override
@@ -6,42 +6,62 @@
  */
 package org.mule.service.http.impl.service.server.grizzly;
 
+import static java.io.File.separator;
 import static java.lang.Integer.parseInt;
 import static java.lang.Runtime.getRuntime;
 import static java.util.concurrent.Executors.newCachedThreadPool;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.glassfish.grizzly.http.util.MimeHeaders.MAX_NUM_HEADERS_DEFAULT;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assume.assumeTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+import static org.mule.runtime.core.api.util.ClassUtils.getClassPathRoot;
 import static org.mule.runtime.http.api.HttpConstants.ALL_INTERFACES_ADDRESS;
+import static org.mule.runtime.http.api.HttpConstants.HttpStatus.OK;
 import static org.mule.runtime.http.api.HttpConstants.Protocol.HTTP;
 import static org.mule.runtime.http.api.HttpConstants.Protocol.HTTPS;
 import static org.mule.service.http.impl.AllureConstants.HttpFeature.HTTP_SERVICE;
 import static org.mule.service.http.impl.AllureConstants.HttpFeature.HttpStory.SERVER_MANAGEMENT;
+import static org.mule.service.http.impl.config.ContainerTcpServerSocketProperties.SERVER_SOCKETS_FILE;
 import static org.mule.tck.junit4.rule.SystemProperty.callWithProperty;
 
 import org.mule.runtime.api.tls.TlsContextFactory;
+import org.mule.runtime.http.api.domain.message.response.HttpResponse;
 import org.mule.runtime.http.api.server.HttpServer;
 import org.mule.runtime.http.api.server.ServerAddress;
 import org.mule.runtime.http.api.server.ServerCreationException;
+import org.mule.runtime.http.api.server.async.ResponseStatusCallback;
 import org.mule.runtime.http.api.tcp.TcpServerSocketProperties;
+import org.mule.service.http.impl.config.ContainerTcpServerSocketProperties;
 import org.mule.service.http.impl.service.server.DefaultServerAddress;
 import org.mule.service.http.impl.service.server.HttpListenerRegistry;
+import org.mule.service.http.impl.service.server.HttpServerDelegate;
 import org.mule.service.http.impl.service.server.ServerAddressMap;
 import org.mule.service.http.impl.service.server.ServerIdentifier;
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
 import java.lang.reflect.Field;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.List;
 import java.util.concurrent.ExecutorService;
 
 import io.qameta.allure.Description;
 import io.qameta.allure.Issue;
+import org.glassfish.grizzly.Connection;
 import org.glassfish.grizzly.nio.transport.TCPNIOTransport;
 import org.glassfish.grizzly.http.HttpServerFilter;
 import org.junit.After;
@@ -150,6 +170,92 @@ public class HttpGrizzlyServerManagerTestCase extends AbstractGrizzlyServerManag
     assertProviderUsage(adds, removes);
   }
 
+  @Test
+  @Description("With SO_REUSEPORT, a listener binds a server socket per selector and serves requests through them, also after "
+      + "being restarted.")
+  public void reusePortBindsSocketPerSelector() throws Throwable {
+    assumeTrue(ReusePortSelectorProvider.isSupported());
+    String socketsFile = getClassPathRoot(HttpGrizzlyServerManagerTestCase.class).getPath() + separator
+        + "http-server-sockets-override.conf";
+    TcpServerSocketProperties socketProperties =
+        callWithProperty(SERVER_SOCKETS_FILE, socketsFile, ContainerTcpServerSocketProperties::loadTcpServerSocketProperties);
+    int selectors = 4;
+    GrizzlyServerManager reusePortServerManager =
+        new GrizzlyServerManager(selectorPool, workerPool, idleTimeoutExecutorService, new HttpListenerRegistry(),
+                                 socketProperties, selectors);
+    HttpServer createdServer =
+        reusePortServerManager.createServerFor(new DefaultServerAddress(ALL_INTERFACES_ADDRESS, listenerPort.getNumber()),
+                                               () -> muleContext.getSchedulerService().ioScheduler(), true,
+                                               (int) SECONDS.toMillis(DEFAULT_TEST_TIMEOUT_SECS),
+                                               new ServerIdentifier("context", "reusePort"),
+                                               () -> muleContext.getConfiguration().getShutdownTimeout());
+    createdServer.addRequestHandler("/path", (requestContext, responseCallback) -> responseCallback
+        .responseReady(HttpResponse.builder().statusCode(OK.getStatusCode()).build(), mock(ResponseStatusCallback.class)));
+    try {
+      for (int i = 0; i < 2; ++i) {
+        createdServer.start();
+        assertThat(getServerConnections(createdServer), hasSize(selectors));
+        for (int j = 0; j < 4 * selectors; ++j) {
+          assertThat(sendRequest(), is(OK.getStatusCode()));
+        }
+        createdServer.stop();
+        assertThat(getServerConnections(createdServer), is(empty()));
+      }
+    } finally {
+      createdServer.dispose();
+      reusePortServerManager.dispose();
+    }
+  }
+
+  @Test
+  @Description("With an ephemeral port, every server socket bound with SO_REUSEPORT gets the port the first one got.")
+  public void reusePortWithEphemeralPortBindsSamePort() throws Throwable {
+    assumeTrue(ReusePortSelectorProvider.isSupported());
+    String socketsFile = getClassPathRoot(HttpGrizzlyServerManagerTestCase.class).getPath() + separator
+        + "http-server-sockets-override.conf";
+    TcpServerSocketProperties socketProperties =
+        callWithProperty(SERVER_SOCKETS_FILE, socketsFile, ContainerTcpServerSocketProperties::loadTcpServerSocketProperties);
+    int selectors = 4;
+    GrizzlyServerManager reusePortServerManager =
+        new GrizzlyServerManager(selectorPool, workerPool, idleTimeoutExecutorService, new HttpListenerRegistry(),
+                                 socketProperties, selectors);
+    HttpServer createdServer =
+        reusePortServerManager.createServerFor(new DefaultServerAddress(ALL_INTERFACES_ADDRESS, 0),
+                                               () -> muleContext.getSchedulerService().ioScheduler(), true,
+                                               (int) SECONDS.toMillis(DEFAULT_TEST_TIMEOUT_SECS),
+                                               new ServerIdentifier("context", "reusePortEphemeral"),
+                                               () -> muleContext.getConfiguration().getShutdownTimeout());
+    try {
+      createdServer.start();
+      List<?> serverConnections = getServerConnections(createdServer);
+      assertThat(serverConnections, hasSize(selectors));
+      int port = ((InetSocketAddress) ((Connection<?>) serverConnections.get(0)).getLocalAddress()).getPort();
+      assertThat(port, is(not(0)));
+      for (Object serverConnection : serverConnections) {
+        assertThat(((InetSocketAddress) ((Connection<?>) serverConnection).getLocalAddress()).getPort(), is(port));
+      }
+    } finally {
+      createdServer.dispose();
+      reusePortServerManager.dispose();
+    }
+  }
+
+  private List<?> getServerConnections(HttpServer server) throws Exception {
+    Field serverConnections = GrizzlyHttpServer.class.getDeclaredField("serverConnections");
+    serverConnections.setAccessible(true);
+    return (List<?>) serverConnections.get(((HttpServerDelegate) server).getDelegate());
+  }
+
+  private int sendRequest() throws IOException {
+    try (Socket socket = new Socket("localhost", listenerPort.getNumber())) {
+      PrintWriter writer = new PrintWriter(socket.getOutputStream());
+      writer.print("GET /path HTTP/1.1\r\nHost: localhost\r\nConnection: close\r\n\r\n");
+      writer.flush();
+      String statusLine = new BufferedReader(new InputStreamReader(socket.getInputStream())).readLine();
+      return parseInt(statusLine.split(" ")[1]);
+    }
+  }
+
   private void assertProviderUsage(int adds, int removes) {
     verify(((HttpGrizzlyServerManagerTestDecorator) serverManager).getSpiedExecutorProvider(),
            times(adds)).addExecutor(any(), any());
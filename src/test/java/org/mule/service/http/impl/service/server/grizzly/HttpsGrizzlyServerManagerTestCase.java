@@ -8,22 +8,45 @@ package org.mule.service.http.impl.service.server.grizzly;
 
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
 import static org.mule.runtime.http.api.HttpConstants.ALL_INTERFACES_ADDRESS;
+import static org.mule.runtime.http.api.HttpConstants.HttpStatus.OK;
 import static org.mule.runtime.http.api.HttpConstants.Protocol.HTTP;
 import static org.mule.runtime.http.api.HttpConstants.Protocol.HTTPS;
 import static org.mule.service.http.impl.AllureConstants.HttpFeature.HTTP_SERVICE;
 import static org.mule.service.http.impl.AllureConstants.HttpFeature.HttpStory.SERVER_MANAGEMENT;
+import static org.mule.service.http.impl.service.server.grizzly.TlsListenerStatistics.ENABLE_STATISTICS_PROPERTY_NAME;
 
 import org.mule.runtime.api.tls.TlsContextFactory;
+import org.mule.runtime.http.api.domain.message.response.HttpResponse;
+import org.mule.runtime.http.api.domain.request.HttpRequestContext;
 import org.mule.runtime.http.api.server.HttpServer;
 import org.mule.runtime.http.api.server.ServerAddress;
 import org.mule.runtime.http.api.server.ServerCreationException;
+import org.mule.runtime.http.api.server.async.ResponseStatusCallback;
 import org.mule.service.http.impl.service.server.DefaultServerAddress;
+import org.mule.service.http.impl.service.server.HttpServerDelegate;
 import org.mule.service.http.impl.service.server.ServerIdentifier;
+import org.mule.tck.probe.JUnitLambdaProbe;
+import org.mule.tck.probe.PollingProber;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
 import java.lang.reflect.Field;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSocket;
 
 import io.qameta.allure.Description;
 import io.qameta.allure.Issue;
@@ -37,6 +60,8 @@ import io.qameta.allure.Story;
 @Story(SERVER_MANAGEMENT)
 public class HttpsGrizzlyServerManagerTestCase extends AbstractGrizzlyServerManagerTestCase {
 
+  private static final String PASS = "mulepassword";
+
   private final TlsContextFactory tlsContextFactory = TlsContextFactory.builder().buildDefault();
 
   @Override
@@ -71,6 +96,207 @@ public class HttpsGrizzlyServerManagerTestCase extends AbstractGrizzlyServerMana
     }
   }
 
+  @Test
+  @Description("Reloading TLS swaps the context new handshakes are done with, keeping the filter of the listener.")
+  public void reloadTls() throws Exception {
+    final ServerAddress serverAddress = new DefaultServerAddress(ALL_INTERFACES_ADDRESS, listenerPort.getNumber());
+    final HttpServer createdServer = getServer(serverAddress, new ServerIdentifier("context", "name"));
+    try {
+      MuleSslFilter sslFilter = (MuleSslFilter) serverManager.sslFilterDelegate.getFilterForAddress(serverAddress);
+      SSLContext previousContext = sslFilter.getServerConfigurator().getSslContext();
+
+      ((GrizzlyHttpServer) ((HttpServerDelegate) createdServer).getDelegate())
+          .reloadTls(TlsContextFactory.builder().buildDefault());
+
+      assertThat(serverManager.sslFilterDelegate.getFilterForAddress(serverAddress), is(sameInstance(sslFilter)));
+      assertThat(sslFilter.getServerConfigurator().getSslContext(), is(not(sameInstance(previousContext))));
+      assertThat(createdServer.getProtocol(), is(HTTPS));
+    } finally {
+      createdServer.dispose();
+    }
+  }
+
+  @Test
+  @Description("TLS handshakes are not tracked unless the statistics are enabled.")
+  public void noStatisticsUnlessEnabled() throws Exception {
+    final ServerAddress serverAddress = new DefaultServerAddress(ALL_INTERFACES_ADDRESS, listenerPort.getNumber());
+    final HttpServer createdServer = getServer(serverAddress, new ServerIdentifier("context", "noStatistics"));
+    try {
+      assertThat(serverManager.getTlsStatistics(serverAddress), is(nullValue()));
+    } finally {
+      createdServer.dispose();
+    }
+  }
+
+  @Test
+  @Description("A client reconnecting with the session of its previous connection is counted as a resumed handshake.")
+  public void resumedHandshakeIsCounted() throws Exception {
+    final ServerAddress serverAddress = new DefaultServerAddress(ALL_INTERFACES_ADDRESS, listenerPort.getNumber());
+    final TlsContextFactory serverTlsContextFactory = TlsContextFactory.builder()
+        .keyStorePath("tls/serverKeystore")
+        .keyStorePassword(PASS)
+        .keyPassword(PASS)
+        .build();
+    final HttpServer createdServer;
+    System.setProperty(ENABLE_STATISTICS_PROPERTY_NAME, "true");
+    try {
+      createdServer =
+          serverManager.createSslServerFor(serverTlsContextFactory, () -> muleContext.getSchedulerService().ioScheduler(),
+                                           serverAddress, true, (int) SECONDS.toMillis(DEFAULT_TEST_TIMEOUT_SECS),
+                                           new ServerIdentifier("context", "resumption"),
+                                           () -> muleContext.getConfiguration().getShutdownTimeout());
+    } finally {
+      System.clearProperty(ENABLE_STATISTICS_PROPERTY_NAME);
+    }
+    createdServer.addRequestHandler("/path", (requestContext, responseCallback) -> responseCallback
+        .responseReady(HttpResponse.builder().statusCode(OK.getStatusCode()).build(), mock(ResponseStatusCallback.class)));
+    createdServer.start();
+    try {
+      SSLContext clientContext = TlsContextFactory.builder()
+          .trustStorePath("tls/trustStore")
+          .trustStorePassword(PASS)
+          .build()
+          .createSslContext();
+
+      // The session of the first connection is only cached by the client once it is established.
+      assertThat(sendRequest(clientContext), is(OK.getStatusCode()));
+      assertThat(sendRequest(clientContext), is(OK.getStatusCode()));
+
+      TlsListenerStatisticsMXBean statistics = serverManager.getTlsStatistics(serverAddress);
+      new PollingProber().check(new JUnitLambdaProbe(() -> {
+        assertThat(statistics.getFullHandshakes(), is(1L));
+        assertThat(statistics.getResumedHandshakes(), is(1L));
+        return true;
+      }));
+    } finally {
+      createdServer.dispose();
+    }
+  }
+
+  @Test
+  @Description("The scheme and the TLS session of the connection reach the request context of every request, including the "
+      + "ones after a renegotiation.")
+  public void tlsDetailsReachEveryRequestOfConnection() throws Exception {
+    final ServerAddress serverAddress = new DefaultServerAddress(ALL_INTERFACES_ADDRESS, listenerPort.getNumber());
+    // A trust store makes the listener require client certificates, which are only available through the TLS session.
+    final TlsContextFactory serverTlsContextFactory = TlsContextFactory.builder()
+        .keyStorePath("tls/serverKeystore")
+        .keyStorePassword(PASS)
+        .keyPassword(PASS)
+        .trustStorePath("tls/trustStore")
+        .trustStorePassword(PASS)
+        .build();
+    final HttpServer createdServer =
+        serverManager.createSslServerFor(serverTlsContextFactory, () -> muleContext.getSchedulerService().ioScheduler(),
+                                         serverAddress, true, (int) SECONDS.toMillis(DEFAULT_TEST_TIMEOUT_SECS),
+                                         new ServerIdentifier("context", "tlsDetails"),
+                                         () -> muleContext.getConfiguration().getShutdownTimeout());
+    final List<HttpRequestContext> requestContexts = new CopyOnWriteArrayList<>();
+    createdServer.addRequestHandler("/path", (requestContext, responseCallback) -> {
+      requestContexts.add(requestContext);
+      responseCallback.responseReady(HttpResponse.builder().statusCode(OK.getStatusCode()).build(),
+                                     mock(ResponseStatusCallback.class));
+    });
+    createdServer.start();
+    try {
+      SSLContext clientContext = TlsContextFactory.builder()
+          .keyStorePath("tls/clientKeystore")
+          .keyStorePassword(PASS)
+          .keyPassword(PASS)
+          .trustStorePath("tls/trustStore")
+          .trustStorePassword(PASS)
+          .build()
+          .createSslContext();
+
+      try (SSLSocket socket = (SSLSocket) clientContext.getSocketFactory().createSocket("localhost", listenerPort.getNumber())) {
+        // TLS 1.3 has no renegotiation.
+        socket.setEnabledProtocols(new String[] {"TLSv1.2"});
+        PrintWriter writer = new PrintWriter(socket.getOutputStream());
+        BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream()));
+
+        assertThat(sendKeepAliveRequest(writer, reader), is(OK.getStatusCode()));
+        assertThat(sendKeepAliveRequest(writer, reader), is(OK.getStatusCode()));
+        socket.getSession().invalidate();
+        socket.startHandshake();
+        assertThat(sendKeepAliveRequest(writer, reader), is(OK.getStatusCode()));
+      }
+
+      assertThat(requestContexts, hasSize(3));
+      for (HttpRequestContext requestContext : requestContexts) {
+        assertThat(requestContext.getScheme(), is(HTTPS.getScheme()));
+        assertThat(requestContext.getClientConnection().getClientCertificate(), is(notNullValue()));
+      }
+    } finally {
+      createdServer.dispose();
+    }
+  }
+
+  @Test
+  @Description("Connections established before reloading TLS keep being served, and new ones use the new configuration.")
+  public void establishedConnectionSurvivesReload() throws Exception {
+    final ServerAddress serverAddress = new DefaultServerAddress(ALL_INTERFACES_ADDRESS, listenerPort.getNumber());
+    final HttpServer createdServer =
+        serverManager.createSslServerFor(serverKeyStoreFactory(), () -> muleContext.getSchedulerService().ioScheduler(),
+                                         serverAddress, true, (int) SECONDS.toMillis(DEFAULT_TEST_TIMEOUT_SECS),
+                                         new ServerIdentifier("context", "reload"),
+                                         () -> muleContext.getConfiguration().getShutdownTimeout());
+    createdServer.addRequestHandler("/path", (requestContext, responseCallback) -> responseCallback
+        .responseReady(HttpResponse.builder().statusCode(OK.getStatusCode()).build(), mock(ResponseStatusCallback.class)));
+    createdServer.start();
+    try {
+      SSLContext clientContext = TlsContextFactory.builder()
+          .trustStorePath("tls/trustStore")
+          .trustStorePassword(PASS)
+          .build()
+          .createSslContext();
+
+      try (SSLSocket socket = (SSLSocket) clientContext.getSocketFactory().createSocket("localhost", listenerPort.getNumber())) {
+        PrintWriter writer = new PrintWriter(socket.getOutputStream());
+        BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream()));
+        assertThat(sendKeepAliveRequest(writer, reader), is(OK.getStatusCode()));
+
+        ((GrizzlyHttpServer) ((HttpServerDelegate) createdServer).getDelegate()).reloadTls(serverKeyStoreFactory());
+
+        assertThat(sendKeepAliveRequest(writer, reader), is(OK.getStatusCode()));
+      }
+      assertThat(sendRequest(clientContext), is(OK.getStatusCode()));
+    } finally {
+      createdServer.dispose();
+    }
+  }
+
+  private static TlsContextFactory serverKeyStoreFactory() throws Exception {
+    return TlsContextFactory.builder()
+        .keyStorePath("tls/serverKeystore")
+        .keyStorePassword(PASS)
+        .keyPassword(PASS)
+        .build();
+  }
+
+  private int sendKeepAliveRequest(PrintWriter writer, BufferedReader reader) throws IOException {
+    writer.print("GET /path HTTP/1.1\r\nHost: localhost\r\n\r\n");
+    writer.flush();
+    String statusLine = reader.readLine();
+    // The response has no body, so it ends with its headers.
+    String header;
+    do {
+      header = reader.readLine();
+    } while (header != null && !header.isEmpty());
+    return Integer.parseInt(statusLine.split(" ")[1]);
+  }
+
+  private int sendRequest(SSLContext clientContext) throws IOException {
+    try (SSLSocket socket = (SSLSocket) clientContext.getSocketFactory().createSocket("localhost", listenerPort.getNumber())) {
+      // Session ID based resumption, so the result doesn't depend on when the client reads a TLS 1.3 session ticket.
+      socket.setEnabledProtocols(new String[] {"TLSv1.2"});
+      PrintWriter writer = new PrintWriter(socket.getOutputStream());
+      writer.print("GET /path HTTP/1.1\r\nHost: localhost\r\nConnection: close\r\n\r\n");
+      writer.flush();
+      String statusLine = new BufferedReader(new InputStreamReader(socket.getInputStream())).readLine();
+      return Integer.parseInt(statusLine.split(" ")[1]);
+    }
+  }
+
   @Test
   @Issue("MULE-19779")
   @Description("Tests that by default the read timeout field of TCPNIOTransport is set to 30 seconds")
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.service.http.impl.service.server.grizzly;
+
+import static java.util.concurrent.Executors.newCachedThreadPool;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import org.mule.runtime.api.util.concurrent.Latch;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.probe.JUnitLambdaProbe;
+import org.mule.tck.probe.PollingProber;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.qameta.allure.Description;
+import org.junit.After;
+import org.junit.Test;
+
+public class TlsHandshakeExecutorTestCase extends AbstractMuleTestCase {
+
+  private static final PollingProber PROBER = new PollingProber();
+
+  private final ExecutorService workers = newCachedThreadPool();
+  private final Latch release = new Latch();
+
+  @After
+  public void tearDown() {
+    release.release();
+    workers.shutdownNow();
+  }
+
+  @Test
+  @Description("No more handshakes than allowed run at the same time, the rest wait in the queue.")
+  public void limitsConcurrentHandshakes() throws Exception {
+    TlsHandshakeExecutor executor = new TlsHandshakeExecutor(workers, 1, 10);
+    CountDownLatch finished = new CountDownLatch(2);
+
+    executor.execute(() -> {
+      awaitQuietly(release);
+      finished.countDown();
+    });
+    executor.execute(finished::countDown);
+
+    PROBER.check(new JUnitLambdaProbe(() -> executor.getRunningHandshakes() == 1 && executor.getQueuedHandshakes() == 1));
+
+    release.release();
+    assertThat(finished.await(5, SECONDS), is(true));
+    assertThat(executor.getOffloadedHandshakes(), is(2L));
+    assertThat(executor.getPeakQueuedHandshakes(), is(1));
+  }
+
+  @Test
+  @Description("Handshakes are rejected and counted once the queue is full.")
+  public void rejectsWhenQueueIsFull() throws Exception {
+    TlsHandshakeExecutor executor = new TlsHandshakeExecutor(workers, 1, 1);
+    executor.execute(() -> awaitQuietly(release));
+    PROBER.check(new JUnitLambdaProbe(() -> executor.getRunningHandshakes() == 1));
+    executor.execute(() -> {
+    });
+
+    assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> {
+    }));
+    assertThat(executor.getRejectedHandshakes(), is(1L));
+  }
+
+  @Test
+  @Description("A queued handshake step is run by the worker that frees up, never by the thread of a rejected hand-off.")
+  public void queuedStepRunsInWorkerWhenWorkersRejectNewTasks() throws Exception {
+    AtomicBoolean accepting = new AtomicBoolean(true);
+    TlsHandshakeExecutor executor = new TlsHandshakeExecutor(command -> {
+      if (!accepting.getAndSet(false)) {
+        throw new RejectedExecutionException("busy");
+      }
+      workers.execute(command);
+    }, 1, 10);
+    Thread caller = Thread.currentThread();
+    AtomicReference<Thread> queuedStepThread = new AtomicReference<>();
+    CountDownLatch finished = new CountDownLatch(2);
+
+    executor.execute(() -> {
+      awaitQuietly(release);
+      finished.countDown();
+    });
+    executor.execute(() -> {
+      queuedStepThread.set(Thread.currentThread());
+      finished.countDown();
+    });
+
+    release.release();
+    assertThat(finished.await(5, SECONDS), is(true));
+    assertThat(queuedStepThread.get(), is(not(caller)));
+  }
+
+  @Test
+  @Description("A handshake step the workers reject when it is offloaded runs in the calling thread.")
+  public void rejectedStepRunsInCaller() {
+    TlsHandshakeExecutor executor = new TlsHandshakeExecutor(command -> {
+      throw new RejectedExecutionException("busy");
+    }, 1, 10);
+    AtomicReference<Thread> stepThread = new AtomicReference<>();
+
+    executor.execute(() -> stepThread.set(Thread.currentThread()));
+
+    assertThat(stepThread.get(), is(Thread.currentThread()));
+    assertThat(executor.getQueuedHandshakes(), is(0));
+    assertThat(executor.getRunningHandshakes(), is(0));
+  }
+
+  private static void awaitQuietly(Latch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.service.http.impl.service.server.grizzly;
+
+import static org.mule.service.http.impl.service.server.grizzly.TlsSessionSettings.SESSION_CACHE_SIZE_PROPERTY;
+import static org.mule.service.http.impl.service.server.grizzly.TlsSessionSettings.SESSION_TIMEOUT_PROPERTY;
+
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.junit4.rule.SystemProperty;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSession;
+
+import io.qameta.allure.Description;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class TlsListenerStatisticsTestCase extends AbstractMuleTestCase {
+
+  @Rule
+  public SystemProperty sessionCacheSize = new SystemProperty(SESSION_CACHE_SIZE_PROPERTY, "100");
+
+  @Rule
+  public SystemProperty listenerSessionCacheSize = new SystemProperty(SESSION_CACHE_SIZE_PROPERTY + ".busyListener", "5000");
+
+  @Rule
+  public SystemProperty sessionTimeout = new SystemProperty(SESSION_TIMEOUT_PROPERTY, "600");
+
+  @Test
+  @Description("Listener specific session settings override the container wide ones.")
+  public void listenerSettingsOverrideContainerSettings() {
+    assertThat(TlsSessionSettings.forListener("busyListener").getSessionCacheSize(), is(5000));
+    assertThat(TlsSessionSettings.forListener("otherListener").getSessionCacheSize(), is(100));
+    assertThat(TlsSessionSettings.forListener("busyListener").getSessionTimeoutSeconds(), is(600));
+  }
+
+  @Test
+  @Description("Session settings are applied to the server session cache of the context.")
+  public void settingsAreAppliedToServerSessionContext() throws Exception {
+    SSLContext sslContext = SSLContext.getInstance("TLS");
+    sslContext.init(null, null, null);
+
+    TlsSessionSettings.forListener("busyListener").apply(sslContext);
+
+    assertThat(sslContext.getServerSessionContext().getSessionCacheSize(), is(5000));
+    assertThat(sslContext.getServerSessionContext().getSessionTimeout(), is(600));
+  }
+
+  @Test
+  @Description("Full and resumed handshakes are counted apart, and the resumption rate is computed from them.")
+  public void countsFullAndResumedHandshakes() {
+    TlsListenerStatistics statistics = new TlsListenerStatistics("listener", TlsSessionSettings.forListener("listener"));
+    statistics.onHandshakeCompleted(false);
+    statistics.onHandshakeCompleted(true);
+    statistics.onHandshakeCompleted(true);
+    statistics.onHandshakeCompleted(true);
+    statistics.onHandshakeFailed();
+
+    assertThat(statistics.getFullHandshakes(), is(1L));
+    assertThat(statistics.getResumedHandshakes(), is(3L));
+    assertThat(statistics.getFailedHandshakes(), is(1L));
+    assertThat(statistics.getResumptionRate(), closeTo(0.75, 0.001));
+  }
+
+  @Test
+  @Description("A handshake is resumed when it ends up with a session, or a session ID, seen in an earlier handshake.")
+  public void resumedHandshakesAreTheOnesWithSeenSessions() {
+    TlsListenerStatistics statistics = new TlsListenerStatistics("listener", TlsSessionSettings.forListener("listener"));
+    SSLSession withoutId = session(new byte[0]);
+
+    statistics.onHandshakeCompleted(session(new byte[] {1}));
+    statistics.onHandshakeCompleted(session(new byte[] {2}));
+    statistics.onHandshakeCompleted(session(new byte[] {1}));
+    statistics.onHandshakeCompleted(withoutId);
+    statistics.onHandshakeCompleted(withoutId);
+    statistics.onHandshakeCompleted(session(new byte[0]));
+
+    assertThat(statistics.getFullHandshakes(), is(4L));
+    assertThat(statistics.getResumedHandshakes(), is(2L));
+  }
+
+  private static SSLSession session(byte[] id) {
+    SSLSession session = mock(SSLSession.class);
+    when(session.getId()).thenReturn(id);
+    return session;
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.service.http.impl.service.server.grizzly;
+
+import static java.nio.file.Files.copy;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import org.mule.runtime.api.tls.TlsContextFactory;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.io.File;
+import java.io.InputStream;
+
+import javax.net.ssl.SSLContext;
+
+import io.qameta.allure.Description;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TlsStoreWatcherTestCase extends AbstractMuleTestCase {
+
+  private static final String PASS = "mulepassword";
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  @Description("A change in a store reloads the listener with a new configuration, leaving the one of the application as is.")
+  public void storeChangeReloadsContext() throws Exception {
+    File keyStore = copyServerKeystore("keystore");
+    TlsContextFactory tlsContextFactory = keyStoreFactory(keyStore);
+    MuleSslFilter sslFilter = MuleSslFilter.createSslFilter(tlsContextFactory);
+    TlsStoreWatcher watcher = new TlsStoreWatcher("test", sslFilter);
+    SSLContext previousContext = sslFilter.getServerConfigurator().getSslContext();
+
+    watcher.run();
+    assertThat(sslFilter.getServerConfigurator().getSslContext(), is(sameInstance(previousContext)));
+
+    touch(keyStore);
+    watcher.run();
+    assertThat(sslFilter.getServerConfigurator().getSslContext(), is(not(sameInstance(previousContext))));
+    assertThat(sslFilter.getTlsContextFactory(), is(sameInstance(tlsContextFactory)));
+  }
+
+  @Test
+  @Description("A configuration reloaded through the API is not replaced by the stores of the previous one, and its stores "
+      + "are the ones watched from then on.")
+  public void reloadedConfigurationIsWatched() throws Exception {
+    File previousKeyStore = copyServerKeystore("previous");
+    File reloadedKeyStore = copyServerKeystore("reloaded");
+    MuleSslFilter sslFilter = MuleSslFilter.createSslFilter(keyStoreFactory(previousKeyStore));
+    TlsStoreWatcher watcher = new TlsStoreWatcher("test", sslFilter);
+
+    TlsContextFactory reloadedFactory = keyStoreFactory(reloadedKeyStore);
+    sslFilter.reload(reloadedFactory);
+    SSLContext reloadedContext = sslFilter.getServerConfigurator().getSslContext();
+
+    touch(previousKeyStore);
+    watcher.run();
+    assertThat(sslFilter.getServerConfigurator().getSslContext(), is(sameInstance(reloadedContext)));
+    assertThat(sslFilter.getTlsContextFactory(), is(sameInstance(reloadedFactory)));
+
+    touch(reloadedKeyStore);
+    watcher.run();
+    assertThat(sslFilter.getServerConfigurator().getSslContext(), is(not(sameInstance(reloadedContext))));
+    assertThat(sslFilter.getTlsContextFactory(), is(sameInstance(reloadedFactory)));
+  }
+
+  private File copyServerKeystore(String name) throws Exception {
+    File keyStore = new File(folder.getRoot(), name);
+    try (InputStream content = getClass().getClassLoader().getResourceAsStream("tls/serverKeystore")) {
+      copy(content, keyStore.toPath());
+    }
+    return keyStore;
+  }
+
+  private static void touch(File file) {
+    file.setLastModified(file.lastModified() + 10000);
+  }
+
+  private static TlsContextFactory keyStoreFactory(File keyStore) throws Exception {
+    return TlsContextFactory.builder()
+        .keyStorePath(keyStore.getAbsolutePath())
+        .keyStorePassword(PASS)
+        .keyPassword(PASS)
+        .build();
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.service.http.impl.service.util;
+
+import static java.lang.Thread.currentThread;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import org.mule.service.http.impl.service.util.ContextSnapshot.Scope;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import io.qameta.allure.Description;
+import org.junit.After;
+import org.junit.Test;
+import org.slf4j.MDC;
+
+public class ContextSnapshotTestCase extends AbstractMuleTestCase {
+
+  @After
+  public void clearMdc() {
+    MDC.clear();
+  }
+
+  @Test
+  @Description("The captured MDC is set while in the scope and the thread's one is restored after it.")
+  public void enterRestoresOuterMdc() {
+    MDC.put("transactionId", "captured");
+    ContextSnapshot context = ContextSnapshot.captureMdc();
+    MDC.put("transactionId", "outer");
+
+    try (Scope scope = context.enter()) {
+      assertThat(MDC.get("transactionId"), is("captured"));
+    }
+    assertThat(MDC.get("transactionId"), is("outer"));
+  }
+
+  @Test
+  @Description("A clearing scope leaves the thread without MDC.")
+  public void enterClearingClearsMdc() {
+    MDC.put("transactionId", "captured");
+    ContextSnapshot context = ContextSnapshot.captureMdc();
+    MDC.clear();
+
+    try (Scope scope = context.enterClearing()) {
+      assertThat(MDC.get("transactionId"), is("captured"));
+    }
+    assertThat(MDC.get("transactionId"), is(nullValue()));
+  }
+
+  @Test
+  @Description("Closing a scope nested in another one of the same snapshot keeps the MDC of the outer one.")
+  public void nestedScopeKeepsMdc() {
+    MDC.put("transactionId", "captured");
+    ContextSnapshot context = ContextSnapshot.captureMdc();
+    MDC.clear();
+
+    try (Scope scope = context.enterClearing()) {
+      try (Scope nested = context.enterClearing()) {
+        assertThat(MDC.get("transactionId"), is("captured"));
+      }
+      assertThat(MDC.get("transactionId"), is("captured"));
+    }
+    assertThat(MDC.get("transactionId"), is(nullValue()));
+  }
+
+  @Test
+  @Description("A scope nested in another one of the same snapshot sets the MDC again if the outer one changed it, and gives the "
+      + "changed one back when closed.")
+  public void nestedScopeReappliesChangedMdc() {
+    MDC.put("transactionId", "captured");
+    ContextSnapshot context = ContextSnapshot.captureMdc();
+    MDC.clear();
+
+    try (Scope scope = context.enterClearing()) {
+      MDC.put("transactionId", "changed");
+      try (Scope nested = context.enterClearing()) {
+        assertThat(MDC.get("transactionId"), is("captured"));
+      }
+      assertThat(MDC.get("transactionId"), is("changed"));
+    }
+    assertThat(MDC.get("transactionId"), is(nullValue()));
+  }
+
+  @Test
+  @Description("A restoring scope without MDC leaves the thread's one as it is.")
+  public void emptySnapshotKeepsThreadMdc() {
+    ContextSnapshot context = ContextSnapshot.captureMdc();
+    MDC.put("transactionId", "outer");
+
+    try (Scope scope = context.enter()) {
+      assertThat(MDC.get("transactionId"), is("outer"));
+    }
+    assertThat(MDC.get("transactionId"), is("outer"));
+  }
+
+  @Test
+  @Description("The class loader of the snapshot is set while in the scope and the thread's one is restored after it.")
+  public void enterSwitchesClassLoader() throws Exception {
+    ClassLoader outerClassLoader = currentThread().getContextClassLoader();
+    try (URLClassLoader classLoader = new URLClassLoader(new URL[0], outerClassLoader)) {
+      ContextSnapshot context = ContextSnapshot.captureMdc().withClassLoader(classLoader);
+
+      try (Scope scope = context.enter()) {
+        assertThat(currentThread().getContextClassLoader(), is(sameInstance(classLoader)));
+      }
+      assertThat(currentThread().getContextClassLoader(), is(sameInstance(outerClassLoader)));
+    }
+  }
+}
@@ -224,6 +224,31 @@ public class RedirectUtilsTestCase extends AbstractMuleTestCase {
     assertThat(redirectedRequest.getHeaders().entryList().get(0).getKey(), is(testString));
   }
 
+  @Test
+  public void permanentRedirectRequestKeepsMethodAndEntity() throws URISyntaxException {
+    originalRequestHeaders.put(Host.toString(), "HOST");
+    originalRequestHeaders.put("Custom", "value");
+    URI location = new URI("http://redirecthost/redirectPath");
+
+    RedirectUtils redirectUtils = new RedirectUtils(false, false);
+    HttpRequest redirectedRequest = redirectUtils.createPermanentRedirectRequest(originalRequest, location, options);
+
+    assertThat(redirectedRequest.getUri(), is(location));
+    assertThat(redirectedRequest.getMethod(), is(method));
+    assertThat(redirectedRequest.getEntity(), is(originalRequest.getEntity()));
+    assertThat(redirectedRequest.getHeaders().containsKey(Host.toString()), is(false));
+    assertThat(redirectedRequest.getHeaders().get("Custom"), is("value"));
+  }
+
+  @Test
+  public void onlyMovedPermanentlyAndPermanentRedirectArePermanent() {
+    RedirectUtils redirectUtils = new RedirectUtils(false, false);
+    assertThat(redirectUtils.isPermanentRedirect(301), is(true));
+    assertThat(redirectUtils.isPermanentRedirect(308), is(true));
+    assertThat(redirectUtils.isPermanentRedirect(302), is(false));
+    assertThat(redirectUtils.isPermanentRedirect(307), is(false));
+  }
+
   @Test
   public void whenMuleRedirectIsDisabledTheShouldFollowRedirectMethodReturnsFalse() {
     RedirectUtils redirectUtils = new RedirectUtils(false, false);
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.service.http.impl.util;
+
+import static java.util.concurrent.Executors.newCachedThreadPool;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import org.mule.runtime.api.util.concurrent.Latch;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.probe.JUnitLambdaProbe;
+import org.mule.tck.probe.PollingProber;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+import io.qameta.allure.Description;
+import org.junit.After;
+import org.junit.Test;
+
+public class BoundedQueueExecutorTestCase extends AbstractMuleTestCase {
+
+  private final ExecutorService workers = newCachedThreadPool();
+  private final Latch release = new Latch();
+
+  @After
+  public void tearDown() {
+    release.release();
+    workers.shutdownNow();
+  }
+
+  @Test
+  @Description("Shutting down now returns the queued tasks, rejects new ones, and terminates once the running ones finish.")
+  public void shutdownNowReturnsQueuedTasks() throws Exception {
+    BoundedQueueExecutor executor = new BoundedQueueExecutor("test", workers, 1, 10, false);
+    executor.execute(() -> {
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    new PollingProber().check(new JUnitLambdaProbe(() -> executor.getRunningTasks() == 1));
+    executor.execute(() -> {
+    });
+
+    assertThat(executor.shutdownNow(), hasSize(1));
+    assertThat(executor.getQueuedTasks(), is(0));
+    assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> {
+    }));
+    assertThat(executor.isTerminated(), is(false));
+
+    release.release();
+    assertThat(executor.awaitTermination(5, SECONDS), is(true));
+  }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.service.http.impl.util;
+
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import org.mule.runtime.api.tls.TlsContextFactory;
+import org.mule.runtime.api.util.concurrent.Latch;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import javax.net.ssl.SSLContext;
+
+import io.qameta.allure.Description;
+import org.junit.Test;
+
+public class SharedSslContextsTestCase extends AbstractMuleTestCase {
+
+  private static final String PASS = "mulepassword";
+
+  @Test
+  @Description("Configurations with the same stores share their context until every user releases it.")
+  public void sameConfigurationSharesContext() throws Exception {
+    SSLContext first = SharedSslContexts.acquire(trustStoreFactory(PASS), TlsEngineProviders.jdk(), "");
+    SSLContext second = SharedSslContexts.acquire(trustStoreFactory(PASS), TlsEngineProviders.jdk(), "");
+
+    assertThat(second, is(sameInstance(first)));
+    assertThat(SharedSslContexts.size(), is(1));
+
+    SharedSslContexts.release(first);
+    assertThat(SharedSslContexts.size(), is(1));
+    SharedSslContexts.release(second);
+    assertThat(SharedSslContexts.size(), is(0));
+  }
+
+  @Test
+  @Description("Contexts are not shared between users that apply different settings to them.")
+  public void differentQualifierGetsOwnContext() throws Exception {
+    SSLContext first = SharedSslContexts.acquire(trustStoreFactory(PASS), TlsEngineProviders.jdk(), "");
+    SSLContext second = SharedSslContexts.acquire(trustStoreFactory(PASS), TlsEngineProviders.jdk(), "100:600");
+
+    try {
+      assertThat(second, is(not(sameInstance(first))));
+      assertThat(SharedSslContexts.size(), is(2));
+    } finally {
+      SharedSslContexts.release(first);
+      SharedSslContexts.release(second);
+    }
+  }
+
+  @Test
+  @Description("A context being created doesn't keep others from being acquired, and the users that raced to create the same "
+      + "one end up sharing the first one cached.")
+  public void contextsAreCreatedOutsideTheLock() throws Exception {
+    CountDownLatch creating = new CountDownLatch(2);
+    Latch release = new Latch();
+    TlsEngineProvider slowProvider = new TlsEngineProvider() {
+
+      @Override
+      public String getName() {
+        return "slow";
+      }
+
+      @Override
+      public SSLContext createSslContext(TlsContextFactory tlsContextFactory) throws Exception {
+        creating.countDown();
+        release.await();
+        return TlsEngineProviders.jdk().createSslContext(tlsContextFactory);
+      }
+    };
+
+    ExecutorService executor = newFixedThreadPool(2);
+    try {
+      Future<SSLContext> first = executor.submit(() -> SharedSslContexts.acquire(trustStoreFactory(PASS), slowProvider, ""));
+      Future<SSLContext> second = executor.submit(() -> SharedSslContexts.acquire(trustStoreFactory(PASS), slowProvider, ""));
+      assertThat(creating.await(5, SECONDS), is(true));
+
+      SSLContext other = SharedSslContexts.acquire(trustStoreFactory(PASS), TlsEngineProviders.jdk(), "");
+      release.release();
+      SSLContext firstContext = first.get(5, SECONDS);
+      SSLContext secondContext = second.get(5, SECONDS);
+
+      try {
+        assertThat(secondContext, is(sameInstance(firstContext)));
+        assertThat(SharedSslContexts.size(), is(2));
+      } finally {
+        SharedSslContexts.release(other);
+        SharedSslContexts.release(firstContext);
+        SharedSslContexts.release(secondContext);
+      }
+      assertThat(SharedSslContexts.size(), is(0));
+    } finally {
+      release.release();
+      executor.shutdownNow();
+    }
+  }
+
+  private static TlsContextFactory trustStoreFactory(String password) throws Exception {
+    return TlsContextFactory.builder()
+        .trustStorePath("tls/trustStore")
+        .trustStorePassword(password)
+        .build();
+  }
+}
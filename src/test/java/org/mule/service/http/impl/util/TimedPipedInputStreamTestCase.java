@@ -13,6 +13,7 @@ import static org.mule.service.http.impl.AllureConstants.HttpFeature.HttpStory.S
 import static java.util.concurrent.Executors.newSingleThreadExecutor;
 import static java.util.concurrent.TimeUnit.HOURS;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.allOf;
@@ -20,6 +21,7 @@ import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeTrue;
 import static org.junit.internal.matchers.ThrowableCauseMatcher.hasCause;
 
 import org.mule.runtime.api.util.concurrent.Latch;
@@ -27,6 +29,7 @@ import org.mule.tck.junit4.AbstractMuleTestCase;
 
 import java.io.IOException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeoutException;
 
 import io.qameta.allure.Issue;
@@ -174,4 +177,19 @@ public class TimedPipedInputStreamTestCase extends AbstractMuleTestCase {
     assertThat(ioException, hasCause(allOf(instanceOf(RuntimeException.class),
                                            hasMessage("Expected exception"))));
   }
+
+  @Test
+  public void readerOnVirtualThreadGetsDataWrittenLater() throws Exception {
+    assumeTrue(VirtualThreads.isSupported());
+    TimedPipedOutputStream out = new TimedPipedOutputStream();
+    TimedPipedInputStream in = new TimedPipedInputStream(4, 10, HOURS, out);
+    ExecutorService readerExecutor = VirtualThreads.newVirtualThreadPerTaskExecutor("pipe-reader.");
+    try {
+      Future<Integer> read = readerExecutor.submit(() -> in.read());
+      out.write(7);
+      assertThat(read.get(5, SECONDS), is(7));
+    } finally {
+      readerExecutor.shutdownNow();
+    }
+  }
 }
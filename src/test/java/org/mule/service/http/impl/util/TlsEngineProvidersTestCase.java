@@ -0,0 +1,98 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.service.http.impl.util;
+
+import static org.mule.service.http.impl.util.TlsEngineProviders.TLS_ENGINE_PROVIDER_PROPERTY;
+
+import static java.lang.Thread.currentThread;
+
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import org.mule.runtime.api.tls.TlsContextFactory;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.junit4.rule.SystemProperty;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import javax.net.ssl.SSLContext;
+
+import io.qameta.allure.Description;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class TlsEngineProvidersTestCase extends AbstractMuleTestCase {
+
+  @Rule
+  public SystemProperty requesterProvider =
+      new SystemProperty(TLS_ENGINE_PROVIDER_PROPERTY + ".bulkRequester", TestTlsEngineProvider.class.getName());
+
+  @Rule
+  public SystemProperty isolatedProvider =
+      new SystemProperty(TLS_ENGINE_PROVIDER_PROPERTY + ".isolatedRequester", IsolatedTlsEngineProvider.class.getName());
+
+  @Rule
+  public SystemProperty brokenProvider =
+      new SystemProperty(TLS_ENGINE_PROVIDER_PROPERTY + ".brokenListener", "org.mule.NotAProvider");
+
+  @Test
+  @Description("The JDK provider is used unless another one is set for the config.")
+  public void jdkProviderByDefault() {
+    assertThat(TlsEngineProviders.forConfig("otherRequester"), is(sameInstance(TlsEngineProviders.jdk())));
+    assertThat(TlsEngineProviders.forConfig(null), is(sameInstance(TlsEngineProviders.jdk())));
+  }
+
+  @Test
+  @Description("The provider set for a config is loaded once and reused.")
+  public void configProviderIsLoaded() {
+    TlsEngineProvider provider = TlsEngineProviders.forConfig("bulkRequester");
+
+    assertThat(provider, is(instanceOf(TestTlsEngineProvider.class)));
+    assertThat(TlsEngineProviders.forConfig("bulkRequester"), is(sameInstance(provider)));
+  }
+
+  @Test
+  @Description("The provider is loaded through the class loader of the service, not the context one of the first caller.")
+  public void providerIsNotLoadedThroughContextClassLoader() {
+    ClassLoader contextClassLoader = currentThread().getContextClassLoader();
+    currentThread().setContextClassLoader(new URLClassLoader(new URL[0], null));
+    try {
+      assertThat(TlsEngineProviders.forConfig("isolatedRequester"), is(instanceOf(IsolatedTlsEngineProvider.class)));
+    } finally {
+      currentThread().setContextClassLoader(contextClassLoader);
+    }
+  }
+
+  @Test
+  @Description("A provider that can't be loaded falls back to the JDK one.")
+  public void brokenProviderFallsBackToJdk() {
+    assertThat(TlsEngineProviders.forConfig("brokenListener"), is(sameInstance(TlsEngineProviders.jdk())));
+  }
+
+  public static class TestTlsEngineProvider implements TlsEngineProvider {
+
+    @Override
+    public String getName() {
+      return "test";
+    }
+
+    @Override
+    public SSLContext createSslContext(TlsContextFactory tlsContextFactory) throws Exception {
+      return tlsContextFactory.createSslContext();
+    }
+  }
+
+  /**
+   * Not used by any other test, so it is not cached yet when loaded with a context class loader that can't see it.
+   */
+  public static class IsolatedTlsEngineProvider extends TestTlsEngineProvider {
+
+  }
+}
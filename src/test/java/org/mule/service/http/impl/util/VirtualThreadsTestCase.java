@@ -0,0 +1,70 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.service.http.impl.util;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assume.assumeFalse;
+import static org.junit.Assume.assumeTrue;
+
+import org.mule.runtime.api.util.concurrent.Latch;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.probe.JUnitLambdaProbe;
+import org.mule.tck.probe.PollingProber;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.qameta.allure.Description;
+import org.junit.Test;
+
+public class VirtualThreadsTestCase extends AbstractMuleTestCase {
+
+  @Test
+  @Description("No more tasks than allowed run at the same time, and the ones waiting run once the others finish.")
+  public void boundedExecutorLimitsConcurrentTasks() throws Exception {
+    assumeTrue(VirtualThreads.isSupported());
+    ExecutorService executor = VirtualThreads.newVirtualThreadPerTaskExecutor("bounded.", 2);
+    Latch release = new Latch();
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+    CountDownLatch finished = new CountDownLatch(5);
+    try {
+      for (int i = 0; i < 5; ++i) {
+        executor.execute(() -> {
+          maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+          try {
+            release.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          } finally {
+            running.decrementAndGet();
+            finished.countDown();
+          }
+        });
+      }
+
+      new PollingProber().check(new JUnitLambdaProbe(() -> running.get() == 2));
+      release.release();
+      assertThat(finished.await(5, SECONDS), is(true));
+      assertThat(maxRunning.get(), lessThanOrEqualTo(2));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  @Description("On JVMs without virtual threads, no virtual thread executor can be created.")
+  public void unsupportedJvm() {
+    assumeFalse(VirtualThreads.isSupported());
+    VirtualThreads.newVirtualThreadPerTaskExecutor("bounded.", 2);
+  }
+}